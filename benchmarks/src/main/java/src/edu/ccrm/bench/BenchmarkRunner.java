@@ -0,0 +1,34 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar. Takes the usual JMH options and, unless a result
+ * format is given, writes the results as JSON to {@value #DEFAULT_RESULT}.
+ *
+ * Example:
+ * java -jar benchmarks/target/benchmarks.jar StudentServiceBenchmark -p size=1000
+ */
+public final class BenchmarkRunner {
+    static final String DEFAULT_RESULT = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+            if (!options.contains("-rff")) {
+                options.add("-rff");
+                options.add(DEFAULT_RESULT);
+            }
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
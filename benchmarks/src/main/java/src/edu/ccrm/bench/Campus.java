@@ -0,0 +1,156 @@
+package src.edu.ccrm.bench;
+
+import src.edu.ccrm.events.DomainEventBus;
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.Instructor;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.service.CourseService;
+import src.edu.ccrm.service.DatasetGenerator;
+import src.edu.ccrm.service.EnrollmentService;
+import src.edu.ccrm.service.StudentService;
+import src.edu.ccrm.service.TranscriptService;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wired set of services loaded with a synthetic campus for the JMH benchmarks.
+ * Each of the {@code size} students takes three courses in one semester,
+ * with about 50 students per course, generated by {@link DatasetGenerator} with a fixed seed.
+ * {@link #SPARE_SEMESTER} is left without enrollments so write benchmarks can enroll freely.
+ * The services share one event bus whose subscriber threads run until the campus is closed.
+ */
+public final class Campus implements Closeable {
+    public static final Semester SPARE_SEMESTER = Semester.SUMMER_2026;
+
+    private static final String[] NAME_QUERIES = {"sharma", "chen", "garcia", "okafor", "mei ", "ivan", "zz"};
+    private static final long SEED = 42L;
+
+    private final DomainEventBus events;
+    public final StudentService studentService;
+    public final CourseService courseService;
+    public final EnrollmentService enrollmentService;
+    public final TranscriptService transcriptService;
+    public final String[] studentIds;
+    public final CourseCode[] courseCodes;
+    // First enrollment of each student, a section that always exists for write benchmarks
+    private final CourseCode[] firstCourses;
+    private final Semester[] firstSemesters;
+
+    private Campus(int size) {
+        events = new DomainEventBus();
+        studentService = new StudentService(events);
+        courseService = new CourseService(events);
+        enrollmentService = new EnrollmentService(studentService, courseService, events);
+        transcriptService = new TranscriptService(studentService, courseService, enrollmentService);
+        studentIds = new String[size];
+        firstCourses = new CourseCode[size];
+        firstSemesters = new Semester[size];
+
+        Semester[] semesters = Arrays.copyOf(Semester.values(), SPARE_SEMESTER.ordinal());
+        DatasetGenerator generator = new DatasetGenerator(new DatasetGenerator.Options.Builder(size)
+                .seed(SEED)
+                .semesters(semesters)
+                .maxSemestersPerStudent(1)
+                .courseLoad(3, 3)
+                .sectionSize(50)
+                .withdrawalRate(0.0)
+                .build());
+        List<CourseCode> codes = new ArrayList<>();
+        DatasetGenerator.Sink loader = DatasetGenerator.serviceLoader(studentService, courseService,
+                null, enrollmentService);
+        generator.generate(new DatasetGenerator.Sink() {
+            private int student = -1;
+
+            @Override
+            public void onCourse(Course course) {
+                loader.onCourse(course);
+                codes.add(course.getCourseCode());
+            }
+
+            @Override
+            public void onInstructor(Instructor instructor) {
+                loader.onInstructor(instructor);
+            }
+
+            @Override
+            public void onStudent(Student generated) {
+                loader.onStudent(generated);
+                studentIds[++student] = generated.getId();
+            }
+
+            @Override
+            public void onEnrollment(Enrollment enrollment) {
+                loader.onEnrollment(enrollment);
+                if (firstCourses[student] == null) {
+                    firstCourses[student] = enrollment.getCourseCode();
+                    firstSemesters[student] = enrollment.getSemester();
+                }
+            }
+        });
+        courseCodes = codes.toArray(new CourseCode[0]);
+        // Reads of the scoped leaderboards should see the whole campus
+        enrollmentService.awaitLeaderboards(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Build a campus of the given number of students. The same size always yields the same data.
+     */
+    public static Campus generate(int size) {
+        return new Campus(size);
+    }
+
+    /**
+     * Stop the event bus's subscriber threads.
+     */
+    @Override
+    public void close() {
+        events.close();
+    }
+
+    public int size() {
+        return studentIds.length;
+    }
+
+    /**
+     * Map a call sequence number onto a student index spread over the campus, so consecutive
+     * calls do not hit neighbouring keys. Unless 7919 divides {@code size()}, the first
+     * {@code size()} numbers give distinct students.
+     */
+    public int studentIndex(int sequence) {
+        return (int) Math.floorMod(sequence * 7919L, (long) studentIds.length);
+    }
+
+    public String studentId(int sequence) {
+        return studentIds[studentIndex(sequence)];
+    }
+
+    /**
+     * Get the course and semester of the first enrollment of the student at a sequence number.
+     */
+    public CourseCode enrolledCourse(int sequence) {
+        return firstCourses[studentIndex(sequence)];
+    }
+
+    public Semester enrolledSemester(int sequence) {
+        return firstSemesters[studentIndex(sequence)];
+    }
+
+    public String nameQuery(int sequence) {
+        return NAME_QUERIES[Math.floorMod(sequence, NAME_QUERIES.length)];
+    }
+
+    public CourseCode courseCode(int sequence) {
+        return courseCodes[(int) Math.floorMod(sequence * 31L, (long) courseCodes.length)];
+    }
+
+    public Course course(int sequence) {
+        return courseService.getCourseByCode(courseCode(sequence));
+    }
+}
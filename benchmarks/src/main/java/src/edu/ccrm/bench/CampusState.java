@@ -0,0 +1,29 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Read-mostly campus shared by all threads of a benchmark, one per dataset size.
+ */
+@State(Scope.Benchmark)
+public class CampusState {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    public Campus campus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        campus = Campus.generate(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        campus.close();
+    }
+}
@@ -0,0 +1,81 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.value.CourseCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course codes parsed from CSV text for every enrollment of the campus, three per student.
+ * Compares interned CourseCode instances with one fresh code object per row, which is what
+ * CourseCode.parse used to allocate. Each operation keeps every code it parses, so with
+ * {@code -prof gc} the allocation per operation ({@code gc.alloc.rate.norm}) is the
+ * footprint of the course codes of all rows.
+ *
+ * Example:
+ * java -jar benchmarks/target/benchmarks.jar CourseCodeMemoryBenchmark -p size=100000 -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class CourseCodeMemoryBenchmark {
+    private static final int COURSES_PER_STUDENT = 3;
+
+    // Shape of the old per-row code: an object plus two substrings
+    private static final class FreshCourseCode {
+        private final String department;
+        private final String number;
+
+        private FreshCourseCode(String text) {
+            int split = 0;
+            while (Character.isLetter(text.charAt(split))) {
+                split++;
+            }
+            this.department = text.substring(0, split);
+            this.number = text.substring(split);
+        }
+    }
+
+    // One String per row, as produced by splitting a CSV line
+    private String[] fields;
+
+    @Setup(Level.Trial)
+    public void setUp(CampusState state) {
+        Campus campus = state.campus;
+        fields = new String[campus.size() * COURSES_PER_STUDENT];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new String(campus.courseCode(i).toString());
+        }
+    }
+
+    @Benchmark
+    public Object[] freshCodePerRow() {
+        FreshCourseCode[] codes = new FreshCourseCode[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            codes[i] = new FreshCourseCode(fields[i]);
+        }
+        return codes;
+    }
+
+    @Benchmark
+    public CourseCode[] internedCodes() {
+        CourseCode[] codes = new CourseCode[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            codes[i] = CourseCode.parse(fields[i]);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,48 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Course;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course lookups by code and the multi-criteria search, both with an instructor,
+ * which starts from the instructor index, and without one, which scans every course.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class CourseServiceBenchmark {
+    private int sequence;
+
+    @Benchmark
+    public Course getCourseByCode(CampusState state) {
+        return state.campus.courseService.getCourseByCode(state.campus.courseCode(sequence++));
+    }
+
+    @Benchmark
+    public List<Course> searchByInstructor(CampusState state) {
+        Course course = state.campus.course(sequence++);
+        return state.campus.courseService.searchByMultipleCriteria(course.getInstructorId(),
+                null, null, 4);
+    }
+
+    @Benchmark
+    public List<Course> searchByDepartmentAndSemester(CampusState state) {
+        Course course = state.campus.course(sequence++);
+        return state.campus.courseService.searchByMultipleCriteria(null,
+                course.getDepartment(), course.getSemester(), 0);
+    }
+}
@@ -0,0 +1,64 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
+import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.model.Enrollment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * New enrollments into the spare semester of the campus.
+ * Every enrollment adds a row, so each iteration is a batch of {@value #BATCH} enrollments of
+ * distinct students and scores are per batch. A fresh campus is built once the students run out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = EnrollStudentBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = EnrollStudentBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class EnrollStudentBenchmark {
+    static final int BATCH = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Campus campus;
+    private int sequence;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (campus == null || sequence + BATCH > campus.size()) {
+            if (campus != null) {
+                campus.close();
+            }
+            campus = Campus.generate(size);
+            sequence = 0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        campus.close();
+    }
+
+    @Benchmark
+    public Enrollment enrollStudent() throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        int next = sequence++;
+        return campus.enrollmentService.enrollStudent(campus.studentId(next), campus.courseCode(next),
+                Campus.SPARE_SEMESTER);
+    }
+}
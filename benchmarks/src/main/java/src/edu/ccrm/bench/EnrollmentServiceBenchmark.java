@@ -0,0 +1,54 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.enums.Semester;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading, GPA and leaderboard paths of the enrollment service.
+ * Grades overwrite existing enrollments, so the campus keeps its shape across calls;
+ * enrolling grows it and is measured by {@link EnrollStudentBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class EnrollmentServiceBenchmark {
+    private int sequence;
+
+    @Benchmark
+    public boolean recordGrade(CampusState state) {
+        Campus campus = state.campus;
+        int next = sequence++;
+        return campus.enrollmentService.recordGrade(campus.studentId(next), campus.enrolledCourse(next),
+                campus.enrolledSemester(next), 40 + (next & 63) % 61);
+    }
+
+    @Benchmark
+    public double calculateStudentGPA(CampusState state) {
+        return state.campus.enrollmentService.calculateStudentGPA(state.campus.studentId(sequence++));
+    }
+
+    @Benchmark
+    public List<Student> getTopStudents(CampusState state) {
+        return state.campus.enrollmentService.getTopStudents(10);
+    }
+
+    @Benchmark
+    public List<Student> getTopStudentsInSemester(CampusState state) {
+        return state.campus.enrollmentService.getTopStudents(Semester.FALL_2024, 10);
+    }
+}
@@ -0,0 +1,97 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.service.store.ColumnarEnrollmentStore;
+import src.edu.ccrm.service.store.EnrollmentCursor;
+import src.edu.ccrm.service.store.EnrollmentStore;
+import src.edu.ccrm.service.store.ObjectEnrollmentStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The object and columnar enrollment stores, filled with three rows per campus student.
+ * The fill benchmarks build a whole store per operation, so with {@code -prof gc} their
+ * allocation per operation is about the store's footprint (the object store's also counts
+ * the arrays its list outgrows). The scan benchmarks total the grade points of one
+ * semester over stores filled once.
+ *
+ * Example:
+ * java -jar benchmarks/target/benchmarks.jar EnrollmentStoreBenchmark -p size=100000 -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class EnrollmentStoreBenchmark {
+    private static final int COURSES_PER_STUDENT = 3;
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    private Campus campus;
+    private int rows;
+    private EnrollmentStore objectStore;
+    private EnrollmentStore columnarStore;
+
+    @Setup(Level.Trial)
+    public void setUp(CampusState state) {
+        campus = state.campus;
+        rows = campus.size() * COURSES_PER_STUDENT;
+        objectStore = fill(new ObjectEnrollmentStore());
+        columnarStore = fill(new ColumnarEnrollmentStore(rows));
+    }
+
+    @Benchmark
+    public EnrollmentStore fillObjectStore() {
+        return fill(new ObjectEnrollmentStore());
+    }
+
+    @Benchmark
+    public EnrollmentStore fillColumnarStore() {
+        return fill(new ColumnarEnrollmentStore(rows));
+    }
+
+    @Benchmark
+    public double scanObjectStore() {
+        return scan(objectStore);
+    }
+
+    @Benchmark
+    public double scanColumnarStore() {
+        return scan(columnarStore);
+    }
+
+    // One row per student and course, a third of them graded
+    private EnrollmentStore fill(EnrollmentStore store) {
+        for (int i = 0; i < rows; i++) {
+            int row = store.append(campus.studentId(i), campus.courseCode(i), SEMESTERS[i % SEMESTERS.length]);
+            if (i % 3 == 0) {
+                store.recordGrade(row, 40 + i % 60);
+            }
+        }
+        return store;
+    }
+
+    // Aggregate scan: grade points of the active rows in one semester
+    private static double scan(EnrollmentStore store) {
+        EnrollmentCursor cursor = store.cursor();
+        double total = 0.0;
+        while (cursor.next()) {
+            if (cursor.getSemester() == Semester.FALL_2024 && cursor.isActive()) {
+                total += cursor.getGradePoints();
+            }
+        }
+        return total;
+    }
+}
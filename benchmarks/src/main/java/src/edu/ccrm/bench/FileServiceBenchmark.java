@@ -0,0 +1,107 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.service.FileService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * CSV import and export of the whole campus and backups of the exported files,
+ * all inside a temporary data directory that is deleted after the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class FileServiceBenchmark {
+    private static final String STUDENTS_FILE = "students.csv";
+    private static final String COURSES_FILE = "courses.csv";
+
+    private Path dataDirectory;
+    private FileService fileService;
+    private List<Student> students;
+    private List<Course> courses;
+    private Path lastBackup;
+
+    @Setup(Level.Trial)
+    public void setUp(CampusState state) throws IOException {
+        dataDirectory = Files.createTempDirectory("ccrm-bench");
+        fileService = new FileService(dataDirectory);
+        students = state.campus.studentService.getAllStudents();
+        courses = state.campus.courseService.getAllCourses();
+        fileService.exportStudentsToCSV(students, STUDENTS_FILE);
+        fileService.exportCoursesToCSV(courses, COURSES_FILE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deleteRecursively(dataDirectory);
+    }
+
+    @Benchmark
+    public void exportStudents() throws IOException {
+        fileService.exportStudentsToCSV(students, STUDENTS_FILE);
+    }
+
+    @Benchmark
+    public List<Student> importStudents() throws IOException {
+        return fileService.importStudentsFromCSV(STUDENTS_FILE);
+    }
+
+    @Benchmark
+    public void exportCourses() throws IOException {
+        fileService.exportCoursesToCSV(courses, COURSES_FILE);
+    }
+
+    @Benchmark
+    public List<Course> importCourses() throws IOException {
+        return fileService.importCoursesFromCSV(COURSES_FILE);
+    }
+
+    @Benchmark
+    public Path createBackup() throws IOException {
+        lastBackup = fileService.createBackup();
+        return lastBackup;
+    }
+
+    // Backup folders are named by the second, so each one is removed before the next call
+    @TearDown(Level.Invocation)
+    public void removeBackup() throws IOException {
+        if (lastBackup != null) {
+            deleteRecursively(lastBackup);
+            lastBackup = null;
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import src.edu.ccrm.util.primitive.IntIntMap;
+import src.edu.ccrm.util.primitive.LongObjectMap;
+import src.edu.ccrm.util.primitive.SortedIntSet;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive collections with their boxed java.util equivalents,
+ * using CCRM key shapes: section keys to seat counts, packed student and semester
+ * keys to row lists, and sorted key sets.
+ * Each operation touches every key once, so scores are per {@code size} operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveCollectionsBenchmark {
+    private static final int SEMESTERS = 6;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] intKeys;
+    private long[] longKeys;
+
+    private IntIntMap intIntMap;
+    private Map<Integer, Integer> boxedIntIntMap;
+    private LongObjectMap<Object> longObjectMap;
+    private Map<Long, Object> boxedLongObjectMap;
+    private SortedIntSet sortedSet;
+    private Set<Integer> boxedSet;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        intKeys = new int[size];
+        longKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            // Section keys: course ordinal * semesters + semester ordinal
+            intKeys[i] = i * SEMESTERS + random.nextInt(SEMESTERS);
+            longKeys[i] = LongObjectMap.pack(i + 1, random.nextInt(SEMESTERS));
+        }
+
+        intIntMap = new IntIntMap();
+        boxedIntIntMap = new HashMap<>();
+        longObjectMap = new LongObjectMap<>();
+        boxedLongObjectMap = new HashMap<>();
+        sortedSet = new SortedIntSet();
+        boxedSet = new HashSet<>();
+        Object value = new Object();
+        for (int i = 0; i < size; i++) {
+            intIntMap.put(intKeys[i], i);
+            boxedIntIntMap.put(intKeys[i], i);
+            longObjectMap.put(longKeys[i], value);
+            boxedLongObjectMap.put(longKeys[i], value);
+            sortedSet.add(intKeys[i]);
+            boxedSet.add(intKeys[i]);
+        }
+    }
+
+    // Seat counts: (course, semester) -> count
+
+    @Benchmark
+    public int intIntMapGet() {
+        int sum = 0;
+        for (int key : intKeys) {
+            sum += intIntMap.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int hashMapIntIntGet() {
+        int sum = 0;
+        for (int key : intKeys) {
+            sum += boxedIntIntMap.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public IntIntMap intIntMapAddTo() {
+        IntIntMap counts = new IntIntMap();
+        for (int key : intKeys) {
+            counts.addTo(key, 1);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> hashMapIntIntMerge() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int key : intKeys) {
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // Row lists: packed (student, semester) -> object
+
+    @Benchmark
+    public void longObjectMapGet(Blackhole blackhole) {
+        for (long key : longKeys) {
+            blackhole.consume(longObjectMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void hashMapLongObjectGet(Blackhole blackhole) {
+        for (long key : longKeys) {
+            blackhole.consume(boxedLongObjectMap.get(key));
+        }
+    }
+
+    // Key sets: contains
+
+    @Benchmark
+    public int sortedIntSetContains() {
+        int found = 0;
+        for (int key : intKeys) {
+            if (sortedSet.contains(key + 1)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int hashSetContains() {
+        int found = 0;
+        for (int key : intKeys) {
+            if (boxedSet.contains(key + 1)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
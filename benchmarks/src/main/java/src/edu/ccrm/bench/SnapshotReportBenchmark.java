@@ -0,0 +1,71 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Transcript;
+import src.edu.ccrm.service.TranscriptBatchJob;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grade writes with and without reports running beside them. The writer is the only
+ * thread that mutates the services; the reporters read published snapshots, so the
+ * writer's throughput in {@code reporting} should stay close to {@code writeOnly}.
+ * Needs more than one core to mean anything.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SnapshotReportBenchmark {
+    private int sequence;
+
+    @Benchmark
+    @Group("writeOnly")
+    @GroupThreads(1)
+    public boolean writeOnlyRecordGrade(CampusState state) {
+        return recordGrade(state.campus);
+    }
+
+    @Benchmark
+    @Group("reporting")
+    @GroupThreads(1)
+    public boolean recordGrade(CampusState state) {
+        return recordGrade(state.campus);
+    }
+
+    @Benchmark
+    @Group("reporting")
+    @GroupThreads(1)
+    public List<Course.Popularity> getCoursePopularity(CampusState state) {
+        return state.campus.transcriptService.getCoursePopularity();
+    }
+
+    @Benchmark
+    @Group("reporting")
+    @GroupThreads(1)
+    public List<Transcript> generateForCohort(CampusState state) {
+        Campus campus = state.campus;
+        return new TranscriptBatchJob(campus.studentService, campus.courseService, campus.enrollmentService)
+                .generateForCohort(student -> true);
+    }
+
+    private boolean recordGrade(Campus campus) {
+        int next = sequence++;
+        return campus.enrollmentService.recordGrade(campus.studentId(next), campus.enrolledCourse(next),
+                campus.enrolledSemester(next), 40 + (next & 63) % 61);
+    }
+}
@@ -0,0 +1,39 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Student;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Student lookups: by display ID, which resolves through the surrogate key,
+ * and by name, which scans every student.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class StudentServiceBenchmark {
+    private int sequence;
+
+    @Benchmark
+    public Student getStudentById(CampusState state) {
+        return state.campus.studentService.getStudentById(state.campus.studentId(sequence++));
+    }
+
+    @Benchmark
+    public List<Student> searchByName(CampusState state) {
+        return state.campus.studentService.searchByName(state.campus.nameQuery(sequence++));
+    }
+}
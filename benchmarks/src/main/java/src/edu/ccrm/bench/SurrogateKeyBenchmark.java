@@ -0,0 +1,68 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.value.EntityId;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String.format ID minting and String-compared lookups against numeric surrogate keys.
+ * Run with {@code -prof gc} for the allocation per ID minted or student found.
+ *
+ * Example:
+ * java -jar benchmarks/target/benchmarks.jar SurrogateKeyBenchmark -p size=100000 -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SurrogateKeyBenchmark {
+    private List<Student> students;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp(CampusState state) {
+        students = state.campus.studentService.getAllStudents();
+    }
+
+    @Benchmark
+    public String formatIdWithStringFormat(CampusState state) {
+        int key = state.campus.studentIndex(sequence++) + 1;
+        return "STU" + String.format("%04d", key);
+    }
+
+    @Benchmark
+    public String formatIdWithEntityId(CampusState state) {
+        int key = state.campus.studentIndex(sequence++) + 1;
+        return EntityId.format(EntityId.STUDENT, key);
+    }
+
+    // The previous lookup: a stream scan comparing ID strings
+    @Benchmark
+    public Student scanByStringId(CampusState state) {
+        String id = state.campus.studentId(sequence++);
+        return students.stream()
+                .filter(s -> s.getId().equals(id))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public Student getStudentById(CampusState state) {
+        return state.campus.studentService.getStudentById(state.campus.studentId(sequence++));
+    }
+}
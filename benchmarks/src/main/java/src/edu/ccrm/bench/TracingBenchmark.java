@@ -0,0 +1,79 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
+import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.metrics.Tracer;
+import src.edu.ccrm.model.Enrollment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of span tracing on enrollment: no tracing, the default one-in-100 sample and
+ * every call traced. Batches are set up as in {@link EnrollStudentBenchmark}; the slow
+ * log is off so only span bookkeeping is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = TracingBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = TracingBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class TracingBenchmark {
+    static final int BATCH = 1000;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"0", "100", "1"})
+    public int sampleInterval;
+
+    private Campus campus;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUpTracer() {
+        Tracer.getDefault().setSampleInterval(sampleInterval);
+        Tracer.getDefault().setSlowThresholdNanos(Long.MAX_VALUE);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (campus == null || sequence + BATCH > campus.size()) {
+            if (campus != null) {
+                campus.close();
+            }
+            campus = Campus.generate(size);
+            sequence = 0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTracer() {
+        Tracer.getDefault().setSampleInterval(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        campus.close();
+    }
+
+    @Benchmark
+    public Enrollment enrollStudent() throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        int next = sequence++;
+        return campus.enrollmentService.enrollStudent(campus.studentId(next), campus.courseCode(next),
+                Campus.SPARE_SEMESTER);
+    }
+}
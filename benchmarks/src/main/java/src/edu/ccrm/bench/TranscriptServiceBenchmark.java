@@ -0,0 +1,38 @@
+package src.edu.ccrm.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import src.edu.ccrm.model.Transcript;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transcript generation across all students, so the hit rate of the transcript cache
+ * falls as the campus grows past the cache size, and the course popularity report.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class TranscriptServiceBenchmark {
+    private int sequence;
+
+    @Benchmark
+    public Transcript generateTranscript(CampusState state) {
+        return state.campus.transcriptService.generateTranscript(state.campus.studentId(sequence++));
+    }
+
+    @Benchmark
+    public String getCoursePopularityStats(CampusState state) {
+        return state.campus.transcriptService.getCoursePopularityStats();
+    }
+}
@@ -0,0 +1,664 @@
+package src.edu.ccrm.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
+import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.metrics.Counter;
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.Transcript;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.service.CourseService;
+import src.edu.ccrm.service.EnrollmentService;
+import src.edu.ccrm.service.StudentService;
+import src.edu.ccrm.service.TranscriptService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Embedded HTTP/JSON API over the services, mounted at {@code /api}.
+ * <pre>
+ * GET    /api/health
+ * GET    /api/students[?name=&amp;offset=&amp;limit=]     POST /api/students
+ * GET    /api/students/{id}
+ * GET    /api/students/{id}/enrollments
+ * DELETE /api/students/{id}/enrollments/{code}?semester=
+ * GET    /api/students/{id}/transcript[?semester=]
+ * GET    /api/courses[?offset=&amp;limit=]
+ * GET    /api/courses/{code}
+ * GET    /api/courses/{code}/enrollments[?semester=]
+ * POST   /api/enrollments      {"studentId", "courseCode", "semester"}
+ * POST   /api/grades           {"studentId", "courseCode", "semester", "grade" or "score"}
+ * </pre>
+ * Requests run on a fixed pool of worker threads. The services are not thread-safe, so
+ * reads share a read lock and changes take the write lock; responses are rendered under
+ * the lock, since entities are mutable, and written to the socket after releasing it.
+ * The JDK server's dispatcher thread is not a daemon, so call {@link #stop()} before exiting.
+ */
+public final class ApiServer {
+    public static final String PREFIX = "/api";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private static final LatencyHistogram REQUEST_LATENCY =
+            MetricsRegistry.getDefault().histogram("ApiServer.request");
+    private static final Counter CLIENT_ERRORS = MetricsRegistry.getDefault().counter("ApiServer.clientErrors");
+    private static final Counter SERVER_ERRORS = MetricsRegistry.getDefault().counter("ApiServer.serverErrors");
+
+    static {
+        // The JDK server writes headers and body separately, so without TCP_NODELAY every
+        // keep-alive response waits out the client's delayed ACK, about 40 ms. The setting is
+        // read when the first server in the JVM starts; an explicit -D value wins.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ReadWriteLock lock;
+    private final CountDownLatch stopped;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final TranscriptService transcriptService;
+
+    private ApiServer(HttpServer server, int threads, StudentService studentService, CourseService courseService,
+                      EnrollmentService enrollmentService, TranscriptService transcriptService) {
+        this.server = server;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ccrm-api-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lock = new ReentrantReadWriteLock();
+        this.stopped = new CountDownLatch(1);
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.transcriptService = transcriptService;
+    }
+
+    /**
+     * Bind to an address and start serving. Port 0 picks a free port; see {@link #getAddress()}.
+     * @param threads worker threads handling requests
+     */
+    public static ApiServer start(InetSocketAddress address, int threads, StudentService studentService,
+                                  CourseService courseService, EnrollmentService enrollmentService,
+                                  TranscriptService transcriptService) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        HttpServer httpServer = HttpServer.create(address, 1024);
+        ApiServer apiServer = new ApiServer(httpServer, threads, studentService, courseService,
+                enrollmentService, transcriptService);
+        httpServer.createContext(PREFIX + "/", apiServer::handle);
+        httpServer.setExecutor(apiServer.executor);
+        httpServer.start();
+        return apiServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stop accepting requests, waiting at most a second for those in progress.
+     */
+    public void stop() {
+        if (stopped.getCount() == 0) {
+            return;
+        }
+        server.stop(1);
+        executor.shutdown();
+        stopped.countDown();
+    }
+
+    /**
+     * Block until {@link #stop()} is called, e.g. from a shutdown hook.
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    // Request handling
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (RequestException e) {
+                response = error(e.status, e.getMessage());
+                response.allow = e.allow;
+            } catch (IllegalArgumentException e) {
+                response = error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                // The details stay in the server's log; clients learn nothing about the internals
+                System.err.println("API request failed: " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI().getRawPath());
+                e.printStackTrace();
+                response = error(500, "Internal server error");
+            }
+            send(exchange, response);
+        } finally {
+            REQUEST_LATENCY.recordSince(start);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        List<String> path = segments(exchange.getRequestURI().getRawPath());
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        String resource = path.isEmpty() ? "" : path.get(0);
+        switch (resource) {
+            case "health":
+                expectPath(path, 1);
+                expectMethod(method, "GET");
+                return read(this::health);
+            case "students":
+                return students(exchange, method, path, query);
+            case "courses":
+                return courses(method, path, query);
+            case "enrollments":
+                expectPath(path, 1);
+                expectMethod(method, "POST");
+                return enroll(body(exchange));
+            case "grades":
+                expectPath(path, 1);
+                expectMethod(method, "POST");
+                return postGrade(body(exchange));
+            default:
+                throw new RequestException(404, "No such resource: " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private Response students(HttpExchange exchange, String method, List<String> path, Map<String, String> query)
+            throws IOException {
+        if (path.size() == 1) {
+            expectMethod(method, "GET", "POST");
+            return "GET".equals(method) ? read(() -> listStudents(query)) : addStudent(body(exchange));
+        }
+        String studentId = path.get(1);
+        if (path.size() == 2) {
+            expectMethod(method, "GET");
+            return read(() -> json(200, out -> writeStudent(out, student(studentId), true)));
+        }
+        switch (path.get(2)) {
+            case "enrollments":
+                if (path.size() == 4) {
+                    expectMethod(method, "DELETE");
+                    return unenroll(studentId, path.get(3), query);
+                }
+                expectPath(path, 3);
+                expectMethod(method, "GET");
+                return read(() -> {
+                    List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(student(studentId).getId());
+                    return json(200, out -> writeEnrollments(out, enrollments));
+                });
+            case "transcript":
+                expectPath(path, 3);
+                expectMethod(method, "GET");
+                return read(() -> transcript(studentId, query.get("semester")));
+            default:
+                throw new RequestException(404, "No such resource: " + String.join("/", path));
+        }
+    }
+
+    private Response courses(String method, List<String> path, Map<String, String> query) {
+        expectMethod(method, "GET");
+        if (path.size() == 1) {
+            return read(() -> listCourses(query));
+        }
+        String code = path.get(1);
+        if (path.size() == 2) {
+            return read(() -> {
+                Course course = course(code);
+                return json(200, out -> writeCourse(out, course, true));
+            });
+        }
+        expectPath(path, 3);
+        if (!"enrollments".equals(path.get(2))) {
+            throw new RequestException(404, "No such resource: " + String.join("/", path));
+        }
+        return read(() -> {
+            Course course = course(code);
+            String semester = query.get("semester");
+            Semester section = semester != null ? semester(semester) : course.getSemester();
+            if (section == null) {
+                throw new IllegalArgumentException("Course " + code + " has no semester; pass ?semester=");
+            }
+            List<Enrollment> enrollments = enrollmentService.getCourseEnrollments(course.getCourseCode(), section);
+            return json(200, out -> writeEnrollments(out, enrollments));
+        });
+    }
+
+    // Reads, called under the read lock
+    private Response health() {
+        return json(200, out -> out.beginObject()
+                .field("status", "ok")
+                .field("students", studentService.getStudentCount())
+                .field("courses", courseService.getCourseCount())
+                .field("enrollments", enrollmentService.getEnrollmentCount())
+                .endObject());
+    }
+
+    private Response listStudents(Map<String, String> query) {
+        int offset = intParameter(query, "offset", 0, Integer.MAX_VALUE);
+        int limit = intParameter(query, "limit", DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        String name = query.get("name");
+        List<Student> page = new ArrayList<>(Math.min(limit, 64));
+        int total;
+        if (name != null) {
+            List<Student> matches = studentService.searchByName(name);
+            total = matches.size();
+            page.addAll(matches.subList(Math.min(offset, total), (int) Math.min((long) offset + limit, total)));
+        } else {
+            // Students are stored by dense key, so a page is a run of keys
+            total = studentService.getStudentCount();
+            for (long key = (long) offset + 1; key <= total && page.size() < limit; key++) {
+                page.add(studentService.getStudentByKey((int) key));
+            }
+        }
+        return json(200, out -> {
+            out.beginObject().field("total", total).field("offset", offset).name("students").beginArray();
+            for (Student student : page) {
+                writeStudent(out, student, false);
+            }
+            out.endArray().endObject();
+        });
+    }
+
+    private Response listCourses(Map<String, String> query) {
+        int offset = intParameter(query, "offset", 0, Integer.MAX_VALUE);
+        int limit = intParameter(query, "limit", DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<Course> courses = courseService.getAllCourses();
+        int total = courses.size();
+        List<Course> page = courses.subList(Math.min(offset, total), (int) Math.min((long) offset + limit, total));
+        return json(200, out -> {
+            out.beginObject().field("total", total).field("offset", offset).name("courses").beginArray();
+            for (Course course : page) {
+                writeCourse(out, course, false);
+            }
+            out.endArray().endObject();
+        });
+    }
+
+    private Response transcript(String studentId, String semester) {
+        Student student = student(studentId);
+        Transcript transcript = semester != null
+                ? transcriptService.generateSemesterTranscript(student.getId(), semester(semester))
+                : transcriptService.generateTranscript(student.getId());
+        return json(200, out -> {
+            out.beginObject()
+                    .field("studentId", transcript.getStudentId())
+                    .field("studentName", transcript.getStudentName())
+                    .field("gpa", transcript.getOverallGPA())
+                    .field("totalCredits", transcript.getTotalCredits())
+                    .name("entries").beginArray();
+            for (Transcript.TranscriptEntry entry : transcript.getEntries()) {
+                out.beginObject()
+                        .field("courseCode", entry.getCourseCode())
+                        .field("title", entry.getCourseTitle())
+                        .field("credits", entry.getCredits())
+                        .field("grade", entry.getGrade() != null ? entry.getGrade().getLetter() : null)
+                        .field("semester", entry.getSemester().name())
+                        .field("gradePoints", entry.getGradePoints())
+                        .endObject();
+            }
+            out.endArray().endObject();
+        });
+    }
+
+    // Changes, called outside the lock; each takes the write lock itself
+    private Response addStudent(Map<String, String> body) {
+        String regNo = required(body, "regNo");
+        String fullName = required(body, "fullName");
+        String email = required(body, "email");
+        return write(() -> {
+            if (studentService.getStudentByRegNo(regNo) != null) {
+                throw new RequestException(409, "Registration number already exists: " + regNo);
+            }
+            Student student = studentService.addStudent(regNo, fullName, email);
+            return json(201, out -> writeStudent(out, student, true));
+        });
+    }
+
+    private Response enroll(Map<String, String> body) {
+        String studentId = required(body, "studentId");
+        CourseCode courseCode = CourseCode.parse(required(body, "courseCode"));
+        Semester semester = semester(required(body, "semester"));
+        return write(() -> {
+            student(studentId);
+            course(courseCode.toString());
+            try {
+                Enrollment enrollment = enrollmentService.enrollStudent(studentId, courseCode, semester);
+                return json(201, out -> writeEnrollment(out, enrollment));
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException e) {
+                throw new RequestException(409, e.getMessage());
+            }
+        });
+    }
+
+    private Response unenroll(String studentId, String code, Map<String, String> query) {
+        CourseCode courseCode = CourseCode.parse(code);
+        Semester semester = semester(required(query, "semester"));
+        return write(() -> {
+            if (!enrollmentService.unenrollStudent(studentId, courseCode, semester)) {
+                throw new RequestException(404, "No active enrollment of " + studentId + " in "
+                        + courseCode + " for " + semester.name());
+            }
+            return new Response(204, null);
+        });
+    }
+
+    private Response postGrade(Map<String, String> body) {
+        String studentId = required(body, "studentId");
+        CourseCode courseCode = CourseCode.parse(required(body, "courseCode"));
+        Semester semester = semester(required(body, "semester"));
+        String grade = body.get("grade");
+        String score = body.get("score");
+        if ((grade == null) == (score == null)) {
+            throw new IllegalArgumentException("Give either a grade or a score");
+        }
+        Grade letter = grade != null ? Grade.fromLetter(grade) : null;
+        double percentage;
+        try {
+            percentage = score != null ? Double.parseDouble(score) : 0.0;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for score: " + score);
+        }
+        // Also rules out NaN, which fails every comparison
+        if (!(percentage >= 0.0 && percentage <= 100.0)) {
+            throw new IllegalArgumentException("Score must be between 0 and 100: " + score);
+        }
+        return write(() -> {
+            boolean recorded = letter != null
+                    ? enrollmentService.recordGrade(studentId, courseCode, semester, letter)
+                    : enrollmentService.recordGrade(studentId, courseCode, semester, percentage);
+            if (!recorded) {
+                throw new RequestException(404, "No active enrollment of " + studentId + " in "
+                        + courseCode + " for " + semester.name());
+            }
+            Enrollment enrollment = enrollmentService.findEnrollment(studentId, courseCode, semester);
+            return json(200, out -> writeEnrollment(out, enrollment));
+        });
+    }
+
+    // Locking
+    private Response read(Supplier<Response> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Response write(Supplier<Response> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lookups that answer 404 when missing
+    private Student student(String studentId) {
+        Student student = studentService.getStudentById(studentId);
+        if (student == null) {
+            throw new RequestException(404, "Student not found: " + studentId);
+        }
+        return student;
+    }
+
+    private Course course(String code) {
+        Course course = courseService.getCourseByCode(CourseCode.parse(code));
+        if (course == null) {
+            throw new RequestException(404, "Course not found: " + code);
+        }
+        return course;
+    }
+
+    // Rendering
+    private static void writeStudent(JsonWriter out, Student student, boolean detail) {
+        out.beginObject()
+                .field("id", student.getId())
+                .field("regNo", student.getRegNo())
+                .field("fullName", student.getFullName())
+                .field("email", student.getEmail())
+                .field("active", student.isActive())
+                .field("gpa", student.getGpa());
+        if (detail) {
+            out.field("totalCredits", student.getTotalCredits())
+                    .field("currentSemester", student.getCurrentSemester() != null
+                            ? student.getCurrentSemester().name() : null)
+                    .name("enrolledCourses").beginArray();
+            for (CourseCode courseCode : student.getEnrolledCourseView()) {
+                out.value(courseCode.toString());
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    private void writeCourse(JsonWriter out, Course course, boolean detail) {
+        out.beginObject()
+                .field("id", course.getId())
+                .field("code", course.getCourseCode().toString())
+                .field("title", course.getTitle())
+                .field("department", course.getDepartment())
+                .field("credits", course.getCredits())
+                .field("capacity", course.getCapacity())
+                .field("instructorId", course.getInstructorId())
+                .field("semester", course.getSemester() != null ? course.getSemester().name() : null)
+                .field("active", course.isActive());
+        if (detail) {
+            out.field("description", course.getDescription());
+            if (course.getSemester() != null) {
+                out.field("enrolled", enrollmentService.getSectionEnrollmentCount(course.getCourseCode(),
+                        course.getSemester()));
+            }
+        }
+        out.endObject();
+    }
+
+    private static void writeEnrollments(JsonWriter out, List<Enrollment> enrollments) {
+        out.beginObject().field("total", enrollments.size()).name("enrollments").beginArray();
+        for (Enrollment enrollment : enrollments) {
+            writeEnrollment(out, enrollment);
+        }
+        out.endArray().endObject();
+    }
+
+    private static void writeEnrollment(JsonWriter out, Enrollment enrollment) {
+        out.beginObject()
+                .field("id", enrollment.getId())
+                .field("studentId", enrollment.getStudentId())
+                .field("courseCode", enrollment.getCourseCode().toString())
+                .field("semester", enrollment.getSemester().name())
+                .field("active", enrollment.isActive())
+                .field("grade", enrollment.isGraded() ? enrollment.getGrade().getLetter() : null);
+        if (enrollment.isGraded()) {
+            // Grades posted as letters carry no percentage
+            if (enrollment.getPercentageScore() > 0.0) {
+                out.field("score", enrollment.getPercentageScore());
+            }
+            out.field("gradePoints", enrollment.getGradePoints());
+        }
+        out.endObject();
+    }
+
+    private static Response json(int status, Consumer<JsonWriter> body) {
+        StringBuilder text = new StringBuilder(256);
+        body.accept(new JsonWriter(text));
+        return new Response(status, text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Response error(int status, String message) {
+        if (status >= 500) {
+            SERVER_ERRORS.increment();
+        } else {
+            CLIENT_ERRORS.increment();
+        }
+        return json(status, out -> out.beginObject().field("error", message).endObject());
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.allow != null) {
+            exchange.getResponseHeaders().set("Allow", response.allow);
+        }
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response.body);
+        }
+    }
+
+    // Request parsing
+    private static List<String> segments(String rawPath) {
+        List<String> segments = new ArrayList<>(4);
+        for (String segment : rawPath.substring(PREFIX.length()).split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static Map<String, String> body(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new RequestException(413, "Request body over " + MAX_BODY_BYTES + " bytes");
+            }
+            return JsonReader.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String required(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value.trim();
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue, int max) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0 || parsed > max) {
+                throw new IllegalArgumentException(name + " must be between 0 and " + max + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + name + ": " + value);
+        }
+    }
+
+    private static Semester semester(String value) {
+        try {
+            return Semester.valueOf(value.trim().replace(" ", "_").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown semester: " + value);
+        }
+    }
+
+    private static void expectPath(List<String> path, int length) {
+        if (path.size() != length) {
+            throw new RequestException(404, "No such resource: /" + String.join("/", path));
+        }
+    }
+
+    private static void expectMethod(String method, String... allowed) {
+        for (String candidate : allowed) {
+            if (candidate.equals(method)) {
+                return;
+            }
+        }
+        throw new RequestException(405, "Method not allowed: " + method, String.join(", ", allowed));
+    }
+
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+        private String allow;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Request the API cannot serve, answered with the given status instead of 400.
+     */
+    private static final class RequestException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final String allow;
+
+        private RequestException(int status, String message) {
+            this(status, message, null);
+        }
+
+        private RequestException(int status, String message, String allow) {
+            super(message);
+            this.status = status;
+            this.allow = allow;
+        }
+    }
+}
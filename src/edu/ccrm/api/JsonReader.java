@@ -0,0 +1,207 @@
+package src.edu.ccrm.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser for the flat JSON objects the API accepts as request bodies, such as
+ * {@code {"studentId":"S1","courseCode":"CS101","semester":"FALL"}}.
+ * Strings, numbers and booleans are returned as text; null members are left out.
+ * Nested objects and arrays are rejected.
+ */
+public final class JsonReader {
+    private final String text;
+    private int position;
+
+    private JsonReader(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse a flat JSON object into its members.
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    public static Map<String, String> parseObject(String text) {
+        JsonReader reader = new JsonReader(text);
+        Map<String, String> members = reader.object();
+        reader.skipWhitespace();
+        if (reader.position != text.length()) {
+            throw reader.error("Unexpected content after the object");
+        }
+        return members;
+    }
+
+    private Map<String, String> object() {
+        Map<String, String> members = new LinkedHashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            String value = value();
+            if (value != null) {
+                members.put(name, value);
+            }
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return members;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private String value() {
+        char c = peek();
+        if (c == '"') {
+            return string();
+        }
+        if (c == '{' || c == '[') {
+            throw error("Nested values are not supported");
+        }
+        int start = position;
+        while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = text.substring(start, position);
+        if ("null".equals(literal)) {
+            return null;
+        }
+        if ("true".equals(literal) || "false".equals(literal)) {
+            return literal;
+        }
+        if (isNumber(literal)) {
+            return literal;
+        }
+        throw error("Invalid value '" + literal + "'");
+    }
+
+    // JSON's number grammar, stricter than Double.parseDouble: no NaN, Infinity, hex or suffixes
+    private static boolean isNumber(String literal) {
+        int i = 0;
+        int length = literal.length();
+        if (i < length && literal.charAt(i) == '-') {
+            i++;
+        }
+        if (i < length && literal.charAt(i) == '0') {
+            i++;
+        } else {
+            int digits = skipDigits(literal, i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        if (i < length && literal.charAt(i) == '.') {
+            int digits = skipDigits(literal, i + 1);
+            if (digits == i + 1) {
+                return false;
+            }
+            i = digits;
+        }
+        if (i < length && (literal.charAt(i) == 'e' || literal.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (literal.charAt(i) == '+' || literal.charAt(i) == '-')) {
+                i++;
+            }
+            int digits = skipDigits(literal, i);
+            if (digits == i) {
+                return false;
+            }
+            i = digits;
+        }
+        return i == length;
+    }
+
+    private static int skipDigits(String text, int from) {
+        while (from < text.length() && text.charAt(from) >= '0' && text.charAt(from) <= '9') {
+            from++;
+        }
+        return from;
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("Truncated escape");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return text.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            position--;
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSON at offset " + position + ": " + message);
+    }
+}
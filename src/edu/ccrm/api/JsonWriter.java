@@ -0,0 +1,159 @@
+package src.edu.ccrm.api;
+
+import java.util.Arrays;
+
+/**
+ * Minimal streaming JSON writer over a StringBuilder. Commas between members are
+ * inserted automatically; callers are trusted to balance begin and end calls.
+ */
+public final class JsonWriter {
+    private final StringBuilder out;
+    // Whether the innermost open object or array already holds a member
+    private boolean[] hasMember;
+    private int depth;
+
+    public JsonWriter(StringBuilder out) {
+        this.out = out;
+        this.hasMember = new boolean[8];
+    }
+
+    // Structure
+    public JsonWriter beginObject() {
+        separate();
+        out.append('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        depth--;
+        out.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separate();
+        out.append('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        depth--;
+        out.append(']');
+        return this;
+    }
+
+    /**
+     * Write a member name; the next value or begin call is its value.
+     */
+    public JsonWriter name(String name) {
+        separate();
+        string(name);
+        out.append(':');
+        // The value that follows needs no comma of its own
+        hasMember[depth - 1] = false;
+        return this;
+    }
+
+    // Values
+    public JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * Write a number rounded to at most three decimals, enough for GPAs and scores.
+     */
+    public JsonWriter value(double value) {
+        separate();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else {
+            out.append(Math.round(value * 1000.0) / 1000.0);
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    // Shorthand for name(name).value(value)
+    public JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    private void push() {
+        if (depth == hasMember.length) {
+            hasMember = Arrays.copyOf(hasMember, depth * 2);
+        }
+        hasMember[depth++] = false;
+    }
+
+    private void separate() {
+        if (depth == 0) {
+            return;
+        }
+        if (hasMember[depth - 1]) {
+            out.append(',');
+        }
+        hasMember[depth - 1] = true;
+    }
+
+    private void string(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
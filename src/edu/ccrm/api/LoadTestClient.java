@@ -0,0 +1,332 @@
+package src.edu.ccrm.api;
+
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator for the {@link ApiServer}. Each thread keeps one HTTP/1.1
+ * connection open and sends its next GET as soon as the last response is read, so the
+ * measured throughput is what the server sustains at that concurrency. Requests are a
+ * read mix over ids taken from the server's own listings: half student lookups, a quarter
+ * course lookups and the rest enrollment lists and transcripts. Requests sent during the
+ * warm-up are not counted.
+ */
+public final class LoadTestClient {
+    private static final int SAMPLE_SIZE = 1000;
+
+    /**
+     * Outcome of one run.
+     */
+    public static final class Result {
+        private final int threads;
+        private final long requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final LatencyHistogram.Snapshot latency;
+
+        private Result(int threads, long requests, long errors, long elapsedNanos, LatencyHistogram.Snapshot latency) {
+            this.threads = threads;
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+        }
+
+        public long getRequests() { return requests; }
+        public long getErrors() { return errors; }
+        public LatencyHistogram.Snapshot getLatency() { return latency; }
+
+        public double getThroughput() {
+            return elapsedNanos > 0 ? requests * 1e9 / elapsedNanos : 0.0;
+        }
+
+        public String report() {
+            return String.format("Threads:    %d%n"
+                            + "Duration:   %.1f s%n"
+                            + "Requests:   %d (%.0f/s), %d errors%n"
+                            + "Latency:    p50 %.3f ms, p99 %.3f ms, p999 %.3f ms, max %.3f ms%n",
+                    threads, elapsedNanos / 1e9, requests, getThroughput(), errors,
+                    millis(latency.getPercentile(0.5)), millis(latency.getPercentile(0.99)),
+                    millis(latency.getPercentile(0.999)), millis(latency.getMax()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private final String host;
+    private final int port;
+    private final String[] studentIds;
+    private final String[] courseCodes;
+
+    private LoadTestClient(String host, int port, String[] studentIds, String[] courseCodes) {
+        this.host = host;
+        this.port = port;
+        this.studentIds = studentIds;
+        this.courseCodes = courseCodes;
+    }
+
+    /**
+     * Prepare a run against a server, reading up to 1000 student ids and course codes
+     * from its listings.
+     * @param baseUri the server, e.g. {@code http://localhost:8080}; only http is supported
+     */
+    public static LoadTestClient connect(URI baseUri) throws IOException {
+        if (!"http".equalsIgnoreCase(baseUri.getScheme()) || baseUri.getHost() == null) {
+            throw new IllegalArgumentException("Expected an http:// URL: " + baseUri);
+        }
+        String host = baseUri.getHost();
+        int port = baseUri.getPort() > 0 ? baseUri.getPort() : 80;
+        try (Connection connection = new Connection(host, port)) {
+            String students = connection.get(ApiServer.PREFIX + "/students?limit=" + SAMPLE_SIZE, true);
+            String courses = connection.get(ApiServer.PREFIX + "/courses?limit=" + SAMPLE_SIZE, true);
+            return new LoadTestClient(host, port, stringValues(students, "id"), stringValues(courses, "code"));
+        }
+    }
+
+    /**
+     * Load the server from {@code threads} connections for the given time.
+     */
+    public Result run(int threads, long warmupMillis, long durationMillis) throws InterruptedException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        LatencyHistogram latency = new MetricsRegistry().histogram("LoadTestClient.request");
+        long[] requests = new long[threads];
+        long[] errors = new long[threads];
+        long measureStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        long measureEnd = measureStart + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            int worker = i;
+            Thread thread = new Thread(() -> {
+                Connection connection = null;
+                long now;
+                while ((now = System.nanoTime()) < measureEnd) {
+                    int status;
+                    try {
+                        if (connection == null) {
+                            connection = new Connection(host, port);
+                        }
+                        status = connection.status(nextPath());
+                    } catch (IOException e) {
+                        closeQuietly(connection);
+                        connection = null;
+                        status = -1;
+                    }
+                    if (now >= measureStart) {
+                        latency.recordSince(now);
+                        requests[worker]++;
+                        if (status < 200 || status >= 400) {
+                            errors[worker]++;
+                        }
+                    }
+                }
+                closeQuietly(connection);
+            }, "ccrm-loadtest-" + (i + 1));
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (int i = 0; i < threads; i++) {
+            totalRequests += requests[i];
+            totalErrors += errors[i];
+        }
+        return new Result(threads, totalRequests, totalErrors, measureEnd - measureStart, latency.snapshot());
+    }
+
+    // Request mix
+    private String nextPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (studentIds.length == 0) {
+            return courseCodes.length == 0 ? ApiServer.PREFIX + "/health"
+                    : ApiServer.PREFIX + "/courses/" + courseCodes[random.nextInt(courseCodes.length)];
+        }
+        int pick = random.nextInt(100);
+        if (pick >= 50 && pick < 75 && courseCodes.length > 0) {
+            return ApiServer.PREFIX + "/courses/" + courseCodes[random.nextInt(courseCodes.length)];
+        }
+        String student = ApiServer.PREFIX + "/students/" + studentIds[random.nextInt(studentIds.length)];
+        if (pick >= 90) {
+            return student + "/transcript";
+        }
+        return pick >= 75 ? student + "/enrollments" : student;
+    }
+
+    // Values of a string member wherever it appears in a JSON document
+    private static String[] stringValues(String json, String name) {
+        List<String> values = new ArrayList<>();
+        String marker = "\"" + name + "\":\"";
+        int from = 0;
+        int at;
+        while ((at = json.indexOf(marker, from)) >= 0) {
+            int start = at + marker.length();
+            int end = json.indexOf('"', start);
+            if (end < 0) {
+                break;
+            }
+            values.add(json.substring(start, end));
+            from = end + 1;
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * One keep-alive HTTP/1.1 connection. Only fixed-length responses are understood,
+     * which is all the API server sends.
+     */
+    private static final class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final byte[] requestPrefix;
+        private final byte[] requestSuffix;
+        private final InputStream in;
+        private final OutputStream out;
+        private final StringBuilder line;
+        private boolean closeAfterResponse;
+
+        private Connection(String host, int port) throws IOException {
+            this.socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, port), 5000);
+            socket.setSoTimeout(30_000);
+            this.in = new BufferedInputStream(socket.getInputStream(), 16 * 1024);
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 1024);
+            this.requestPrefix = "GET ".getBytes(StandardCharsets.US_ASCII);
+            this.requestSuffix = (" HTTP/1.1\r\nHost: " + host + ":" + port + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            this.line = new StringBuilder(64);
+        }
+
+        /**
+         * Send a GET and return the status, discarding the body.
+         */
+        int status(String path) throws IOException {
+            send(path);
+            int status = readStatus();
+            int length = readHeaders();
+            in.skipNBytes(length);
+            afterResponse();
+            return status;
+        }
+
+        /**
+         * Send a GET and return the body.
+         * @param requireOk whether a status other than 200 is an error
+         */
+        String get(String path, boolean requireOk) throws IOException {
+            send(path);
+            int status = readStatus();
+            int length = readHeaders();
+            String body = new String(in.readNBytes(length), StandardCharsets.UTF_8);
+            afterResponse();
+            if (requireOk && status != 200) {
+                throw new IOException("GET " + path + " returned " + status + ": " + body);
+            }
+            return body;
+        }
+
+        private void send(String path) throws IOException {
+            if (socket.isClosed()) {
+                throw new IOException("Connection closed");
+            }
+            out.write(requestPrefix);
+            out.write(path.getBytes(StandardCharsets.US_ASCII));
+            out.write(requestSuffix);
+            out.flush();
+        }
+
+        private int readStatus() throws IOException {
+            String status = readLine();
+            // "HTTP/1.1 200 OK"
+            int space = status.indexOf(' ');
+            if (!status.startsWith("HTTP/") || space < 0 || status.length() < space + 4) {
+                throw new IOException("Bad status line: " + status);
+            }
+            try {
+                return Integer.parseInt(status.substring(space + 1, space + 4));
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad status line: " + status);
+            }
+        }
+
+        // Read headers up to the blank line and return the content length
+        private int readHeaders() throws IOException {
+            int length = 0;
+            String header;
+            closeAfterResponse = false;
+            while (!(header = readLine()).isEmpty()) {
+                int colon = header.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String name = header.substring(0, colon).trim();
+                String value = header.substring(colon + 1).trim();
+                if (name.equalsIgnoreCase("Content-Length")) {
+                    length = Integer.parseInt(value);
+                } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                    throw new IOException("Unsupported transfer encoding: " + value);
+                } else if (name.equalsIgnoreCase("Connection") && value.equalsIgnoreCase("close")) {
+                    closeAfterResponse = true;
+                }
+            }
+            return length;
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    throw new IOException("Connection closed by server");
+                }
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        private void afterResponse() {
+            if (closeAfterResponse) {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+}
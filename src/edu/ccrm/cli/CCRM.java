@@ -1,19 +1,30 @@
 package src.edu.ccrm.cli;
 
 import src.edu.ccrm.config.AppConfig;
+import src.edu.ccrm.events.DomainEventBus;
+import src.edu.ccrm.events.EventJournal;
 import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
 import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.metrics.MetricsServer;
+import src.edu.ccrm.metrics.SlowLog;
+import src.edu.ccrm.metrics.Tracer;
 import src.edu.ccrm.model.*;
 import src.edu.ccrm.model.enums.Grade;
 import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.value.CourseCode;
 import src.edu.ccrm.service.*;
+import src.edu.ccrm.service.store.ColumnarEnrollmentStore;
+import src.edu.ccrm.service.store.EnrollmentStore;
+import src.edu.ccrm.service.store.ObjectEnrollmentStore;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.Comparator;
 
@@ -26,7 +37,11 @@ public class CCRM {
     private static CourseService courseService;
     private static EnrollmentService enrollmentService;
     private static TranscriptService transcriptService;
+    private static InstructorService instructorService;
     private static FileService fileService;
+    private static DomainEventBus events;
+    private static EventJournal eventJournal;
+    private static MetricsServer metricsServer;
     private static Scanner scanner;
 
     public static void main(String[] args) {
@@ -40,31 +55,128 @@ public class CCRM {
         // Set up all our service dependencies
         initializeServices(appConfig);
         
-        // Show some platform info before starting
-        printPlatformNote();
+        // Arguments select a headless command, e.g. "import students.csv" or "run nightly.txt"
+        boolean headless = args.length > 0;
+        if (!headless) {
+            // Show some platform info before starting
+            printPlatformNote();
+        }
+        
+        // Serve metrics for scraping when a port is configured
+        startMetricsServer(appConfig);
+        
+        // Trace a sample of enrollments and log slow ones to data/logs
+        startTracing(appConfig);
+
+        // Journal every domain event to data/logs when asked to
+        startEventJournal(appConfig);
         
-        // Start the main application loop
-        runMainMenu();
+        // Start the main application loop; the endpoint's dispatcher thread would keep the JVM alive
+        int status = CommandRunner.OK;
+        try {
+            if (headless) {
+                status = new CommandRunner(studentService, courseService, enrollmentService, instructorService,
+                        transcriptService, fileService, System.out, System.err).execute(Arrays.asList(args));
+            } else {
+                runMainMenu();
+            }
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+            SlowLog slowLog = Tracer.getDefault().getSlowLog();
+            if (slowLog != null) {
+                slowLog.close();
+            }
+            // Subscribers finish what was published before the journal file is closed
+            events.close();
+            if (eventJournal != null) {
+                try {
+                    eventJournal.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing event journal: " + e.getMessage());
+                }
+            }
+        }
+        if (status != CommandRunner.OK) {
+            System.exit(status);
+        }
     }
 
     private static void initializeServices(AppConfig appConfig) {
+        // One event bus carries the domain events of all services, in the order they happen
+        events = new DomainEventBus();
+
         // Initialize all our service classes with proper dependencies
-        studentService = new StudentService();
-        courseService = new CourseService();
+        studentService = new StudentService(events);
+        courseService = new CourseService(events);
         
         // Enrollment service needs both student and course services
-        enrollmentService = new EnrollmentService(studentService, courseService);
+        EnrollmentStore enrollmentStore = appConfig.isColumnarEnrollmentStore()
+                ? new ColumnarEnrollmentStore() : new ObjectEnrollmentStore();
+        enrollmentService = new EnrollmentService(studentService, courseService, enrollmentStore, events);
+        
+        // Instructor service mirrors course assignments and reports teaching loads
+        instructorService = new InstructorService(courseService, enrollmentService);
         
         // Transcript service needs all three for generating reports
         transcriptService = new TranscriptService(studentService, courseService, enrollmentService);
         
         // File service handles all I/O operations
         fileService = new FileService(appConfig.getDataRootDirectory());
+
+        // Gauges are read whenever metrics are shown; the services time themselves
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.gauge("students.count", studentService::getStudentCount);
+        metrics.gauge("courses.count", courseService::getCourseCount);
+        metrics.gauge("enrollments.count", enrollmentService::getEnrollmentCount);
+        metrics.gauge("instructors.count", instructorService::getInstructorCount);
+        metrics.gauge("jvm.heap.usedBytes",
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
         
         // Scanner for user input
         scanner = new Scanner(System.in);
     }
 
+    private static void startMetricsServer(AppConfig appConfig) {
+        try {
+            int port = appConfig.getMetricsPort();
+            if (port < 0) {
+                return;
+            }
+            metricsServer = MetricsServer.start(new InetSocketAddress(appConfig.getMetricsHost(), port),
+                    MetricsRegistry.getDefault());
+            System.out.println("Metrics endpoint: http://" + appConfig.getMetricsHost() + ":"
+                    + metricsServer.getAddress().getPort() + MetricsServer.PATH);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error starting metrics endpoint: " + e.getMessage());
+        }
+    }
+
+    private static void startTracing(AppConfig appConfig) {
+        Tracer tracer = Tracer.getDefault();
+        try {
+            tracer.setSampleInterval(appConfig.getTraceSampleInterval());
+            tracer.setSlowThresholdNanos(TimeUnit.MILLISECONDS.toNanos(appConfig.getSlowThresholdMillis()));
+            tracer.setSlowLog(new SlowLog(appConfig.getDataRootDirectory().resolve("logs"),
+                    MetricsRegistry.getDefault()));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error configuring tracing: " + e.getMessage());
+        }
+    }
+
+    private static void startEventJournal(AppConfig appConfig) {
+        if (!appConfig.isEventJournal()) {
+            return;
+        }
+        try {
+            eventJournal = new EventJournal(appConfig.getDataRootDirectory().resolve("logs"));
+            events.subscribe("journal", eventJournal);
+        } catch (IOException e) {
+            System.err.println("Error starting event journal: " + e.getMessage());
+        }
+    }
+
     private static void printPlatformNote() {
         // Display some basic platform information
         System.out.println("Java Platforms: ME (embedded), SE (standard), EE (enterprise). Running SE.");
@@ -88,8 +200,9 @@ public class CCRM {
             System.out.println("7. Reports");
             System.out.println("8. Advanced Java Concepts Demo");
             System.out.println("9. AppConfig Info");
-            System.out.println("10. Exit");
-            System.out.print("Choose an option (1-10): ");
+            System.out.println("10. Diagnostics");
+            System.out.println("11. Exit");
+            System.out.print("Choose an option (1-11): ");
 
             String choice = scanner.nextLine();
             
@@ -123,6 +236,9 @@ public class CCRM {
                     System.out.println(AppConfig.getInstance());
                     break;
                 case "10":
+                    manageDiagnostics();
+                    break;
+                case "11":
                     System.out.println("Exiting CCRM. Goodbye!");
                     running = false;
                     break;
@@ -302,7 +418,7 @@ public class CCRM {
         System.out.println("Created: " + student.getCreatedAt());
         System.out.println("Status: " + (student.isActive() ? "Active" : "Inactive"));
         System.out.println("GPA: " + student.getGpa());
-        System.out.println("Enrolled Courses: " + student.getEnrolledCourses());
+        System.out.println("Enrolled Courses: " + student.getEnrolledCourseView());
     }
 
     // Course Management
@@ -629,8 +745,8 @@ public class CCRM {
                 break;
             case "3":
                 System.out.println("Available semesters:");
-                for ( Semester semester : Semester.values()) {
-                    System.out.println("- " + semester);
+                for (Semester availableSemester : Semester.values()) {
+                    System.out.println("- " + availableSemester);
                 }
                 System.out.print("Enter semester: ");
                 String semesterStr2 = scanner.nextLine();
@@ -711,8 +827,9 @@ public class CCRM {
             System.out.println("1. Generate Student Transcript");
             System.out.println("2. Generate Semester Transcript");
             System.out.println("3. View GPA Distribution");
-            System.out.println("4. Back to Main Menu");
-            System.out.print("Choose an option (1-4): ");
+            System.out.println("4. Export Semester Transcripts");
+            System.out.println("5. Back to Main Menu");
+            System.out.print("Choose an option (1-5): ");
 
             String choice = scanner.nextLine();
             switch (choice) {
@@ -726,6 +843,9 @@ public class CCRM {
                     viewGPADistribution();
                     break;
                 case "4":
+                    exportSemesterTranscripts();
+                    break;
+                case "5":
                     inGradeMenu = false;
                     break;
                 default:
@@ -740,7 +860,7 @@ public class CCRM {
         
         try {
             Transcript transcript = transcriptService.generateTranscript(studentId);
-            System.out.println(transcript);
+            printTranscript(transcript);
         } catch (Exception e) {
             System.err.println("Error generating transcript: " + e.getMessage());
         }
@@ -760,12 +880,37 @@ public class CCRM {
         
         try {
             Transcript transcript = transcriptService.generateSemesterTranscript(studentId, semester);
-            System.out.println(transcript);
+            printTranscript(transcript);
         } catch (Exception e) {
             System.err.println("Error generating transcript: " + e.getMessage());
         }
     }
 
+    // Stream the transcript to the console instead of building one large string
+    private static void printTranscript(Transcript transcript) throws IOException {
+        TranscriptRenderer.TEXT.write(transcript, System.out);
+        System.out.println();
+    }
+
+    private static void exportSemesterTranscripts() {
+        System.out.println("Available semesters:");
+        for (Semester semester : Semester.values()) {
+            System.out.println("- " + semester);
+        }
+        System.out.print("Enter semester: ");
+        String semesterStr = scanner.nextLine();
+        
+        try {
+            Semester semester = Semester.valueOf(semesterStr.replace(" ", "_"));
+            Path outputDirectory = fileService.getDataDirectory().resolve("transcripts").resolve(semester.name());
+            TranscriptBatchJob job = new TranscriptBatchJob(studentService, courseService, enrollmentService);
+            int written = job.writeTo(outputDirectory, student -> true, semester);
+            System.out.println("Wrote " + written + " transcripts to " + outputDirectory);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error exporting transcripts: " + e.getMessage());
+        }
+    }
+
     private static void viewGPADistribution() {
         System.out.println(transcriptService.getGPADistribution());
     }
@@ -780,8 +925,9 @@ public class CCRM {
             System.out.println("2. Import Courses from CSV");
             System.out.println("3. Export Students to CSV");
             System.out.println("4. Export Courses to CSV");
-            System.out.println("5. Back to Main Menu");
-            System.out.print("Choose an option (1-5): ");
+            System.out.println("5. Generate Synthetic Dataset");
+            System.out.println("6. Back to Main Menu");
+            System.out.print("Choose an option (1-6): ");
 
             String choice = scanner.nextLine();
             switch (choice) {
@@ -798,6 +944,9 @@ public class CCRM {
                     exportCourses();
                     break;
                 case "5":
+                    generateDataset();
+                    break;
+                case "6":
                     inFileMenu = false;
                     break;
                 default:
@@ -830,7 +979,8 @@ public class CCRM {
             for (Course course : courses) {
                 courseService.addCourse(course.getCourseCode(), course.getTitle(), 
                         course.getDepartment(), course.getDescription(), 
-                        course.getCredits(), course.getInstructorId(), course.getSemester());
+                        course.getCredits(), course.getInstructorId(), course.getSemester(),
+                        course.getCapacity());
             }
             System.out.println("Imported " + courses.size() + " courses successfully.");
         } catch (IOException e) {
@@ -864,6 +1014,114 @@ public class CCRM {
         }
     }
 
+    private static void generateDataset() {
+        try {
+            System.out.print("Number of students: ");
+            int students = Integer.parseInt(scanner.nextLine().trim());
+            System.out.print("Seed (default 42): ");
+            String seedInput = scanner.nextLine().trim();
+            long seed = seedInput.isEmpty() ? 42L : Long.parseLong(seedInput);
+            DatasetGenerator generator = new DatasetGenerator(
+                    new DatasetGenerator.Options.Builder(students).seed(seed).build());
+
+            System.out.println("1. Write CSV files to " + fileService.getDataDirectory().resolve("generated"));
+            System.out.println("2. Load into the current session");
+            System.out.print("Choose an option (1-2): ");
+            String choice = scanner.nextLine();
+            DatasetGenerator.Statistics statistics;
+            if ("1".equals(choice)) {
+                statistics = generator.writeCsv(fileService, "generated");
+            } else if ("2".equals(choice)) {
+                statistics = generator.generate(DatasetGenerator.serviceLoader(
+                        studentService, courseService, instructorService, enrollmentService));
+            } else {
+                System.out.println("Invalid choice.");
+                return;
+            }
+            System.out.println("Generated " + statistics.getStudents() + " students, "
+                    + statistics.getCourses() + " courses, " + statistics.getInstructors() + " instructors and "
+                    + statistics.getEnrollments() + " enrollments.");
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error generating dataset: " + e.getMessage());
+        }
+    }
+
+    // Diagnostics
+    private static void manageDiagnostics() {
+        boolean inDiagnosticsMenu = true;
+        while (inDiagnosticsMenu) {
+            System.out.println();
+            System.out.println("=== Diagnostics ===");
+            System.out.println("1. Show Metrics");
+            System.out.println("2. Dump Metrics to File");
+            System.out.println("3. Reset Metrics");
+            System.out.println("4. Tracing Settings");
+            System.out.println("5. Back to Main Menu");
+            System.out.print("Choose an option (1-5): ");
+
+            String choice = scanner.nextLine();
+            switch (choice) {
+                case "1":
+                    System.out.println(MetricsRegistry.getDefault().report());
+                    break;
+                case "2":
+                    dumpMetrics();
+                    break;
+                case "3":
+                    MetricsRegistry.getDefault().reset();
+                    System.out.println("Metrics reset.");
+                    break;
+                case "4":
+                    configureTracing();
+                    break;
+                case "5":
+                    inDiagnosticsMenu = false;
+                    break;
+                default:
+                    System.out.println("Invalid choice. Please try again.");
+            }
+        }
+    }
+
+    private static void dumpMetrics() {
+        try {
+            Path file = MetricsRegistry.getDefault().dump(fileService.getDataDirectory().resolve("diagnostics"));
+            System.out.println("Metrics written to: " + file);
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    private static void configureTracing() {
+        Tracer tracer = Tracer.getDefault();
+        SlowLog slowLog = tracer.getSlowLog();
+        int interval = tracer.getSampleInterval();
+        System.out.println("Sampling: " + (interval == 0 ? "off"
+                : interval == 1 ? "every enrollment" : "one in " + interval + " enrollments"));
+        System.out.println("Slow threshold: " + TimeUnit.NANOSECONDS.toMillis(tracer.getSlowThresholdNanos())
+                + " ms, logged to " + (slowLog != null ? slowLog.getFile() : "nowhere"));
+
+        try {
+            System.out.print("Trace one in how many enrollments (0 = off, 1 = all, blank to keep): ");
+            String input = scanner.nextLine().trim();
+            if (!input.isEmpty()) {
+                tracer.setSampleInterval(Integer.parseInt(input));
+            }
+            System.out.print("Slow threshold in ms (blank to keep): ");
+            input = scanner.nextLine().trim();
+            if (!input.isEmpty()) {
+                tracer.setSlowThresholdNanos(TimeUnit.MILLISECONDS.toNanos(Integer.parseInt(input)));
+            }
+            System.out.println("Tracing settings updated.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
     // Backup Management
     private static void manageBackup() {
         boolean inBackupMenu = true;
@@ -944,8 +1202,9 @@ public class CCRM {
             System.out.println("3. GPA Distribution");
             System.out.println("4. Semester Statistics");
             System.out.println("5. Course Popularity");
-            System.out.println("6. Back to Main Menu");
-            System.out.print("Choose an option (1-6): ");
+            System.out.println("6. Teaching Load");
+            System.out.println("7. Back to Main Menu");
+            System.out.print("Choose an option (1-7): ");
 
             String choice = scanner.nextLine();
             switch (choice) {
@@ -965,6 +1224,9 @@ public class CCRM {
                     showCoursePopularity();
                     break;
                 case "6":
+                    showTeachingLoad();
+                    break;
+                case "7":
                     inReportMenu = false;
                     break;
                 default:
@@ -983,6 +1245,8 @@ public class CCRM {
         System.out.print("Enter number of top students to show: ");
         int limit = Integer.parseInt(scanner.nextLine());
         
+        // The ranking is built on the event bus's thread; let it take in the latest changes first
+        enrollmentService.awaitLeaderboards(1, TimeUnit.SECONDS);
         List<Student> topStudents = enrollmentService.getTopStudents(limit);
         System.out.println("Top " + limit + " Students:");
         
@@ -1006,6 +1270,10 @@ public class CCRM {
         System.out.println(transcriptService.getCoursePopularityStats());
     }
 
+    private static void showTeachingLoad() {
+        System.out.println(instructorService.getTeachingLoadReport());
+    }
+
     // Advanced Java concepts demonstration
     private static void demonstrateAdvancedConcepts() {
         System.out.println("\n=== Advanced Java Concepts Demo ===");
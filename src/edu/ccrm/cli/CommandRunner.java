@@ -0,0 +1,678 @@
+package src.edu.ccrm.cli;
+
+import src.edu.ccrm.api.ApiServer;
+import src.edu.ccrm.api.LoadTestClient;
+import src.edu.ccrm.config.AppConfig;
+import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
+import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.Instructor;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.service.CourseService;
+import src.edu.ccrm.service.EnrollmentService;
+import src.edu.ccrm.service.FileService;
+import src.edu.ccrm.service.InstructorService;
+import src.edu.ccrm.service.StudentService;
+import src.edu.ccrm.service.TranscriptService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-interactive commands for nightly jobs, run from the command line
+ * ({@code ccrm import students.csv}) or many to a JVM from a script file
+ * ({@code ccrm run nightly.txt}). State carries over between the commands of one run,
+ * so a script can import data once and then post grades, report and back up.
+ * File names are resolved against the data directory, like the interactive menus.
+ */
+public class CommandRunner {
+    public static final int OK = 0;
+    public static final int FAILED = 1;
+    public static final int USAGE = 2;
+
+    private static final String USAGE_TEXT = String.join(System.lineSeparator(),
+            "Usage: ccrm <command> [arguments]",
+            "  import <file> [--type students|courses|instructors|enrollments]",
+            "  export <students|courses|instructors|enrollments> <file>",
+            "  grades post <sheet.csv>       rows of studentId,courseCode,semester,grade",
+            "                                where grade is a letter or a percentage",
+            "  backup",
+            "  report <popularity|top|loads|students|gpa|semesters> [--format text|csv]",
+            "         [--limit n] [--out file]",
+            "                                --limit applies to the top and popularity reports",
+            "  run <script> [--keep-going]   one command per line, # starts a comment",
+            "  serve [--port n] [--host address] [--threads n]",
+            "                                serve the HTTP/JSON API until interrupted",
+            "  loadtest [--url http://host:port] [--threads n] [--duration s] [--warmup s]",
+            "                                load an API server, by default one serving this data",
+            "  help");
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final InstructorService instructorService;
+    private final TranscriptService transcriptService;
+    private final FileService fileService;
+    private final PrintStream out;
+    private final PrintStream err;
+    // Student ids in imported files mapped to the ids minted on import
+    private final Map<String, String> importedStudentIds;
+
+    public CommandRunner(StudentService studentService, CourseService courseService,
+                         EnrollmentService enrollmentService, InstructorService instructorService,
+                         TranscriptService transcriptService, FileService fileService,
+                         PrintStream out, PrintStream err) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.instructorService = instructorService;
+        this.transcriptService = transcriptService;
+        this.fileService = fileService;
+        this.out = out;
+        this.err = err;
+        this.importedStudentIds = new HashMap<>();
+    }
+
+    /**
+     * Run one command and return the process exit status:
+     * {@link #OK}, {@link #FAILED} or {@link #USAGE}.
+     */
+    public int execute(List<String> args) {
+        try {
+            dispatch(args);
+            return OK;
+        } catch (UsageException e) {
+            err.println("Error: " + e.getMessage());
+            return USAGE;
+        } catch (IOException | RuntimeException e) {
+            err.println("Error: " + e.getMessage());
+            return FAILED;
+        }
+    }
+
+    private void dispatch(List<String> args) throws IOException {
+        if (args.isEmpty()) {
+            throw new UsageException("No command given" + System.lineSeparator() + USAGE_TEXT);
+        }
+        List<String> rest = args.subList(1, args.size());
+        switch (args.get(0)) {
+            case "import":
+                importFile(rest);
+                break;
+            case "export":
+                exportFile(rest);
+                break;
+            case "grades":
+                if (rest.isEmpty() || !"post".equals(rest.get(0))) {
+                    throw new UsageException("Expected: grades post <sheet.csv>");
+                }
+                postGrades(rest.subList(1, rest.size()));
+                break;
+            case "backup":
+                expectArguments(rest, 0, "backup");
+                out.println("Backup created at: " + fileService.createBackup());
+                break;
+            case "report":
+                report(rest);
+                break;
+            case "run":
+                runScript(rest);
+                break;
+            case "serve":
+                serve(rest);
+                break;
+            case "loadtest":
+                loadTest(rest);
+                break;
+            case "help":
+                out.println(USAGE_TEXT);
+                break;
+            default:
+                throw new UsageException("Unknown command: " + args.get(0)
+                        + System.lineSeparator() + USAGE_TEXT);
+        }
+    }
+
+    // Import and export
+    private void importFile(List<String> args) throws IOException {
+        Options options = new Options(args, List.of("--type"), List.of());
+        String filename = options.positional(0, "import <file>");
+        options.expectPositionals(1, "import <file>");
+        String type = options.get("--type", null);
+        if (type == null) {
+            type = typeFromHeader(filename);
+        }
+
+        switch (type) {
+            case "students": {
+                List<Student> students = fileService.importStudentsFromCSV(filename);
+                for (Student student : students) {
+                    Student added = studentService.addStudent(student.getRegNo(), student.getFullName(),
+                            student.getEmail());
+                    importedStudentIds.put(student.getId(), added.getId());
+                }
+                out.println("Imported " + students.size() + " students.");
+                break;
+            }
+            case "courses": {
+                List<Course> courses = fileService.importCoursesFromCSV(filename);
+                for (Course course : courses) {
+                    courseService.addCourse(course.getCourseCode(), course.getTitle(),
+                            course.getDepartment(), course.getDescription(),
+                            course.getCredits(), course.getInstructorId(), course.getSemester(),
+                            course.getCapacity());
+                }
+                out.println("Imported " + courses.size() + " courses.");
+                break;
+            }
+            case "instructors": {
+                int added = 0;
+                for (Instructor instructor : fileService.importInstructorsFromCSV(filename)) {
+                    if (instructorService.getInstructorById(instructor.getId()) == null) {
+                        instructorService.registerInstructor(instructor);
+                        added++;
+                    }
+                }
+                out.println("Imported " + added + " instructors.");
+                break;
+            }
+            case "enrollments":
+                importEnrollments(filename);
+                break;
+            default:
+                throw new UsageException("Unknown record type: " + type);
+        }
+    }
+
+    // Graded and withdrawn rows are replayed through the service so all counters stay right
+    private void importEnrollments(String filename) throws IOException {
+        int imported = 0;
+        int skipped = 0;
+        for (Enrollment enrollment : fileService.importEnrollmentsFromCSV(filename)) {
+            String studentId = studentId(enrollment.getStudentId());
+            try {
+                enrollmentService.enrollStudent(studentId, enrollment.getCourseCode(), enrollment.getSemester());
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException
+                     | IllegalArgumentException e) {
+                err.println("Skipped enrollment " + enrollment.getId() + ": " + e.getMessage());
+                skipped++;
+                continue;
+            }
+            if (enrollment.getGrade() != null) {
+                enrollmentService.recordGrade(studentId, enrollment.getCourseCode(), enrollment.getSemester(),
+                        enrollment.getGrade());
+            }
+            if (!enrollment.isActive()) {
+                enrollmentService.unenrollStudent(studentId, enrollment.getCourseCode(), enrollment.getSemester());
+            }
+            imported++;
+        }
+        out.println("Imported " + imported + " enrollments" + (skipped > 0 ? ", skipped " + skipped : "") + ".");
+    }
+
+    private String typeFromHeader(String filename) throws IOException {
+        Path file = fileService.getDataDirectory().resolve(filename);
+        if (!Files.exists(file)) {
+            throw new IOException("File not found: " + filename);
+        }
+        String header;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            header = reader.readLine();
+        }
+        header = header != null ? header.trim() : "";
+        if (hasLeadingColumns(header, FileService.STUDENT_CSV_HEADER)) {
+            return "students";
+        } else if (hasLeadingColumns(header, FileService.COURSE_CSV_HEADER)) {
+            return "courses";
+        } else if (hasLeadingColumns(header, FileService.INSTRUCTOR_CSV_HEADER)) {
+            return "instructors";
+        } else if (hasLeadingColumns(header, FileService.ENROLLMENT_CSV_HEADER)) {
+            return "enrollments";
+        }
+        throw new UsageException("Cannot tell the record type of " + filename
+                + " from its header; use --type");
+    }
+
+    // Files written before a column was appended, e.g. courses without capacity, carry
+    // only the leading columns of the current header; the first two tell the types apart
+    private static boolean hasLeadingColumns(String header, String currentHeader) {
+        if (header.indexOf(',') < 0) {
+            return false;
+        }
+        return currentHeader.equals(header) || currentHeader.startsWith(header + ",");
+    }
+
+    private void exportFile(List<String> args) throws IOException {
+        expectArguments(args, 2, "export <students|courses|instructors|enrollments> <file>");
+        String filename = args.get(1);
+        int count;
+        switch (args.get(0)) {
+            case "students":
+                List<Student> students = studentService.getAllStudents();
+                fileService.exportStudentsToCSV(students, filename);
+                count = students.size();
+                break;
+            case "courses":
+                List<Course> courses = courseService.getAllCourses();
+                fileService.exportCoursesToCSV(courses, filename);
+                count = courses.size();
+                break;
+            case "instructors":
+                List<Instructor> instructors = instructorService.getAllInstructors();
+                fileService.exportInstructorsToCSV(instructors, filename);
+                count = instructors.size();
+                break;
+            case "enrollments":
+                List<Enrollment> enrollments = enrollmentService.getAllEnrollments();
+                fileService.exportEnrollmentsToCSV(enrollments, filename);
+                count = enrollments.size();
+                break;
+            default:
+                throw new UsageException("Unknown record type: " + args.get(0));
+        }
+        out.println("Exported " + count + " " + args.get(0) + " to " + filename + ".");
+    }
+
+    // Grades
+    private void postGrades(List<String> args) throws IOException {
+        expectArguments(args, 1, "grades post <sheet.csv>");
+        String filename = args.get(0);
+        Path file = fileService.getDataDirectory().resolve(filename);
+        if (!Files.exists(file)) {
+            throw new IOException("File not found: " + filename);
+        }
+
+        int posted = 0;
+        int failed = 0;
+        List<String> lines = Files.readAllLines(file);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || (i == 0 && line.toLowerCase().startsWith("studentid"))) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                if (fields.length != 4) {
+                    throw new IllegalArgumentException("expected studentId,courseCode,semester,grade");
+                }
+                String studentId = studentId(fields[0].trim());
+                CourseCode courseCode = CourseCode.parse(fields[1].trim());
+                Semester semester = Semester.valueOf(fields[2].trim().replace(" ", "_").toUpperCase());
+                String grade = fields[3].trim();
+                boolean recorded = Character.isDigit(grade.charAt(0))
+                        ? enrollmentService.recordGrade(studentId, courseCode, semester, Double.parseDouble(grade))
+                        : enrollmentService.recordGrade(studentId, courseCode, semester, Grade.fromLetter(grade));
+                if (!recorded) {
+                    throw new IllegalArgumentException("no active enrollment");
+                }
+                posted++;
+            } catch (RuntimeException e) {
+                err.println("Line " + (i + 1) + " not posted (" + line + "): " + e.getMessage());
+                failed++;
+            }
+        }
+        out.println("Posted " + posted + " grades" + (failed > 0 ? ", " + failed + " failed" : "") + ".");
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " grades could not be posted");
+        }
+    }
+
+    private String studentId(String fileId) {
+        return importedStudentIds.getOrDefault(fileId, fileId);
+    }
+
+    // Reports
+    private void report(List<String> args) throws IOException {
+        Options options = new Options(args, List.of("--format", "--limit", "--out"), List.of());
+        String name = options.positional(0, "report <name>");
+        options.expectPositionals(1, "report <name>");
+        String format = options.get("--format", "text");
+        if (!format.equals("text") && !format.equals("csv")) {
+            throw new UsageException("Unknown format: " + format);
+        }
+        boolean csv = format.equals("csv");
+        // Only the ranked reports can be cut short
+        boolean ranked = name.equals("top") || name.equals("popularity");
+        if (options.flag("--limit") && !ranked) {
+            throw new UsageException("The " + name + " report has no --limit option");
+        }
+        int limit = options.getInt("--limit", name.equals("top") ? 10 : Integer.MAX_VALUE);
+        if (limit < 1) {
+            throw new UsageException("--limit must be at least 1: " + limit);
+        }
+
+        String report;
+        switch (name) {
+            case "popularity":
+                report = csv ? popularityCsv(limit) : transcriptService.getCoursePopularityStats(limit);
+                break;
+            case "top":
+                report = topStudents(limit, csv);
+                break;
+            case "loads":
+                report = csv ? teachingLoadsCsv() : instructorService.getTeachingLoadReport();
+                break;
+            case "students":
+                report = textOnly(csv, name, "Student Statistics:" + System.lineSeparator()
+                        + studentService.getStatistics());
+                break;
+            case "gpa":
+                report = textOnly(csv, name, transcriptService.getGPADistribution());
+                break;
+            case "semesters":
+                report = textOnly(csv, name, transcriptService.getSemesterStatistics());
+                break;
+            default:
+                throw new UsageException("Unknown report: " + name);
+        }
+
+        String outFile = options.get("--out", null);
+        if (outFile == null) {
+            out.println(report);
+        } else {
+            Path file = fileService.getDataDirectory().resolve(outFile);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, report.endsWith("\n") ? report : report + System.lineSeparator());
+            out.println("Report written to: " + file);
+        }
+    }
+
+    private static String textOnly(boolean csv, String name, String report) {
+        if (csv) {
+            throw new UsageException("The " + name + " report has no csv format");
+        }
+        return report;
+    }
+
+    private String popularityCsv(int limit) {
+        StringBuilder report = new StringBuilder("courseCode,title,semester,enrolled,capacity,fillPercent\n");
+        List<Course.Popularity> popularity = transcriptService.getCoursePopularity();
+        for (Course.Popularity entry : popularity.subList(0, Math.min(limit, popularity.size()))) {
+            Course course = entry.getCourse();
+            report.append(course.getCourseCode()).append(',')
+                  .append(csvField(course.getTitle())).append(',')
+                  .append(entry.getSemester()).append(',')
+                  .append(entry.getEnrolledCount()).append(',')
+                  .append(entry.getCapacity()).append(',')
+                  .append(Math.round(entry.getFillRatio() * 100)).append('\n');
+        }
+        return report.toString();
+    }
+
+    private String topStudents(int limit, boolean csv) {
+        // The ranking is built on the event bus's thread; let it take in this run's writes first
+        if (!enrollmentService.awaitLeaderboards(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("The leaderboard did not catch up with the latest changes");
+        }
+        StringBuilder report = new StringBuilder(csv ? "rank,studentId,fullName,gpa\n" : "Top " + limit + " Students:\n");
+        int rank = 1;
+        for (Student student : enrollmentService.getTopStudents(limit)) {
+            if (csv) {
+                report.append(rank).append(',').append(student.getId()).append(',')
+                      .append(csvField(student.getFullName())).append(',')
+                      .append(String.format("%.2f", student.getGpa())).append('\n');
+            } else {
+                report.append(rank).append(". ").append(student.getFullName())
+                      .append(" - GPA: ").append(student.getGpa()).append('\n');
+            }
+            rank++;
+        }
+        return report.toString();
+    }
+
+    private String teachingLoadsCsv() {
+        StringBuilder report = new StringBuilder("instructorId,instructorName,semester,courses,credits,students\n");
+        for (Instructor.TeachingLoad load : instructorService.getTeachingLoads()) {
+            report.append(load.getInstructorId()).append(',')
+                  .append(csvField(load.getInstructorName())).append(',')
+                  .append(load.getSemester()).append(',')
+                  .append(load.getCourses()).append(',')
+                  .append(load.getCredits()).append(',')
+                  .append(load.getEnrolledStudents()).append('\n');
+        }
+        return report.toString();
+    }
+
+    // Quote fields that contain separators, doubling embedded quotes
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // HTTP/JSON API
+    private void serve(List<String> args) {
+        Options options = new Options(args, List.of("--port", "--host", "--threads"), List.of());
+        options.expectPositionals(0, "serve [--port n] [--host address] [--threads n]");
+        AppConfig appConfig = AppConfig.getInstance();
+        InetSocketAddress address = new InetSocketAddress(options.get("--host", appConfig.getApiHost()),
+                options.getInt("--port", appConfig.getApiPort()));
+        ApiServer server;
+        try {
+            server = startApi(address, options.getInt("--threads", appConfig.getApiThreads()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serve on " + address + ": " + e.getMessage(), e);
+        }
+        Thread shutdownHook = new Thread(server::stop, "ccrm-api-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        out.println("Serving " + studentService.getStudentCount() + " students at http://"
+                + address.getHostString() + ":" + server.getAddress().getPort() + ApiServer.PREFIX
+                + "/ (Ctrl+C to stop)");
+        try {
+            server.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            server.stop();
+        }
+    }
+
+    private void loadTest(List<String> args) throws IOException {
+        Options options = new Options(args, List.of("--url", "--threads", "--duration", "--warmup"), List.of());
+        options.expectPositionals(0, "loadtest [--url http://host:port] [--threads n] [--duration s] [--warmup s]");
+        int threads = options.getInt("--threads", 2 * Runtime.getRuntime().availableProcessors());
+        int duration = options.getInt("--duration", 10);
+        int warmup = options.getInt("--warmup", 2);
+        if (threads < 1 || duration < 1 || warmup < 0) {
+            throw new UsageException("Expected positive --threads and --duration and a non-negative --warmup");
+        }
+
+        // Without a URL, serve the data loaded so far on a free local port for the run
+        String url = options.get("--url", null);
+        ApiServer server = null;
+        try {
+            if (url == null) {
+                server = startApi(new InetSocketAddress("127.0.0.1", 0), AppConfig.getInstance().getApiThreads());
+                url = "http://127.0.0.1:" + server.getAddress().getPort();
+            }
+            LoadTestClient client;
+            try {
+                client = LoadTestClient.connect(URI.create(url));
+            } catch (IllegalArgumentException e) {
+                throw new UsageException(e.getMessage());
+            }
+            out.println("Loading " + url + " from " + threads + " connections for " + duration
+                    + " s after a " + warmup + " s warm-up...");
+            LoadTestClient.Result result = client.run(threads, TimeUnit.SECONDS.toMillis(warmup),
+                    TimeUnit.SECONDS.toMillis(duration));
+            out.print(result.report());
+            if (result.getErrors() > 0) {
+                throw new IllegalStateException(result.getErrors() + " requests failed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load test interrupted");
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    private ApiServer startApi(InetSocketAddress address, int threads) throws IOException {
+        return ApiServer.start(address, threads, studentService, courseService, enrollmentService,
+                transcriptService);
+    }
+
+    // Scripts
+    private void runScript(List<String> args) throws IOException {
+        Options options = new Options(args, List.of(), List.of("--keep-going"));
+        String filename = options.positional(0, "run <script>");
+        options.expectPositionals(1, "run <script>");
+        boolean keepGoing = options.flag("--keep-going");
+        Path script = fileService.getDataDirectory().resolve(filename);
+        if (!Files.exists(script)) {
+            throw new IOException("Script not found: " + filename);
+        }
+
+        List<String> lines = Files.readAllLines(script);
+        int failures = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            List<String> command = tokenize(lines.get(i));
+            if (command.isEmpty()) {
+                continue;
+            }
+            if ("run".equals(command.get(0))) {
+                throw new UsageException("Line " + (i + 1) + ": scripts cannot run other scripts");
+            }
+            out.println("> " + String.join(" ", command));
+            if (execute(command) != OK) {
+                failures++;
+                if (!keepGoing) {
+                    throw new IllegalStateException("Script stopped at line " + (i + 1) + " of " + filename);
+                }
+            }
+        }
+        if (failures > 0) {
+            throw new IllegalStateException(failures + " commands failed in " + filename);
+        }
+    }
+
+    /**
+     * Split a script line into words. Double quotes group words, and # outside quotes
+     * starts a comment.
+     */
+    static List<String> tokenize(String line) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        boolean quoted = false;
+        boolean inWord = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inWord = true;
+            } else if (!quoted && c == '#') {
+                break;
+            } else if (!quoted && Character.isWhitespace(c)) {
+                if (inWord) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                    inWord = false;
+                }
+            } else {
+                word.append(c);
+                inWord = true;
+            }
+        }
+        if (quoted) {
+            throw new UsageException("Unclosed quote in: " + line);
+        }
+        if (inWord) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static void expectArguments(List<String> args, int count, String usage) {
+        if (args.size() != count) {
+            throw new UsageException("Expected: " + usage);
+        }
+    }
+
+    /**
+     * Bad command line: unknown command or option, or missing arguments.
+     */
+    private static final class UsageException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private UsageException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Command arguments split into positionals, {@code --name value} options and flags.
+     */
+    private static final class Options {
+        private final List<String> positionals;
+        private final Map<String, String> values;
+
+        private Options(List<String> args, List<String> valueOptions, List<String> flags) {
+            this.positionals = new ArrayList<>();
+            this.values = new HashMap<>();
+            for (int i = 0; i < args.size(); i++) {
+                String arg = args.get(i);
+                if (!arg.startsWith("--")) {
+                    positionals.add(arg);
+                } else if (valueOptions.contains(arg)) {
+                    if (i + 1 == args.size()) {
+                        throw new UsageException("Missing value for " + arg);
+                    }
+                    values.put(arg, args.get(++i));
+                } else if (flags.contains(arg)) {
+                    values.put(arg, "true");
+                } else {
+                    throw new UsageException("Unknown option: " + arg);
+                }
+            }
+        }
+
+        String positional(int index, String usage) {
+            if (index >= positionals.size()) {
+                throw new UsageException("Expected: " + usage);
+            }
+            return positionals.get(index);
+        }
+
+        void expectPositionals(int count, String usage) {
+            if (positionals.size() != count) {
+                throw new UsageException("Expected: " + usage);
+            }
+        }
+
+        String get(String name, String defaultValue) {
+            return values.getOrDefault(name, defaultValue);
+        }
+
+        int getInt(String name, int defaultValue) {
+            String value = values.get(name);
+            try {
+                return value != null ? Integer.parseInt(value) : defaultValue;
+            } catch (NumberFormatException e) {
+                throw new UsageException("Expected a number for " + name + ": " + value);
+            }
+        }
+
+        boolean flag(String name) {
+            return values.containsKey(name);
+        }
+    }
+}
@@ -39,6 +39,93 @@ public class AppConfig {
 		return dataRootDirectory;
 	}
 
+	/**
+	 * Whether enrollments are kept in the columnar store,
+	 * selected with -Dccrm.enrollment.store=columnar.
+	 */
+	public boolean isColumnarEnrollmentStore() {
+		return "columnar".equalsIgnoreCase(System.getProperty("ccrm.enrollment.store", "object"));
+	}
+
+	/**
+	 * Port of the Prometheus metrics endpoint, set with -Dccrm.metrics.port,
+	 * or -1 when the endpoint is disabled (the default).
+	 */
+	public int getMetricsPort() {
+		return intProperty("ccrm.metrics.port", -1, 0, 65535);
+	}
+
+	/**
+	 * Address the metrics endpoint binds to, set with -Dccrm.metrics.host; all interfaces by default.
+	 */
+	public String getMetricsHost() {
+		return System.getProperty("ccrm.metrics.host", "0.0.0.0");
+	}
+
+	/**
+	 * Port of the HTTP/JSON API started by the serve command, set with -Dccrm.api.port.
+	 * Defaults to 8080.
+	 */
+	public int getApiPort() {
+		return intProperty("ccrm.api.port", 8080, 0, 65535);
+	}
+
+	/**
+	 * Address the HTTP/JSON API binds to, set with -Dccrm.api.host; all interfaces by default.
+	 */
+	public String getApiHost() {
+		return System.getProperty("ccrm.api.host", "0.0.0.0");
+	}
+
+	/**
+	 * Worker threads of the HTTP/JSON API, set with -Dccrm.api.threads.
+	 * Defaults to two per processor.
+	 */
+	public int getApiThreads() {
+		return intProperty("ccrm.api.threads", 2 * Runtime.getRuntime().availableProcessors(), 1, 1024);
+	}
+
+	/**
+	 * Trace one in this many enrollments, set with -Dccrm.trace.sample;
+	 * 0 turns tracing off and 1 traces every call. Defaults to 100.
+	 */
+	public int getTraceSampleInterval() {
+		return intProperty("ccrm.trace.sample", 100, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Operations at least this slow go to the slow log, set with -Dccrm.trace.slowMs.
+	 * Defaults to 50 ms.
+	 */
+	public int getSlowThresholdMillis() {
+		return intProperty("ccrm.trace.slowMs", 50, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Whether every domain event is appended to logs/events.log under the data directory,
+	 * turned on with -Dccrm.events.journal=true.
+	 */
+	public boolean isEventJournal() {
+		return Boolean.parseBoolean(System.getProperty("ccrm.events.journal", "false"));
+	}
+
+	private static int intProperty(String name, int defaultValue, int min, int max) {
+		String property = System.getProperty(name);
+		if (property == null || property.isBlank()) {
+			return defaultValue;
+		}
+		int value;
+		try {
+			value = Integer.parseInt(property.trim());
+		} catch (NumberFormatException exception) {
+			throw new IllegalArgumentException("Invalid " + name + ": " + property, exception);
+		}
+		if (value < min || value > max) {
+			throw new IllegalArgumentException(name + " out of range: " + property);
+		}
+		return value;
+	}
+
 	@Override
 	public String toString() {
 		return "AppConfig{" +
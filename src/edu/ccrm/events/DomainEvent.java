@@ -0,0 +1,349 @@
+package src.edu.ccrm.events;
+
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+
+/**
+ * A change to the campus, published on a {@link DomainEventBus} once the service has applied it.
+ * Events are immutable and carry the values a subscriber needs. The students they name are the
+ * live objects: a subscriber on another thread may keep the reference and read its id and key,
+ * which never change, but should take everything else from the event.
+ */
+public abstract class DomainEvent {
+    private final long timestamp;
+
+    // Only the events below
+    private DomainEvent() {
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the wall-clock time the event was created, in epoch milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    abstract void deliverTo(DomainEventBus.Subscriber subscriber);
+
+    public static final class StudentAdded extends DomainEvent {
+        private final Student student;
+        private final String fullName;
+        private final double gpa;
+
+        public StudentAdded(Student student) {
+            this.student = student;
+            this.fullName = student.getFullName();
+            this.gpa = student.getGpa();
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+        public String getFullName() { return fullName; }
+        /** The student's GPA when added. */
+        public double getGpa() { return gpa; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onStudentAdded(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StudentAdded{student=%s, name=%s}", student.getId(), fullName);
+        }
+    }
+
+    public static final class StudentDeactivated extends DomainEvent {
+        private final Student student;
+
+        public StudentDeactivated(Student student) {
+            this.student = student;
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onStudentDeactivated(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StudentDeactivated{student=%s}", student.getId());
+        }
+    }
+
+    public static final class StudentActivated extends DomainEvent {
+        private final Student student;
+        private final double gpa;
+
+        public StudentActivated(Student student) {
+            this.student = student;
+            this.gpa = student.getGpa();
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+        /** The student's GPA when activated. */
+        public double getGpa() { return gpa; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onStudentActivated(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StudentActivated{student=%s, gpa=%.2f}", student.getId(), gpa);
+        }
+    }
+
+    public static final class GpaChanged extends DomainEvent {
+        private final Student student;
+        private final double previousGpa;
+        private final double gpa;
+
+        public GpaChanged(Student student, double previousGpa) {
+            this.student = student;
+            this.previousGpa = previousGpa;
+            this.gpa = student.getGpa();
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+        public double getPreviousGpa() { return previousGpa; }
+        public double getGpa() { return gpa; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onGpaChanged(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GpaChanged{student=%s, gpa=%.2f, previous=%.2f}",
+                    student.getId(), gpa, previousGpa);
+        }
+    }
+
+    /**
+     * Every student was removed; state derived from students starts over.
+     */
+    public static final class StudentsCleared extends DomainEvent {
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onStudentsCleared(this);
+        }
+
+        @Override
+        public String toString() {
+            return "StudentsCleared{}";
+        }
+    }
+
+    public static final class Enrolled extends DomainEvent {
+        private final Student student;
+        private final CourseCode courseCode;
+        private final Semester semester;
+        private final String department;
+        private final int credits;
+        private final double gpa;
+
+        public Enrolled(Student student, CourseCode courseCode, Semester semester, String department, int credits) {
+            this.student = student;
+            this.courseCode = courseCode;
+            this.semester = semester;
+            this.department = department;
+            this.credits = credits;
+            this.gpa = student.getGpa();
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+        public CourseCode getCourseCode() { return courseCode; }
+        public Semester getSemester() { return semester; }
+        public String getDepartment() { return department; }
+        public int getCredits() { return credits; }
+        /** The student's GPA when the enrollment was made. */
+        public double getGpa() { return gpa; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onEnrolled(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Enrolled{student=%s, course=%s, semester=%s, credits=%d}",
+                    student.getId(), courseCode, semester, credits);
+        }
+    }
+
+    public static final class Unenrolled extends DomainEvent {
+        private final Student student;
+        private final CourseCode courseCode;
+        private final Semester semester;
+        private final String department;
+
+        /**
+         * @param department the course's department, or null if the course is gone
+         */
+        public Unenrolled(Student student, CourseCode courseCode, Semester semester, String department) {
+            this.student = student;
+            this.courseCode = courseCode;
+            this.semester = semester;
+            this.department = department;
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+        public CourseCode getCourseCode() { return courseCode; }
+        public Semester getSemester() { return semester; }
+        public String getDepartment() { return department; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onUnenrolled(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Unenrolled{student=%s, course=%s, semester=%s}",
+                    student.getId(), courseCode, semester);
+        }
+    }
+
+    public static final class GradeRecorded extends DomainEvent {
+        private final Student student;
+        private final CourseCode courseCode;
+        private final Semester semester;
+        private final Grade grade;
+        private final Grade previousGrade;
+        private final double gpa;
+
+        public GradeRecorded(Student student, CourseCode courseCode, Semester semester,
+                             Grade grade, Grade previousGrade) {
+            this.student = student;
+            this.courseCode = courseCode;
+            this.semester = semester;
+            this.grade = grade;
+            this.previousGrade = previousGrade;
+            this.gpa = student.getGpa();
+        }
+
+        public Student getStudent() { return student; }
+        public String getStudentId() { return student.getId(); }
+        public CourseCode getCourseCode() { return courseCode; }
+        public Semester getSemester() { return semester; }
+        /** The grade recorded, or null if it was cleared. */
+        public Grade getGrade() { return grade; }
+        /** The grade replaced, or null if there was none. */
+        public Grade getPreviousGrade() { return previousGrade; }
+        /** The student's GPA with this grade counted. */
+        public double getGpa() { return gpa; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onGradeRecorded(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GradeRecorded{student=%s, course=%s, semester=%s, grade=%s, gpa=%.2f}",
+                    student.getId(), courseCode, semester, grade, gpa);
+        }
+    }
+
+    public static final class CourseUpdated extends DomainEvent {
+        private final String courseId;
+        private final CourseCode courseCode;
+        private final String title;
+        private final int credits;
+        private final String previousTitle;
+        private final int previousCredits;
+
+        public CourseUpdated(String courseId, CourseCode courseCode, String title, int credits,
+                             String previousTitle, int previousCredits) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.title = title;
+            this.credits = credits;
+            this.previousTitle = previousTitle;
+            this.previousCredits = previousCredits;
+        }
+
+        public String getCourseId() { return courseId; }
+        public CourseCode getCourseCode() { return courseCode; }
+        public String getTitle() { return title; }
+        public int getCredits() { return credits; }
+        public String getPreviousTitle() { return previousTitle; }
+        public int getPreviousCredits() { return previousCredits; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onCourseUpdated(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CourseUpdated{course=%s, code=%s, title=%s, credits=%d}",
+                    courseId, courseCode, title, credits);
+        }
+    }
+
+    public static final class InstructorAssigned extends DomainEvent {
+        private final String courseId;
+        private final CourseCode courseCode;
+        private final String instructorId;
+        private final String previousInstructorId;
+
+        /**
+         * @param instructorId the new instructor, or null if the course was left without one
+         * @param previousInstructorId the instructor replaced, or null
+         */
+        public InstructorAssigned(String courseId, CourseCode courseCode, String instructorId,
+                                  String previousInstructorId) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.instructorId = instructorId;
+            this.previousInstructorId = previousInstructorId;
+        }
+
+        public String getCourseId() { return courseId; }
+        public CourseCode getCourseCode() { return courseCode; }
+        public String getInstructorId() { return instructorId; }
+        public String getPreviousInstructorId() { return previousInstructorId; }
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onInstructorAssigned(this);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("InstructorAssigned{course=%s, code=%s, instructor=%s, previous=%s}",
+                    courseId, courseCode, instructorId, previousInstructorId);
+        }
+    }
+
+    /**
+     * Every enrollment was removed; state derived from enrollments starts over.
+     */
+    public static final class EnrollmentsCleared extends DomainEvent {
+
+        @Override
+        void deliverTo(DomainEventBus.Subscriber subscriber) {
+            subscriber.onEnrollmentsCleared(this);
+        }
+
+        @Override
+        public String toString() {
+            return "EnrollmentsCleared{}";
+        }
+    }
+}
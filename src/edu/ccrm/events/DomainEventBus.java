@@ -0,0 +1,338 @@
+package src.edu.ccrm.events;
+
+import src.edu.ccrm.metrics.Counter;
+import src.edu.ccrm.metrics.MetricsRegistry;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring of {@link DomainEvent}s with one writer and any number of subscribers.
+ * The services publish into the ring as they apply each change; every subscriber has its own
+ * thread that reads events in publication order, taking everything published since its last
+ * pass as one batch, so derived state can be kept off the write path.
+ * <p>
+ * The ring never drops an event: a writer that gets a full ring ahead of the slowest subscriber
+ * waits for it. Publishing is single-writer: calls must not overlap, which holds when the
+ * services are driven from one thread or behind one write lock, as the CLI and API do.
+ * Closing may happen on any thread.
+ * <p>
+ * State kept by a subscriber trails the writes, by however many events its thread has yet to
+ * handle. That suits views that can be a little behind, such as leaderboards and the journal.
+ * State that every read must see right after the write, such as a cache that has to be
+ * invalidated, belongs in the services' synchronous listeners instead
+ * ({@code EnrollmentService.ChangeListener}, {@code CourseService.UpdateListener}).
+ * <p>
+ * Whoever creates a bus owns it: the services take it as a constructor argument and never
+ * close it, so the owner closes it once they are done, which stops the subscriber threads.
+ */
+public final class DomainEventBus implements Closeable {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int SPINS = 100;
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    /**
+     * Receives events on the subscription's own thread, one call per event in publication order.
+     * A subscriber is only ever called from that thread, so it needs no locking of its own
+     * unless other threads read what it builds.
+     */
+    public interface Subscriber {
+        default void onStudentAdded(DomainEvent.StudentAdded event) {
+        }
+
+        default void onStudentDeactivated(DomainEvent.StudentDeactivated event) {
+        }
+
+        default void onStudentActivated(DomainEvent.StudentActivated event) {
+        }
+
+        default void onGpaChanged(DomainEvent.GpaChanged event) {
+        }
+
+        default void onStudentsCleared(DomainEvent.StudentsCleared event) {
+        }
+
+        default void onEnrolled(DomainEvent.Enrolled event) {
+        }
+
+        default void onUnenrolled(DomainEvent.Unenrolled event) {
+        }
+
+        default void onGradeRecorded(DomainEvent.GradeRecorded event) {
+        }
+
+        default void onCourseUpdated(DomainEvent.CourseUpdated event) {
+        }
+
+        default void onInstructorAssigned(DomainEvent.InstructorAssigned event) {
+        }
+
+        default void onEnrollmentsCleared(DomainEvent.EnrollmentsCleared event) {
+        }
+
+        /**
+         * Called after each batch, e.g. to flush buffered output.
+         * @param sequence the sequence of the last event in the batch
+         */
+        default void onBatchEnd(long sequence) {
+        }
+    }
+
+    private final DomainEvent[] ring;
+    private final int mask;
+    private final Counter publishedEvents;
+    private final Counter writerWaits;
+    private final Counter subscriberErrors;
+    // Sequence of the last event published, -1 before the first
+    private volatile long published;
+    private volatile Subscription[] subscriptions;
+    // Writer only: lowest sequence all subscribers had consumed when last checked
+    private long gate;
+    private volatile boolean closed;
+
+    public DomainEventBus() {
+        this(DEFAULT_CAPACITY, MetricsRegistry.getDefault());
+    }
+
+    /**
+     * @param capacity events the ring holds, a power of two
+     */
+    public DomainEventBus(int capacity, MetricsRegistry registry) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.ring = new DomainEvent[capacity];
+        this.mask = capacity - 1;
+        this.publishedEvents = registry.counter("DomainEventBus.published");
+        this.writerWaits = registry.counter("DomainEventBus.writerWaits");
+        this.subscriberErrors = registry.counter("DomainEventBus.subscriberErrors");
+        this.published = -1;
+        this.subscriptions = NO_SUBSCRIPTIONS;
+        this.gate = -1;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Get the sequence of the last event published, or -1 if there is none.
+     */
+    public long getPublishedSequence() {
+        return published;
+    }
+
+    /**
+     * Put an event in the ring and wake any subscriber waiting for one.
+     * Blocks while the ring is full; with no subscribers it never does.
+     * @return the event's sequence
+     */
+    public long publish(DomainEvent event) {
+        long sequence = published + 1;
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint > gate) {
+            gate = minimumConsumed(sequence - 1);
+            if (wrapPoint > gate) {
+                writerWaits.increment();
+                do {
+                    wakeSubscribers();
+                    LockSupport.parkNanos(10_000);
+                    gate = minimumConsumed(sequence - 1);
+                } while (wrapPoint > gate);
+            }
+        }
+        ring[(int) sequence & mask] = event;
+        published = sequence;
+        publishedEvents.increment();
+        wakeSubscribers();
+        return sequence;
+    }
+
+    /**
+     * Start delivering events published from now on to a subscriber, on a new daemon thread.
+     * Subscribers should be added before their services take writes, or from the writing thread.
+     * @param name names the thread, e.g. {@code leaderboards}
+     */
+    public synchronized Subscription subscribe(String name, Subscriber subscriber) {
+        if (closed) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        Subscription subscription = new Subscription(name, subscriber, published);
+        Subscription[] current = subscriptions;
+        Subscription[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = subscription;
+        subscriptions = grown;
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Wait until every subscriber has handled the events published so far.
+     * @return false if that took longer than the timeout
+     */
+    public boolean awaitConsumed(long timeout, TimeUnit unit) {
+        long sequence = published;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.awaitConsumed(sequence, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Let the subscribers finish the events already published and stop their threads,
+     * waiting at most a few seconds. Events published afterwards are not delivered.
+     */
+    @Override
+    public void close() {
+        Subscription[] stopping;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stopping = subscriptions;
+        }
+        wakeSubscribers();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        try {
+            for (Subscription subscription : stopping) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    subscription.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Nobody consumes any more, so the writer must not wait for them
+        subscriptions = NO_SUBSCRIPTIONS;
+    }
+
+    private long minimumConsumed(long ifNone) {
+        long minimum = ifNone;
+        for (Subscription subscription : subscriptions) {
+            minimum = Math.min(minimum, subscription.consumed);
+        }
+        return minimum;
+    }
+
+    private void wakeSubscribers() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.waiting) {
+                LockSupport.unpark(subscription.thread);
+            }
+        }
+    }
+
+    /**
+     * One subscriber's position in the ring and the thread that advances it.
+     */
+    public final class Subscription {
+        private final String name;
+        private final Subscriber subscriber;
+        private final Thread thread;
+        // Sequence of the last event handled; the writer may reuse its slot
+        private volatile long consumed;
+        // Set while the thread is parked waiting for the writer
+        private volatile boolean waiting;
+
+        private Subscription(String name, Subscriber subscriber, long start) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.consumed = start;
+            this.thread = new Thread(this::run, "ccrm-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the sequence of the last event this subscriber has handled.
+         */
+        public long getConsumedSequence() {
+            return consumed;
+        }
+
+        /**
+         * Wait until this subscriber has handled the event with the given sequence,
+         * e.g. one returned by {@link #publish}, so a read of its state sees that write.
+         * @return false if that took longer than the timeout or the bus was closed first
+         */
+        public boolean awaitConsumed(long sequence, long timeout, TimeUnit unit) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            int spins = 0;
+            while (consumed < sequence) {
+                if (!thread.isAlive() || System.nanoTime() - deadline >= 0) {
+                    return consumed >= sequence;
+                }
+                if (++spins < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+            }
+            return true;
+        }
+
+        // Subscriber thread: handle everything published since the last pass, then wait for more
+        private void run() {
+            long next = consumed + 1;
+            while (true) {
+                long available = published;
+                if (available < next) {
+                    if (closed) {
+                        return;
+                    }
+                    waitFor(next);
+                    continue;
+                }
+                for (long sequence = next; sequence <= available; sequence++) {
+                    DomainEvent event = ring[(int) sequence & mask];
+                    try {
+                        event.deliverTo(subscriber);
+                    } catch (RuntimeException e) {
+                        report(event, e);
+                    }
+                }
+                try {
+                    subscriber.onBatchEnd(available);
+                } catch (RuntimeException e) {
+                    report(null, e);
+                }
+                consumed = available;
+                next = available + 1;
+            }
+        }
+
+        // Spin briefly, then park until the writer publishes or the bus closes
+        private void waitFor(long sequence) {
+            for (int i = 0; i < SPINS; i++) {
+                if (published >= sequence || closed) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            waiting = true;
+            // Checked again after raising the flag, so a publish in between is not missed
+            if (published < sequence && !closed) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+
+        // A failing subscriber is reported and skips the event; the others carry on
+        private void report(DomainEvent event, RuntimeException e) {
+            subscriberErrors.increment();
+            System.err.println("Event subscriber " + name + " failed"
+                    + (event != null ? " on " + event : "") + ": " + e);
+        }
+    }
+}
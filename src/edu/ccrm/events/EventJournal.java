@@ -0,0 +1,123 @@
+package src.edu.ccrm.events;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Subscriber that appends every domain event to {@code events.log}, one line each.
+ * Lines are buffered and flushed once per batch, so a burst of writes costs one flush.
+ * Close it after the bus, which lets it write out the last batch first.
+ */
+public final class EventJournal implements DomainEventBus.Subscriber, Closeable {
+    public static final String FILE_NAME = "events.log";
+
+    private final Path file;
+    private final BufferedWriter out;
+    private boolean failed;
+
+    public EventJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(FILE_NAME);
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void onStudentAdded(DomainEvent.StudentAdded event) {
+        write(event);
+    }
+
+    @Override
+    public void onStudentDeactivated(DomainEvent.StudentDeactivated event) {
+        write(event);
+    }
+
+    @Override
+    public void onStudentActivated(DomainEvent.StudentActivated event) {
+        write(event);
+    }
+
+    @Override
+    public void onGpaChanged(DomainEvent.GpaChanged event) {
+        write(event);
+    }
+
+    @Override
+    public void onStudentsCleared(DomainEvent.StudentsCleared event) {
+        write(event);
+    }
+
+    @Override
+    public void onEnrolled(DomainEvent.Enrolled event) {
+        write(event);
+    }
+
+    @Override
+    public void onUnenrolled(DomainEvent.Unenrolled event) {
+        write(event);
+    }
+
+    @Override
+    public void onGradeRecorded(DomainEvent.GradeRecorded event) {
+        write(event);
+    }
+
+    @Override
+    public void onCourseUpdated(DomainEvent.CourseUpdated event) {
+        write(event);
+    }
+
+    @Override
+    public void onInstructorAssigned(DomainEvent.InstructorAssigned event) {
+        write(event);
+    }
+
+    @Override
+    public void onEnrollmentsCleared(DomainEvent.EnrollmentsCleared event) {
+        write(event);
+    }
+
+    @Override
+    public void onBatchEnd(long sequence) {
+        if (!failed) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void write(DomainEvent event) {
+        if (failed) {
+            return;
+        }
+        try {
+            out.write(Instant.ofEpochMilli(event.getTimestamp()) + " " + event);
+            out.newLine();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // One message, then the journal stops rather than failing on every event
+    private void fail(IOException e) {
+        failed = true;
+        System.err.println("Event journal stopped: " + e.getMessage());
+    }
+}
@@ -0,0 +1,37 @@
+package src.edu.ccrm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter. Updates are striped across threads and allocate nothing
+ * once the stripes exist.
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder count;
+
+    Counter(String name) {
+        this.name = name;
+        this.count = new LongAdder();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,214 @@
+package src.edu.ccrm.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-scaled buckets in the style of HdrHistogram.
+ * Every power of two is split into 16 linear sub-buckets, so a recorded value is
+ * reported within 6.25% of its true size. Values from 0 ns to about 9.7 hours fit
+ * in 672 fixed buckets; larger values are clamped.
+ * Recording is lock-free and allocates nothing.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 44;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * Point-in-time copy of a histogram.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() { return count; }
+        public long getSum() { return sum; }
+        public long getMax() { return max; }
+
+        public double getMean() {
+            return count > 0 ? (double) sum / count : 0.0;
+        }
+
+        /**
+         * Get the value below which the given fraction of recordings fall, e.g. 0.99 for p99.
+         * Reported as the upper bound of the bucket, never above the recorded maximum.
+         */
+        public long getPercentile(double fraction) {
+            if (fraction < 0.0 || fraction > 1.0) {
+                throw new IllegalArgumentException("Fraction must be between 0 and 1: " + fraction);
+            }
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Count recordings per bucket, as pairs of bucket upper bound and count, skipping empty buckets.
+         */
+        public long[][] getBuckets() {
+            int used = 0;
+            for (long bucketCount : counts) {
+                if (bucketCount > 0) {
+                    used++;
+                }
+            }
+            long[][] buckets = new long[used][];
+            used = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    buckets[used++] = new long[] {upperBound(i), counts[i]};
+                }
+            }
+            return buckets;
+        }
+    }
+
+    private final String name;
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    LatencyHistogram(String name) {
+        this.name = name;
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record a latency in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Another thread raised the maximum; retry against its value
+        }
+    }
+
+    /**
+     * Record the time elapsed since a {@link System#nanoTime()} reading.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Run an operation and record how long it took, whether it returns or throws.
+     * Services wrap each public operation in this rather than timing it by hand;
+     * any checked exception of the operation passes through. Once the call is inlined
+     * the lambda is not allocated, so on hot paths keep the lambda small, e.g. a call
+     * to the operation's untimed body.
+     */
+    public <T, E extends Exception> T time(Operation<T, E> operation) throws E {
+        long start = System.nanoTime();
+        try {
+            return operation.call();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    /**
+     * Run an action that returns nothing and record how long it took.
+     */
+    public <E extends Exception> void time(Action<E> action) throws E {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    /**
+     * A timed operation that returns a value.
+     */
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * A timed operation that returns nothing.
+     */
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, count.sum(), sum.sum(), max.get());
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    // Values below 16 get a bucket each; above, the exponent picks a row of 16 sub-buckets
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
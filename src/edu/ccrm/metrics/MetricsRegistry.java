@@ -0,0 +1,151 @@
+package src.edu.ccrm.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, gauges and latency histograms.
+ * Metrics are created on first use and live as long as the registry; services record into
+ * the {@link #getDefault() default registry}, so all instances in a process share their metrics.
+ * Lookups happen once, when a service is built, so recording costs no map access.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Counter> counters;
+    private final ConcurrentMap<String, LatencyHistogram> histograms;
+    private final ConcurrentMap<String, LongSupplier> gauges;
+    private volatile long startNanos;
+
+    public MetricsRegistry() {
+        this.counters = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+        this.gauges = new ConcurrentHashMap<>();
+        this.startNanos = System.nanoTime();
+    }
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Register a gauge read on demand, replacing any gauge of the same name.
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public List<Counter> getCounters() {
+        List<Counter> result = new ArrayList<>(counters.values());
+        result.sort(Comparator.comparing(Counter::getName));
+        return result;
+    }
+
+    public List<LatencyHistogram> getHistograms() {
+        List<LatencyHistogram> result = new ArrayList<>(histograms.values());
+        result.sort(Comparator.comparing(LatencyHistogram::getName));
+        return result;
+    }
+
+    /**
+     * Read every gauge, in name order.
+     */
+    public Map<String, Long> getGaugeValues() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Map.Entry<String, LongSupplier> gauge : new TreeMap<>(gauges).entrySet()) {
+            values.put(gauge.getKey(), gauge.getValue().getAsLong());
+        }
+        return values;
+    }
+
+    /**
+     * Seconds since the registry was created or last reset, the window for throughput.
+     */
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * Zero every counter and histogram and restart the throughput window. Gauges are kept.
+     */
+    public void reset() {
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        startNanos = System.nanoTime();
+    }
+
+    // Reports
+    /**
+     * Render every metric as a text table. Latencies are in microseconds.
+     */
+    public String report() {
+        double elapsed = getElapsedSeconds();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Metrics over %.1f s%n", elapsed));
+
+        report.append(String.format("%n%-48s %10s %10s %10s %10s %10s %10s %10s%n", "Operation",
+                "Count", "Ops/s", "Mean(us)", "p50(us)", "p99(us)", "p999(us)", "Max(us)"));
+        int idle = 0;
+        for (LatencyHistogram histogram : getHistograms()) {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() == 0) {
+                idle++;
+                continue;
+            }
+            report.append(String.format("%-48s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    histogram.getName(), snapshot.getCount(), snapshot.getCount() / elapsed,
+                    snapshot.getMean() / 1000.0, snapshot.getPercentile(0.50) / 1000.0,
+                    snapshot.getPercentile(0.99) / 1000.0, snapshot.getPercentile(0.999) / 1000.0,
+                    snapshot.getMax() / 1000.0));
+        }
+        if (idle > 0) {
+            report.append(String.format("(%d operations not called)%n", idle));
+        }
+
+        report.append(String.format("%n%-48s %10s%n", "Counter", "Value"));
+        for (Counter counter : getCounters()) {
+            report.append(String.format("%-48s %10d%n", counter.getName(), counter.get()));
+        }
+
+        report.append(String.format("%n%-48s %10s%n", "Gauge", "Value"));
+        for (Map.Entry<String, Long> gauge : getGaugeValues().entrySet()) {
+            report.append(String.format("%-48s %10d%n", gauge.getKey(), gauge.getValue()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Write the report to a new timestamped file in a directory and return its path.
+     */
+    public Path dump(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+        Path file = directory.resolve("metrics_" + timestamp + ".txt");
+        Files.writeString(file, "Generated: " + LocalDateTime.now() + System.lineSeparator() + report());
+        return file;
+    }
+}
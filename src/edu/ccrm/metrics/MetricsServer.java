@@ -0,0 +1,94 @@
+package src.edu.ccrm.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP endpoint serving a registry at {@code /metrics} for Prometheus to scrape.
+ * Requests are handled one at a time on a single daemon thread, so a scrape never
+ * competes with the services for more than one core. The JDK server's dispatcher thread
+ * is not a daemon, so call {@link #stop()} before exiting.
+ */
+public final class MetricsServer {
+    public static final String PATH = "/metrics";
+
+    static {
+        // Same Nagle workaround as the API server; whichever server starts first fixes it for both
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PrometheusExporter exporter;
+    private int lastSize;
+
+    private MetricsServer(HttpServer server, PrometheusExporter exporter) {
+        this.server = server;
+        this.exporter = exporter;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ccrm-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastSize = 16 * 1024;
+    }
+
+    /**
+     * Bind to an address and start serving. Port 0 picks a free port; see {@link #getAddress()}.
+     */
+    public static MetricsServer start(InetSocketAddress address, MetricsRegistry registry) throws IOException {
+        HttpServer httpServer = HttpServer.create(address, 0);
+        MetricsServer metricsServer = new MetricsServer(httpServer, new PrometheusExporter(registry));
+        httpServer.createContext(PATH, metricsServer::handle);
+        httpServer.setExecutor(metricsServer.executor);
+        httpServer.start();
+        return metricsServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stop accepting scrapes, waiting at most a second for one in progress.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // Only the server thread renders, so the buffer size hint needs no synchronization
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder out = new StringBuilder(lastSize + lastSize / 8);
+            exporter.render(out);
+            lastSize = out.length();
+            byte[] body = out.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", PrometheusExporter.CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package src.edu.ccrm.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a registry and the JVM's heap, GC and thread statistics in the Prometheus
+ * text exposition format (version 0.0.4).
+ * Histograms become summaries with p50, p99 and p999 quantiles in seconds. Every value
+ * is read from atomics or MXBeans, so rendering takes no lock a service holds.
+ */
+public final class PrometheusExporter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String PREFIX = "ccrm_";
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final MetricsRegistry registry;
+    private final MemoryMXBean memory;
+    private final List<GarbageCollectorMXBean> collectors;
+    private final ThreadMXBean threads;
+    private final RuntimeMXBean runtime;
+
+    public PrometheusExporter(MetricsRegistry registry) {
+        this.registry = registry;
+        this.memory = ManagementFactory.getMemoryMXBean();
+        this.collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        this.threads = ManagementFactory.getThreadMXBean();
+        this.runtime = ManagementFactory.getRuntimeMXBean();
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        render(out);
+        return out.toString();
+    }
+
+    public void render(StringBuilder out) {
+        renderHistograms(out);
+        renderCounters(out);
+        renderGauges(out);
+        renderJvm(out);
+    }
+
+    // Service metrics
+    private void renderHistograms(StringBuilder out) {
+        String name = PREFIX + "operation_latency_seconds";
+        List<LatencyHistogram> histograms = registry.getHistograms();
+        LatencyHistogram.Snapshot[] snapshots = new LatencyHistogram.Snapshot[histograms.size()];
+        header(out, name, "summary", "Latency of each service operation");
+        for (int i = 0; i < snapshots.length; i++) {
+            LatencyHistogram.Snapshot snapshot = histograms.get(i).snapshot();
+            snapshots[i] = snapshot;
+            String operation = escape(histograms.get(i).getName());
+            if (snapshot.getCount() > 0) {
+                for (double quantile : QUANTILES) {
+                    out.append(name).append("{operation=\"").append(operation)
+                            .append("\",quantile=\"").append(quantile).append("\"} ");
+                    seconds(out, snapshot.getPercentile(quantile)).append('\n');
+                }
+            }
+            out.append(name).append("_sum{operation=\"").append(operation).append("\"} ");
+            seconds(out, snapshot.getSum()).append('\n');
+            out.append(name).append("_count{operation=\"").append(operation).append("\"} ")
+                    .append(snapshot.getCount()).append('\n');
+        }
+
+        String maxName = PREFIX + "operation_latency_max_seconds";
+        header(out, maxName, "gauge", "Slowest call of each service operation");
+        for (int i = 0; i < snapshots.length; i++) {
+            out.append(maxName).append("{operation=\"").append(escape(histograms.get(i).getName())).append("\"} ");
+            seconds(out, snapshots[i].getMax()).append('\n');
+        }
+    }
+
+    private void renderCounters(StringBuilder out) {
+        for (Counter counter : registry.getCounters()) {
+            String name = PREFIX + sanitize(counter.getName()) + "_total";
+            header(out, name, "counter", counter.getName());
+            out.append(name).append(' ').append(counter.get()).append('\n');
+        }
+    }
+
+    private void renderGauges(StringBuilder out) {
+        for (Map.Entry<String, Long> gauge : registry.getGaugeValues().entrySet()) {
+            String name = PREFIX + sanitize(gauge.getKey());
+            header(out, name, "gauge", gauge.getKey());
+            out.append(name).append(' ').append(gauge.getValue()).append('\n');
+        }
+    }
+
+    // JVM statistics
+    private void renderJvm(StringBuilder out) {
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        header(out, "jvm_memory_bytes_used", "gauge", "Used bytes of a memory area");
+        area(out, "jvm_memory_bytes_used", "heap", heap.getUsed());
+        area(out, "jvm_memory_bytes_used", "nonheap", nonHeap.getUsed());
+        header(out, "jvm_memory_bytes_committed", "gauge", "Committed bytes of a memory area");
+        area(out, "jvm_memory_bytes_committed", "heap", heap.getCommitted());
+        area(out, "jvm_memory_bytes_committed", "nonheap", nonHeap.getCommitted());
+        header(out, "jvm_memory_bytes_max", "gauge", "Maximum bytes of a memory area, -1 if undefined");
+        area(out, "jvm_memory_bytes_max", "heap", heap.getMax());
+        area(out, "jvm_memory_bytes_max", "nonheap", nonHeap.getMax());
+
+        header(out, "jvm_gc_collections_total", "counter", "Collections run by each collector");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.append("jvm_gc_collections_total{gc=\"").append(escape(collector.getName())).append("\"} ")
+                    .append(Math.max(0, collector.getCollectionCount())).append('\n');
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "Time spent in each collector");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.append("jvm_gc_collection_seconds_total{gc=\"").append(escape(collector.getName())).append("\"} ")
+                    .append(Math.max(0, collector.getCollectionTime()) / 1000.0).append('\n');
+        }
+
+        header(out, "jvm_threads_current", "gauge", "Live threads");
+        out.append("jvm_threads_current ").append(threads.getThreadCount()).append('\n');
+        header(out, "jvm_threads_daemon", "gauge", "Live daemon threads");
+        out.append("jvm_threads_daemon ").append(threads.getDaemonThreadCount()).append('\n');
+        header(out, "jvm_threads_peak", "gauge", "Peak live threads");
+        out.append("jvm_threads_peak ").append(threads.getPeakThreadCount()).append('\n');
+
+        header(out, "process_uptime_seconds", "gauge", "Time since the JVM started");
+        out.append("process_uptime_seconds ").append(runtime.getUptime() / 1000.0).append('\n');
+    }
+
+    // Formatting helpers
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n"))
+                .append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void area(StringBuilder out, String name, String area, long value) {
+        out.append(name).append("{area=\"").append(area).append("\"} ").append(value).append('\n');
+    }
+
+    private static StringBuilder seconds(StringBuilder out, long nanos) {
+        return out.append(nanos / 1_000_000_000.0);
+    }
+
+    // Metric names allow [a-zA-Z0-9_:], so "FileService.importedRows" becomes "FileService_importedRows"
+    static String sanitize(String name) {
+        StringBuilder sanitized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                    || (c >= '0' && c <= '9' && i > 0);
+            sanitized.append(valid ? c : '_');
+        }
+        return sanitized.toString();
+    }
+
+    static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
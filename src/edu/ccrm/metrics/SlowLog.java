@@ -0,0 +1,141 @@
+package src.edu.ccrm.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log of slow operations, appended to {@code slow-operations.log} by a background thread.
+ * Callers only queue an entry; formatting and file I/O happen on the writer. When the queue
+ * is full the entry is dropped and counted, so a stalled disk never slows a service call.
+ */
+public final class SlowLog implements Closeable {
+    public static final String FILE_NAME = "slow-operations.log";
+
+    private static final int CAPACITY = 1024;
+
+    private static final class Entry {
+        private final LocalDateTime time;
+        private final String thread;
+        private final String operation;
+        private final long elapsedNanos;
+        private final Span trace;
+
+        private Entry(LocalDateTime time, String thread, String operation, long elapsedNanos, Span trace) {
+            this.time = time;
+            this.thread = thread;
+            this.operation = operation;
+            this.elapsedNanos = elapsedNanos;
+            this.trace = trace;
+        }
+    }
+
+    // Queued by close() so the writer drains what came before and stops
+    private static final Entry END = new Entry(null, null, null, 0, null);
+
+    private final Path file;
+    private final BlockingQueue<Entry> queue;
+    private final Counter droppedEntries;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public SlowLog(Path directory, MetricsRegistry registry) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(FILE_NAME);
+        this.queue = new ArrayBlockingQueue<>(CAPACITY);
+        this.droppedEntries = registry.counter("SlowLog.droppedEntries");
+        this.writer = new Thread(this::run, "ccrm-slow-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Queue an operation for logging without blocking.
+     * @param trace the operation's span tree, or null if it was not sampled
+     */
+    void offer(String operation, long elapsedNanos, Span trace) {
+        if (closed || !queue.offer(new Entry(LocalDateTime.now(), Thread.currentThread().getName(),
+                operation, elapsedNanos, trace))) {
+            droppedEntries.increment();
+        }
+    }
+
+    /**
+     * Write out queued entries and stop the writer, waiting at most a few seconds.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (queue.offer(END, 5, TimeUnit.SECONDS)) {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Writer thread: block for one entry, then write everything queued behind it in one go
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (Entry entry : batch) {
+                    if (entry == END) {
+                        out.flush();
+                        return;
+                    }
+                    write(out, entry);
+                }
+                out.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            System.err.println("Slow log stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Nothing will drain the queue any more
+            closed = true;
+        }
+    }
+
+    private static void write(BufferedWriter out, Entry entry) throws IOException {
+        out.write(String.format("%s [%s] %s took %.3f ms%s%n", entry.time, entry.thread, entry.operation,
+                entry.elapsedNanos / 1_000_000.0, entry.trace == null ? " (not sampled)" : ""));
+        if (entry.trace != null) {
+            for (Span child : entry.trace.getChildren()) {
+                writeSpan(out, child, entry.trace.getStartNanos(), 1);
+            }
+        }
+    }
+
+    // One line per span: offset from the root's start, duration, then the name indented by depth
+    private static void writeSpan(BufferedWriter out, Span span, long rootStart, int depth) throws IOException {
+        out.write(String.format("  +%9.3f ms %9.3f ms %s%s%n", (span.getStartNanos() - rootStart) / 1_000_000.0,
+                span.getDurationNanos() / 1_000_000.0, "  ".repeat(depth - 1), span.getName()));
+        for (Span child : span.getChildren()) {
+            writeSpan(out, child, rootStart, depth + 1);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package src.edu.ccrm.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One timed step of a traced operation, with the steps it called as children.
+ * Spans are created by a {@link Tracer} and must be ended, in a finally block, on the
+ * thread that started them. Outside a sampled trace every span is {@link #NOOP}.
+ */
+public final class Span {
+    /**
+     * Span handed out when nothing is traced; ending it does nothing.
+     */
+    public static final Span NOOP = new Span(null, "noop", null, 0);
+
+    private final Tracer tracer;
+    private final String name;
+    private final Span parent;
+    private final long startNanos;
+    private long durationNanos;
+    private List<Span> children;
+
+    Span(Tracer tracer, String name, Span parent, long startNanos) {
+        this.tracer = tracer;
+        this.name = name;
+        this.parent = parent;
+        this.startNanos = startNanos;
+        this.durationNanos = -1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Get the duration in nanoseconds, or -1 while the span is open.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public List<Span> getChildren() {
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+
+    /**
+     * End the span and make its parent the current span again.
+     * Root spans are ended by {@link Tracer#endTrace} instead.
+     */
+    public void end() {
+        if (tracer == null || parent == null || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        tracer.exit(this, parent);
+    }
+
+    void addChild(Span child) {
+        if (children == null) {
+            children = new ArrayList<>(4);
+        }
+        children.add(child);
+    }
+
+    void finish(long elapsedNanos) {
+        durationNanos = elapsedNanos;
+    }
+
+    boolean isNoop() {
+        return tracer == null;
+    }
+}
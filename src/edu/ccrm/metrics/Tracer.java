@@ -0,0 +1,144 @@
+package src.edu.ccrm.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Span tracing for service operations, with sampling and a slow-operation log.
+ * A traced operation starts a root span with {@link #startTrace}; the service calls it
+ * makes on the same thread open child spans with {@link #startSpan}. Only one in
+ * {@link #setSampleInterval(int) sampleInterval} traces is recorded. Unsampled calls cost
+ * a random draw at the root and a volatile read per child, and allocate nothing.
+ * Any root slower than the threshold is written to the slow log, with its span tree
+ * when it was sampled.
+ */
+public final class Tracer {
+    private static final Tracer DEFAULT = new Tracer(MetricsRegistry.getDefault());
+
+    private final ThreadLocal<Span> current;
+    // Sampled traces in progress on any thread; child spans skip the thread-local while zero
+    private final AtomicInteger activeTraces;
+    private final Counter sampledTraces;
+    private final Counter slowOperations;
+    private volatile int sampleInterval;
+    private volatile long slowThresholdNanos;
+    private volatile SlowLog slowLog;
+
+    public Tracer(MetricsRegistry registry) {
+        this.current = new ThreadLocal<>();
+        this.activeTraces = new AtomicInteger();
+        this.sampledTraces = registry.counter("Tracer.sampledTraces");
+        this.slowOperations = registry.counter("Tracer.slowOperations");
+        this.sampleInterval = 0;
+        this.slowThresholdNanos = Long.MAX_VALUE;
+    }
+
+    public static Tracer getDefault() {
+        return DEFAULT;
+    }
+
+    // Configuration
+    /**
+     * Record one in {@code interval} traces: 0 turns tracing off, 1 traces every call.
+     */
+    public void setSampleInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Sample interval cannot be negative: " + interval);
+        }
+        this.sampleInterval = interval;
+    }
+
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Log operations that take at least this long; {@link Long#MAX_VALUE} logs none.
+     */
+    public void setSlowThresholdNanos(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Slow threshold cannot be negative: " + nanos);
+        }
+        this.slowThresholdNanos = nanos;
+    }
+
+    public long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Set where slow operations are written, or null to only count them.
+     */
+    public void setSlowLog(SlowLog slowLog) {
+        this.slowLog = slowLog;
+    }
+
+    public SlowLog getSlowLog() {
+        return slowLog;
+    }
+
+    // Tracing
+    /**
+     * Start a root span if this call is sampled and no trace is open on the thread.
+     * @param startNanos the caller's {@link System#nanoTime()} reading for the operation
+     * @return the root span, or {@link Span#NOOP}
+     */
+    public Span startTrace(String name, long startNanos) {
+        int interval = sampleInterval;
+        if (interval == 0 || (interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0)) {
+            return Span.NOOP;
+        }
+        if (current.get() != null) {
+            return Span.NOOP;
+        }
+        Span root = new Span(this, name, null, startNanos);
+        current.set(root);
+        activeTraces.incrementAndGet();
+        sampledTraces.increment();
+        return root;
+    }
+
+    /**
+     * End an operation started with {@link #startTrace}, logging it when it was slow.
+     * @param trace the span returned by {@code startTrace}
+     * @param name the operation, used when the trace was not sampled
+     * @param elapsedNanos how long the operation took
+     */
+    public void endTrace(Span trace, String name, long elapsedNanos) {
+        if (!trace.isNoop()) {
+            trace.finish(elapsedNanos);
+            current.remove();
+            activeTraces.decrementAndGet();
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowOperations.increment();
+            SlowLog log = slowLog;
+            if (log != null) {
+                log.offer(name, elapsedNanos, trace.isNoop() ? null : trace);
+            }
+        }
+    }
+
+    /**
+     * Start a child of the thread's current span, or return {@link Span#NOOP} outside a sampled trace.
+     */
+    public Span startSpan(String name) {
+        if (activeTraces.get() == 0) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span child = new Span(this, name, parent, System.nanoTime());
+        parent.addChild(child);
+        current.set(child);
+        return child;
+    }
+
+    void exit(Span span, Span parent) {
+        if (current.get() == span) {
+            current.set(parent);
+        }
+    }
+}
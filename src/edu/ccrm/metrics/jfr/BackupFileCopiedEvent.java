@@ -0,0 +1,32 @@
+package src.edu.ccrm.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One data file copied into a backup directory.
+ */
+@Name("edu.ccrm.BackupFileCopied")
+@Label("Backup File Copied")
+@Category({"CCRM", "Backup"})
+@Description("A data file copied into a backup")
+@StackTrace(false)
+public final class BackupFileCopiedEvent extends Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
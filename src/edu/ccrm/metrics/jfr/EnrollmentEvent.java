@@ -0,0 +1,43 @@
+package src.edu.ccrm.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An enrollment request, whether it was accepted or refused.
+ */
+@Name("edu.ccrm.Enrollment")
+@Label("Enrollment")
+@Category({"CCRM", "Enrollment"})
+@Description("A student enrolling in a course section")
+@StackTrace(false)
+public final class EnrollmentEvent extends Event {
+    public static final String ENROLLED = "ENROLLED";
+    public static final String STUDENT_NOT_FOUND = "STUDENT_NOT_FOUND";
+    public static final String COURSE_NOT_FOUND = "COURSE_NOT_FOUND";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String CREDIT_LIMIT = "CREDIT_LIMIT";
+
+    @Label("Student Id")
+    public String studentId;
+
+    @Label("Course Code")
+    public String courseCode;
+
+    @Label("Semester")
+    public String semester;
+
+    @Label("Course Credits")
+    public int credits;
+
+    @Label("Semester Credits")
+    @Description("Credits the student held in the semester before this request")
+    public int semesterCredits;
+
+    @Label("Outcome")
+    public String outcome;
+}
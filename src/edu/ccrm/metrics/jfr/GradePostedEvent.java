@@ -0,0 +1,37 @@
+package src.edu.ccrm.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A grade recorded for an active enrollment, including the GPA update it triggers.
+ */
+@Name("edu.ccrm.GradePosted")
+@Label("Grade Posted")
+@Category({"CCRM", "Enrollment"})
+@Description("A grade recorded for an enrollment")
+@StackTrace(false)
+public final class GradePostedEvent extends Event {
+    @Label("Student Id")
+    public String studentId;
+
+    @Label("Course Code")
+    public String courseCode;
+
+    @Label("Semester")
+    public String semester;
+
+    @Label("Grade")
+    public String grade;
+
+    @Label("Previous Grade")
+    @Description("Grade replaced by this one, or null for a first grade")
+    public String previousGrade;
+
+    @Label("Grade Points")
+    public double gradePoints;
+}
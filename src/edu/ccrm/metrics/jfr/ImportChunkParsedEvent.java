@@ -0,0 +1,41 @@
+package src.edu.ccrm.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A run of consecutive CSV lines parsed during an import.
+ */
+@Name("edu.ccrm.ImportChunkParsed")
+@Label("Import Chunk Parsed")
+@Category({"CCRM", "Import/Export"})
+@Description("Consecutive lines of an imported CSV file turned into records")
+@StackTrace(false)
+public final class ImportChunkParsedEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Record Type")
+    public String recordType;
+
+    @Label("First Line")
+    @Description("Line number of the first line in the chunk, counting the header as line 1")
+    public int firstLine;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Parse Errors")
+    public int parseErrors;
+
+    @Label("Characters")
+    @Description("Characters in the chunk's lines, counting one per line break")
+    public long characters;
+}
@@ -0,0 +1,38 @@
+package src.edu.ccrm.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A transcript handed out by the transcript service, built or taken from its cache.
+ */
+@Name("edu.ccrm.TranscriptGenerated")
+@Label("Transcript Generated")
+@Category({"CCRM", "Transcripts"})
+@Description("A student transcript, for all semesters or one")
+@StackTrace(false)
+public final class TranscriptGeneratedEvent extends Event {
+    @Label("Student Id")
+    public String studentId;
+
+    @Label("Semester")
+    @Description("Semester covered, or null for a full transcript")
+    public String semester;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Credits")
+    public int credits;
+
+    @Label("GPA")
+    public double gpa;
+
+    @Label("Cached")
+    @Description("Whether the transcript came from the cache")
+    public boolean cached;
+}
@@ -3,30 +3,67 @@ package src.edu.ccrm.model;
 import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.interfaces.Persistable;
 import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 
 public class Course implements Persistable {
+    public static final int DEFAULT_CAPACITY = 60;
+
     private String id;
+    private final int key;
     private CourseCode courseCode;
     private String title;
     private String description;
     private int credits;
+    private int capacity;
     private String department;
     private String instructorId;
     private Semester semester;
     private LocalDateTime createdAt;
     private boolean active;
 
+    // Static nested class for course popularity reports
+    public static class Popularity {
+        private final Course course;
+        private final Semester semester;
+        private final int enrolledCount;
+        private final int capacity;
+
+        public Popularity(Course course, Semester semester, int enrolledCount, int capacity) {
+            this.course = course;
+            this.semester = semester;
+            this.enrolledCount = enrolledCount;
+            this.capacity = capacity;
+        }
+
+        public Course getCourse() { return course; }
+        public Semester getSemester() { return semester; }
+        public int getEnrolledCount() { return enrolledCount; }
+        public int getCapacity() { return capacity; }
+
+        public double getFillRatio() {
+            return capacity > 0 ? (double) enrolledCount / capacity : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Popularity{course=%s, semester=%s, enrolled=%d, capacity=%d}",
+                               course.getCourseCode(), semester, enrolledCount, capacity);
+        }
+    }
+
     // Private constructor for Builder pattern
     private Course(Builder builder) {
         this.id = builder.id;
+        this.key = EntityId.keyOf(builder.id);
         this.courseCode = builder.courseCode;
         this.title = builder.title;
         this.description = builder.description;
         this.credits = builder.credits;
+        this.capacity = builder.capacity;
         this.department = builder.department;
         this.instructorId = builder.instructorId;
         this.semester = builder.semester;
@@ -34,6 +71,22 @@ public class Course implements Persistable {
         this.active = true;
     }
 
+    // Private constructor for detached copies
+    private Course(Course other) {
+        this.id = other.id;
+        this.key = other.key;
+        this.courseCode = other.courseCode;
+        this.title = other.title;
+        this.description = other.description;
+        this.credits = other.credits;
+        this.capacity = other.capacity;
+        this.department = other.department;
+        this.instructorId = other.instructorId;
+        this.semester = other.semester;
+        this.createdAt = other.createdAt;
+        this.active = other.active;
+    }
+
     // Builder class
     public static class Builder {
         private String id;
@@ -41,6 +94,7 @@ public class Course implements Persistable {
         private String title;
         private String description = "";
         private int credits = 3;
+        private int capacity = DEFAULT_CAPACITY;
         private String department;
         private String instructorId;
         private Semester semester = Semester.FALL_2025;
@@ -65,6 +119,14 @@ public class Course implements Persistable {
             return this;
         }
 
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
         public Builder instructorId(String instructorId) {
             this.instructorId = instructorId;
             return this;
@@ -80,11 +142,26 @@ public class Course implements Persistable {
         }
     }
 
+    /**
+     * Get a detached copy with the same fields, including the creation time.
+     * Later changes to either course do not show in the other.
+     */
+    public Course copy() {
+        return new Course(this);
+    }
+
     // Getters
     public String getId() {
         return id;
     }
 
+    /**
+     * Numeric surrogate key behind the display ID, or -1 if the ID is not in display form.
+     */
+    public int getKey() {
+        return key;
+    }
+
     public CourseCode getCourseCode() {
         return courseCode;
     }
@@ -101,6 +178,10 @@ public class Course implements Persistable {
         return credits;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
     public String getDepartment() {
         return department;
     }
@@ -137,6 +218,13 @@ public class Course implements Persistable {
         this.credits = credits;
     }
 
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
     public void setInstructorId(String instructorId) {
         this.instructorId = instructorId;
     }
@@ -151,10 +239,10 @@ public class Course implements Persistable {
 
     @Override
     public String toCSV() {
-        return String.format("%s,%s,%s,%s,%d,%s,%s,%s,%s", 
+        return String.format("%s,%s,%s,%s,%d,%s,%s,%s,%s,%d", 
                            id, courseCode.toString(), title, description, credits, 
                            department, instructorId != null ? instructorId : "", 
-                           semester.toString(), active ? "ACTIVE" : "INACTIVE");
+                           semester.toString(), active ? "ACTIVE" : "INACTIVE", capacity);
     }
 
     public static Course fromCSV(String csvData) {
@@ -168,10 +256,14 @@ public class Course implements Persistable {
                 .description(fields[3])
                 .credits(Integer.parseInt(fields[4]))
                 .instructorId(fields[6].isEmpty() ? null : fields[6])
-                .semester(Semester.valueOf(fields[7].replace(" ", "_")))
+                .semester(Semester.valueOf(fields[7].replace(" ", "_").toUpperCase()))
                 .build();
         
         course.setActive("ACTIVE".equals(fields[8]));
+        // Capacity was added later, so older files may not have it
+        if (fields.length > 9 && !fields[9].isEmpty()) {
+            course.setCapacity(Integer.parseInt(fields[9]));
+        }
         return course;
     }
 
@@ -4,6 +4,7 @@ import src.edu.ccrm.model.enums.Grade;
 import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.interfaces.Persistable;
 import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -17,6 +18,7 @@ public class Enrollment implements Persistable {
 
      private String id;
     private String studentId;
+    private int studentKey;
     private CourseCode courseCode;
     private Semester semester;
     private LocalDateTime enrolledAt;
@@ -24,9 +26,40 @@ public class Enrollment implements Persistable {
     private double percentageScore;
     private boolean active;
 
+    // Static nested class for per-semester enrollment statistics
+    public static class Statistics {
+        private final Semester semester;
+        private final int activeEnrollments;
+        private final int gradedEnrollments;
+        private final int withdrawnEnrollments;
+        private final long totalCredits;
+
+        public Statistics(Semester semester, int activeEnrollments, int gradedEnrollments, 
+                          int withdrawnEnrollments, long totalCredits) {
+            this.semester = semester;
+            this.activeEnrollments = activeEnrollments;
+            this.gradedEnrollments = gradedEnrollments;
+            this.withdrawnEnrollments = withdrawnEnrollments;
+            this.totalCredits = totalCredits;
+        }
+
+        public Semester getSemester() { return semester; }
+        public int getActiveEnrollments() { return activeEnrollments; }
+        public int getGradedEnrollments() { return gradedEnrollments; }
+        public int getWithdrawnEnrollments() { return withdrawnEnrollments; }
+        public long getTotalCredits() { return totalCredits; }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{semester=%s, active=%d, graded=%d, withdrawn=%d, credits=%d}", 
+                               semester, activeEnrollments, gradedEnrollments, withdrawnEnrollments, totalCredits);
+        }
+    }
+
     public Enrollment(String id, String studentId, CourseCode courseCode, Semester semester) {
         this.id = Objects.requireNonNull(id, "ID cannot be null");
         this.studentId = Objects.requireNonNull(studentId, "Student ID cannot be null");
+        this.studentKey = EntityId.keyOf(studentId);
         this.courseCode = Objects.requireNonNull(courseCode, "Course code cannot be null");
         this.semester = Objects.requireNonNull(semester, "Semester cannot be null");
         this.enrolledAt = LocalDateTime.now();
@@ -35,6 +68,18 @@ public class Enrollment implements Persistable {
         this.active = true;
     }
 
+    /**
+     * Recreate an enrollment with its full state, e.g. from a storage engine row.
+     */
+    public Enrollment(String id, String studentId, CourseCode courseCode, Semester semester,
+                      LocalDateTime enrolledAt, Grade grade, double percentageScore, boolean active) {
+        this(id, studentId, courseCode, semester);
+        this.enrolledAt = Objects.requireNonNull(enrolledAt, "Enrollment time cannot be null");
+        this.grade = grade;
+        this.percentageScore = percentageScore;
+        this.active = active;
+    }
+
     // Getters
     public String getId() {
         return id;
@@ -44,6 +89,13 @@ public class Enrollment implements Persistable {
         return studentId;
     }
 
+    /**
+     * Numeric key of the student, or -1 if the student ID is not in display form.
+     */
+    public int getStudentKey() {
+        return studentKey;
+    }
+
     public CourseCode getCourseCode() {
         return courseCode;
     }
@@ -75,7 +127,7 @@ public class Enrollment implements Persistable {
 
     // Business methods
     public void recordGrade(double percentageScore) {
-        if (percentageScore < 0.0 || percentageScore > 100.0) {
+        if (!(percentageScore >= 0.0 && percentageScore <= 100.0)) {
             throw new IllegalArgumentException("Percentage score must be between 0.0 and 100.0");
         }
         this.percentageScore = percentageScore;
@@ -111,12 +163,12 @@ public class Enrollment implements Persistable {
         }
         
         CourseCode courseCode = CourseCode.parse(fields[2]);
-        Semester semester = Semester.valueOf(fields[3].replace(" ", "_"));
+        Semester semester = Semester.valueOf(fields[3].replace(" ", "_").toUpperCase());
         Enrollment enrollment = new Enrollment(fields[0], fields[1], courseCode, semester);
         
         enrollment.percentageScore = Double.parseDouble(fields[5]);
         if (!fields[6].isEmpty()) {
-            enrollment.grade = Grade.valueOf(fields[6]);
+            enrollment.grade = Grade.fromLetter(fields[6]);
         }
         enrollment.setActive("ACTIVE".equals(fields[7]));
         
@@ -1,11 +1,14 @@
 package src.edu.ccrm.model;
 
+import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.interfaces.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Instructor entity extending Person.
@@ -16,13 +19,46 @@ public class Instructor extends Person implements Persistable {
 
     private String department;
     private String title;
-    private List<String> assignedCourses;
+    private Set<String> assignedCourses;
+
+    // Static nested class for per-semester teaching load reports
+    public static class TeachingLoad {
+        private final String instructorId;
+        private final String instructorName;
+        private final Semester semester;
+        private final int courses;
+        private final int credits;
+        private final int enrolledStudents;
+
+        public TeachingLoad(String instructorId, String instructorName, Semester semester, 
+                            int courses, int credits, int enrolledStudents) {
+            this.instructorId = instructorId;
+            this.instructorName = instructorName;
+            this.semester = semester;
+            this.courses = courses;
+            this.credits = credits;
+            this.enrolledStudents = enrolledStudents;
+        }
+
+        public String getInstructorId() { return instructorId; }
+        public String getInstructorName() { return instructorName; }
+        public Semester getSemester() { return semester; }
+        public int getCourses() { return courses; }
+        public int getCredits() { return credits; }
+        public int getEnrolledStudents() { return enrolledStudents; }
+
+        @Override
+        public String toString() {
+            return String.format("TeachingLoad{instructor=%s, semester=%s, courses=%d, credits=%d, students=%d}", 
+                               instructorId, semester, courses, credits, enrolledStudents);
+        }
+    }
 
     public Instructor(String id, String fullName, String email, String department, String title) {
         super(id, fullName, email);
         this.department = Objects.requireNonNull(department, "Department cannot be null");
         this.title = Objects.requireNonNull(title, "Title cannot be null");
-        this.assignedCourses = new ArrayList<>();
+        this.assignedCourses = new LinkedHashSet<>();
     }
 
     // Getters
@@ -38,6 +74,10 @@ public class Instructor extends Person implements Persistable {
         return new ArrayList<>(assignedCourses);
     }
 
+    public int getAssignedCourseCount() {
+        return assignedCourses.size();
+    }
+
     // Setters
     public void setDepartment(String department) {
         this.department = Objects.requireNonNull(department, "Department cannot be null");
@@ -52,9 +92,7 @@ public class Instructor extends Person implements Persistable {
         if (courseCode == null || courseCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Course code cannot be null or empty");
         }
-        if (!assignedCourses.contains(courseCode)) {
-            assignedCourses.add(courseCode);
-        }
+        assignedCourses.add(courseCode);
     }
 
     public void unassignCourse(String courseCode) {
@@ -77,15 +115,11 @@ public class Instructor extends Person implements Persistable {
 
     @Override
     public String toCSV() {
-        StringBuilder courses = new StringBuilder();
-        for (int i = 0; i < assignedCourses.size(); i++) {
-            if (i > 0) courses.append(";");
-            courses.append(assignedCourses.get(i));
-        }
+        String courses = String.join(";", assignedCourses);
         
         return String.format("%s,%s,%s,%s,%s,%s,%s", 
                            id, fullName, email, department, title, 
-                           active ? "ACTIVE" : "INACTIVE", courses.toString());
+                           active ? "ACTIVE" : "INACTIVE", courses);
     }
 
     public static Instructor fromCSV(String csvData) {
@@ -1,5 +1,7 @@
 package src.edu.ccrm.model;
 
+import src.edu.ccrm.model.value.EntityId;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -11,6 +13,7 @@ import java.util.Objects;
 public abstract class Person {
 
     protected String id;
+    protected final int key;
     protected String fullName;
     protected String email;
     protected LocalDateTime createdAt;
@@ -18,6 +21,7 @@ public abstract class Person {
 
     protected Person(String id, String fullName, String email) {
         this.id = Objects.requireNonNull(id, "ID cannot be null");
+        this.key = EntityId.keyOf(id);
         this.fullName = Objects.requireNonNull(fullName, "Full name cannot be null");
         this.email = Objects.requireNonNull(email, "Email cannot be null");
         this.createdAt = LocalDateTime.now();
@@ -29,6 +33,13 @@ public abstract class Person {
         return id;
     }
 
+    /**
+     * Numeric surrogate key behind the display ID, or -1 if the ID is not in display form.
+     */
+    public int getKey() {
+        return key;
+    }
+
     public String getFullName() {
         return fullName;
     }
@@ -58,6 +69,10 @@ public abstract class Person {
         this.active = active;
     }
 
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = Objects.requireNonNull(createdAt, "Creation time cannot be null");
+    }
+
     /**
      * Abstract method to get the person's type.
      * Demonstrates abstract method usage.
@@ -3,11 +3,17 @@ package src.edu.ccrm.model;
 import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.interfaces.Persistable;
 import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.util.primitive.SortedIntSet;
 
 import java.time.LocalDateTime;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Student entity extending Person.
@@ -15,7 +21,9 @@ import java.util.Objects;
  */
 public class Student extends Person implements Persistable {
     private String regNo;
-    private List<CourseCode> enrolledCourses;
+    // Ordinals of the enrolled course codes, see CourseCode.ordinal()
+    private final SortedIntSet enrolledCourses;
+    private final Set<CourseCode> enrolledCourseView;
     private Semester currentSemester;
     private double gpa;
     private int totalCredits;
@@ -46,7 +54,8 @@ public class Student extends Person implements Persistable {
     public Student(String id, String regNo, String fullName, String email) {
         super(id, fullName, email);
         this.regNo = Objects.requireNonNull(regNo, "Registration number cannot be null");
-        this.enrolledCourses = new ArrayList<>();
+        this.enrolledCourses = new SortedIntSet();
+        this.enrolledCourseView = Collections.unmodifiableSet(new EnrolledCourseView());
         this.currentSemester = Semester.FALL_2025;
         this.gpa = 0.0;
         this.totalCredits = 0;
@@ -57,8 +66,18 @@ public class Student extends Person implements Persistable {
         return regNo;
     }
 
+    /**
+     * Get a copy of the enrolled course codes, in course code ordinal order.
+     */
     public List<CourseCode> getEnrolledCourses() {
-        return new ArrayList<>(enrolledCourses);
+        return new ArrayList<>(enrolledCourseView);
+    }
+
+    /**
+     * Get a live read-only view of the enrolled course codes without copying.
+     */
+    public Set<CourseCode> getEnrolledCourseView() {
+        return enrolledCourseView;
     }
 
     public Semester getCurrentSemester() {
@@ -97,21 +116,27 @@ public class Student extends Person implements Persistable {
     }
 
     // Business methods
-    public void enrollInCourse(CourseCode courseCode) {
+    /**
+     * Add a course to the enrolled set.
+     * @return true if the student was not already enrolled in it
+     */
+    public boolean enrollInCourse(CourseCode courseCode) {
         if (courseCode == null) {
             throw new IllegalArgumentException("Course code cannot be null");
         }
-        if (!enrolledCourses.contains(courseCode)) {
-            enrolledCourses.add(courseCode);
-        }
+        return enrolledCourses.add(courseCode.ordinal());
     }
 
-    public void unenrollFromCourse(CourseCode courseCode) {
-        enrolledCourses.remove(courseCode);
+    /**
+     * Remove a course from the enrolled set.
+     * @return true if the student was enrolled in it
+     */
+    public boolean unenrollFromCourse(CourseCode courseCode) {
+        return courseCode != null && enrolledCourses.remove(courseCode.ordinal());
     }
 
     public boolean isEnrolledIn(CourseCode courseCode) {
-        return enrolledCourses.contains(courseCode);
+        return courseCode != null && enrolledCourses.contains(courseCode.ordinal());
     }
 
     @Override
@@ -129,7 +154,7 @@ public class Student extends Person implements Persistable {
         StringBuilder courses = new StringBuilder();
         for (int i = 0; i < enrolledCourses.size(); i++) {
             if (i > 0) courses.append(";");
-            courses.append(enrolledCourses.get(i).toString());
+            courses.append(CourseCode.byOrdinal(enrolledCourses.get(i)).toString());
         }
         
         return String.format("%s,%s,%s,%s,%s,%s,%s", 
@@ -178,6 +203,37 @@ public class Student extends Person implements Persistable {
                            "enrolledCourses=%d, gpa=%.2f, active=%s}", 
                            id, regNo, fullName, email, enrolledCourses.size(), gpa, active);
     }
-}
 
-    
+    // Set of course codes decoded from the ordinal set on access
+    private final class EnrolledCourseView extends AbstractSet<CourseCode> {
+        @Override
+        public int size() {
+            return enrolledCourses.size();
+        }
+
+        @Override
+        public boolean contains(Object obj) {
+            return obj instanceof CourseCode && isEnrolledIn((CourseCode) obj);
+        }
+
+        @Override
+        public Iterator<CourseCode> iterator() {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < enrolledCourses.size();
+                }
+
+                @Override
+                public CourseCode next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return CourseCode.byOrdinal(enrolledCourses.get(index++));
+                }
+            };
+        }
+    }
+}
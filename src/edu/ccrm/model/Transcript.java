@@ -3,28 +3,35 @@ package src.edu.ccrm.model;
 import src.edu.ccrm.model.enums.Grade;
 import src.edu.ccrm.model.enums.Semester;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-
+/**
+ * A student's transcript, complete when constructed and immutable after, so the
+ * transcript service can hand the same cached instance to every caller.
+ * Transcripts assembled one entry at a time go through a {@link Builder},
+ * which keeps the GPA totals running as entries are added.
+ */
 public class Transcript {
-    private String studentId;
-    private String studentName;
-    private List<TranscriptEntry> entries;
-    private double overallGPA;
-    private int totalCredits;
-    private LocalDateTime generatedAt;
-
-    // Inner class for transcript entries
-    public class TranscriptEntry {
-        private String courseCode;
-        private String courseTitle;
-        private int credits;
-        private Grade grade;
-        private Semester semester;
-        private double gradePoints;
+    private final String studentId;
+    private final String studentName;
+    private final List<TranscriptEntry> entries;
+    private final double overallGPA;
+    private final int totalCredits;
+    private final LocalDateTime generatedAt;
+
+    // Static nested class for transcript entries; it holds no reference to the transcript
+    public static class TranscriptEntry {
+        private final String courseCode;
+        private final String courseTitle;
+        private final int credits;
+        private final Grade grade;
+        private final Semester semester;
+        private final double gradePoints;
 
         public TranscriptEntry(String courseCode, String courseTitle, int credits, 
                              Grade grade, Semester semester) {
@@ -46,18 +53,87 @@ public class Transcript {
 
         @Override
         public String toString() {
-            return String.format("%-10s %-30s %3d %4s %s", 
-                               courseCode, courseTitle, credits, 
-                               grade != null ? grade.toString() : "N/A", semester);
+            StringBuilder sb = new StringBuilder(80);
+            try {
+                TranscriptRenderer.appendEntry(this, sb);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return sb.toString();
         }
     }
 
-    public Transcript(String studentId, String studentName) {
-        this.studentId = Objects.requireNonNull(studentId, "Student ID cannot be null");
-        this.studentName = Objects.requireNonNull(studentName, "Student name cannot be null");
-        this.entries = new ArrayList<>();
-        this.overallGPA = 0.0;
-        this.totalCredits = 0;
+    /**
+     * Collects the entries of a transcript, folding each one into running grade-point
+     * and credit totals, so the GPA is known in O(1) at any point and {@link #build()}
+     * does not go over the entries again.
+     */
+    public static class Builder {
+        private final String studentId;
+        private final String studentName;
+        private final ArrayList<TranscriptEntry> entries;
+        private double totalGradePoints;
+        private int totalCredits;
+
+        public Builder(String studentId, String studentName) {
+            this.studentId = Objects.requireNonNull(studentId, "Student ID cannot be null");
+            this.studentName = Objects.requireNonNull(studentName, "Student name cannot be null");
+            this.entries = new ArrayList<>();
+        }
+
+        public Builder addEntry(String courseCode, String courseTitle, int credits,
+                                Grade grade, Semester semester) {
+            return addEntry(new TranscriptEntry(courseCode, courseTitle, credits, grade, semester));
+        }
+
+        public Builder addEntry(TranscriptEntry entry) {
+            entries.add(Objects.requireNonNull(entry, "Transcript entry cannot be null"));
+            if (entry.getGrade() != null && entry.getGrade().countsTowardsGPA()) {
+                totalGradePoints += entry.getGradePoints();
+                totalCredits += entry.getCredits();
+            }
+            return this;
+        }
+
+        public Builder addEntries(TranscriptEntry[] entries) {
+            this.entries.ensureCapacity(this.entries.size() + entries.length);
+            for (TranscriptEntry entry : entries) {
+                addEntry(entry);
+            }
+            return this;
+        }
+
+        public double getOverallGPA() {
+            return totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
+        }
+
+        public int getTotalCredits() {
+            return totalCredits;
+        }
+
+        /**
+         * Create the transcript from the entries added so far. The builder may go on
+         * adding entries; transcripts already built do not change.
+         */
+        public Transcript build() {
+            return new Transcript(this);
+        }
+    }
+
+    /**
+     * Create a transcript from a complete set of entries in one pass.
+     * The array is copied, so later changes to it do not show.
+     */
+    public Transcript(String studentId, String studentName, TranscriptEntry[] entries) {
+        this(new Builder(studentId, studentName).addEntries(entries));
+    }
+
+    private Transcript(Builder builder) {
+        this.studentId = builder.studentId;
+        this.studentName = builder.studentName;
+        this.entries = List.copyOf(builder.entries);
+        this.overallGPA = builder.getOverallGPA();
+        this.totalCredits = builder.totalCredits;
         this.generatedAt = LocalDateTime.now();
     }
 
@@ -74,6 +150,11 @@ public class Transcript {
         return new ArrayList<>(entries);
     }
 
+    // Uncopied, unmodifiable view for the renderer
+    List<TranscriptEntry> entries() {
+        return entries;
+    }
+
     public double getOverallGPA() {
         return overallGPA;
     }
@@ -86,34 +167,6 @@ public class Transcript {
         return generatedAt;
     }
 
-    // Business methods
-    public void addEntry(String courseCode, String courseTitle, int credits, 
-                        Grade grade, Semester semester) {
-        TranscriptEntry entry = new TranscriptEntry(courseCode, courseTitle, credits, grade, semester);
-        entries.add(entry);
-        recalculateGPA();
-    }
-
-    public void addEntry(TranscriptEntry entry) {
-        entries.add(entry);
-        recalculateGPA();
-    }
-
-    private void recalculateGPA() {
-        double totalGradePoints = 0.0;
-        int totalCredits = 0;
-
-        for (TranscriptEntry entry : entries) {
-            if (entry.getGrade() != null && entry.getGrade().countsTowardsGPA()) {
-                totalGradePoints += entry.getGradePoints();
-                totalCredits += entry.getCredits();
-            }
-        }
-
-        this.totalCredits = totalCredits;
-        this.overallGPA = totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
-    }
-
     public List<TranscriptEntry> getEntriesBySemester(Semester semester) {
         return entries.stream()
                 .filter(entry -> entry.getSemester().equals(semester))
@@ -128,22 +181,12 @@ public class Transcript {
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("=".repeat(80)).append("\n");
-        sb.append("TRANSCRIPT FOR: ").append(studentName).append(" (").append(studentId).append(")\n");
-        sb.append("Generated: ").append(generatedAt).append("\n");
-        sb.append("Overall GPA: ").append(String.format("%.2f", overallGPA)).append("\n");
-        sb.append("Total Credits: ").append(totalCredits).append("\n");
-        sb.append("=".repeat(80)).append("\n");
-        sb.append(String.format("%-10s %-30s %3s %4s %s\n", 
-                               "CODE", "TITLE", "CR", "GRADE", "SEMESTER"));
-        sb.append("-".repeat(80)).append("\n");
-        
-        for (TranscriptEntry entry : entries) {
-            sb.append(entry.toString()).append("\n");
+        StringBuilder sb = new StringBuilder(512 + entries.size() * 81);
+        try {
+            TranscriptRenderer.TEXT.render(this, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
-        sb.append("=".repeat(80));
         return sb.toString();
     }
 
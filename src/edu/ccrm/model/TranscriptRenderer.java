@@ -0,0 +1,183 @@
+package src.edu.ccrm.model;
+
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams transcripts to a Writer, OutputStream or any Appendable.
+ * Output is written field by field with precomputed separators instead of
+ * being formatted into temporary strings, so bulk exports run in constant memory.
+ */
+public enum TranscriptRenderer {
+    /**
+     * Human readable report, the same layout as {@link Transcript#toString()}.
+     */
+    TEXT("\n") {
+        @Override
+        public void renderHeader(Appendable out) {
+            // The text layout repeats its header per transcript
+        }
+
+        @Override
+        public void render(Transcript transcript, Appendable out) throws IOException {
+            out.append(DOUBLE_RULE).append('\n');
+            out.append("TRANSCRIPT FOR: ").append(transcript.getStudentName())
+               .append(" (").append(transcript.getStudentId()).append(")\n");
+            out.append("Generated: ").append(transcript.getGeneratedAt().toString()).append('\n');
+            out.append("Overall GPA: ");
+            appendFixed2(out, transcript.getOverallGPA());
+            out.append('\n');
+            out.append("Total Credits: ").append(Integer.toString(transcript.getTotalCredits())).append('\n');
+            out.append(DOUBLE_RULE).append('\n');
+            out.append(TEXT_COLUMNS).append('\n');
+            out.append(SINGLE_RULE).append('\n');
+
+            for (Transcript.TranscriptEntry entry : transcript.entries()) {
+                appendEntry(entry, out);
+                out.append('\n');
+            }
+
+            out.append(DOUBLE_RULE);
+        }
+    },
+
+    /**
+     * One row per transcript entry, suitable for spreadsheets and bulk exports.
+     */
+    CSV("") {
+        @Override
+        public void renderHeader(Appendable out) throws IOException {
+            out.append(CSV_HEADER).append('\n');
+        }
+
+        @Override
+        public void render(Transcript transcript, Appendable out) throws IOException {
+            for (Transcript.TranscriptEntry entry : transcript.entries()) {
+                appendCsvField(out, transcript.getStudentId()).append(',');
+                appendCsvField(out, transcript.getStudentName()).append(',');
+                appendCsvField(out, entry.getCourseCode()).append(',');
+                appendCsvField(out, entry.getCourseTitle()).append(',');
+                out.append(Integer.toString(entry.getCredits())).append(',');
+                out.append(entry.getGrade() != null ? entry.getGrade().getLetter() : "").append(',');
+                out.append(entry.getSemester().name()).append(',');
+                appendFixed2(out, transcript.getOverallGPA());
+                out.append('\n');
+            }
+        }
+    };
+
+    private static final String DOUBLE_RULE = "=".repeat(80);
+    private static final String SINGLE_RULE = "-".repeat(80);
+    private static final String TEXT_COLUMNS = "CODE       TITLE                           CR GRADE SEMESTER";
+    private static final String CSV_HEADER = "studentId,studentName,courseCode,courseTitle,credits,grade,semester,overallGPA";
+    private static final String SPACES = " ".repeat(32);
+
+    private final String terminator;
+
+    TranscriptRenderer(String terminator) {
+        this.terminator = terminator;
+    }
+
+    /**
+     * Write the header that precedes a run of transcripts, if the format has one.
+     */
+    public abstract void renderHeader(Appendable out) throws IOException;
+
+    /**
+     * Write one transcript.
+     */
+    public abstract void render(Transcript transcript, Appendable out) throws IOException;
+
+    /**
+     * Write one transcript to a byte stream as UTF-8. The stream is flushed but not closed.
+     */
+    public void write(Transcript transcript, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        render(transcript, writer);
+        writer.flush();
+    }
+
+    /**
+     * Write a header followed by every transcript, one at a time.
+     */
+    public void renderAll(Iterable<Transcript> transcripts, Appendable out) throws IOException {
+        renderHeader(out);
+        for (Transcript transcript : transcripts) {
+            render(transcript, out);
+            out.append(terminator);
+        }
+    }
+
+    // Same columns as "%-10s %-30s %3d %4s %s"
+    static void appendEntry(Transcript.TranscriptEntry entry, Appendable out) throws IOException {
+        padRight(out, entry.getCourseCode(), 10);
+        out.append(' ');
+        padRight(out, entry.getCourseTitle(), 30);
+        out.append(' ');
+        padLeft(out, Integer.toString(entry.getCredits()), 3);
+        out.append(' ');
+        Grade grade = entry.getGrade();
+        padLeft(out, grade != null ? grade.getLetter() : "N/A", 4);
+        out.append(' ');
+        Semester semester = entry.getSemester();
+        out.append(semester.getSeason()).append(' ').append(Integer.toString(semester.getYear()));
+    }
+
+    private static void padRight(Appendable out, String value, int width) throws IOException {
+        out.append(value);
+        appendSpaces(out, width - value.length());
+    }
+
+    private static void padLeft(Appendable out, String value, int width) throws IOException {
+        appendSpaces(out, width - value.length());
+        out.append(value);
+    }
+
+    private static void appendSpaces(Appendable out, int count) throws IOException {
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length());
+            out.append(SPACES, 0, chunk);
+            count -= chunk;
+        }
+    }
+
+    // Same result as String.format("%.2f", value) for non-negative values, which rounds the
+    // shortest decimal form of the value half-up. Rounding the binary product value * 100 agrees
+    // except near a tie (1.005 is 1.00499... in binary), so ties go through BigDecimal.
+    private static void appendFixed2(Appendable out, double value) throws IOException {
+        double scaled = value * 100;
+        long hundredths = Math.abs(scaled - Math.floor(scaled) - 0.5) > 1e-6
+                ? Math.round(scaled)
+                : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        long fraction = hundredths % 100;
+        out.append(Long.toString(hundredths / 100)).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(Long.toString(fraction));
+    }
+
+    private static Appendable appendCsvField(Appendable out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return out.append(value);
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+}
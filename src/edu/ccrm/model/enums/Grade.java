@@ -61,6 +61,19 @@ public enum Grade {
         return F;
     }
 
+    /**
+     * Get a grade from its letter, e.g. "B+", or its constant name, e.g. "B_PLUS".
+     */
+    public static Grade fromLetter(String letter) {
+        String trimmed = letter.trim();
+        for (Grade grade : values()) {
+            if (grade.letter.equalsIgnoreCase(trimmed) || grade.name().equalsIgnoreCase(trimmed)) {
+                return grade;
+            }
+        }
+        throw new IllegalArgumentException("Unknown grade: " + letter);
+    }
+
     @Override
     public String toString() {
         return letter;
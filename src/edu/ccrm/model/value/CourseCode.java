@@ -1,26 +1,91 @@
 package src.edu.ccrm.model.value;
 
-import java.util.Objects;
+import src.edu.ccrm.model.enums.Semester;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Immutable value class representing a course code.
- * Demonstrates immutable value objects and proper equals/hashCode implementation.
+ * Instances are interned, so equal codes are the same object: equality is an
+ * identity check in the common case and the hash code is computed once.
+ * Every code also gets a dense ordinal that can index arrays.
  */
 
 public final class CourseCode {
 
+    private static final int SEMESTER_COUNT = Semester.values().length;
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    // Canonical instances by department and number, and by parsed text
+    private static final ConcurrentMap<String, CourseCode> INTERNED = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CourseCode> PARSED = new ConcurrentHashMap<>();
+    private static volatile CourseCode[] ordinalTable = new CourseCode[64];
+    private static int internedCount;
+
      private final String department;
     private final String number;
+    private final String text;
+    private final int hash;
+    private final int ordinal;
+
+    private CourseCode(String department, String number, int ordinal) {
+        this.department = department;
+        this.number = number;
+        this.text = department + number;
+        this.hash = 31 * department.hashCode() + number.hashCode();
+        this.ordinal = ordinal;
+    }
 
-    public CourseCode(String department, String number) {
+    /**
+     * Get the canonical course code for a department and number.
+     */
+    public static CourseCode of(String department, String number) {
         if (department == null || department.trim().isEmpty()) {
             throw new IllegalArgumentException("Department cannot be null or empty");
         }
         if (number == null || number.trim().isEmpty()) {
             throw new IllegalArgumentException("Number cannot be null or empty");
         }
-        this.department = department.trim().toUpperCase();
-        this.number = number.trim();
+        String canonicalDepartment = department.trim().toUpperCase();
+        String canonicalNumber = number.trim();
+        CourseCode existing = INTERNED.get(internKey(canonicalDepartment, canonicalNumber));
+        return existing != null ? existing : intern(canonicalDepartment, canonicalNumber);
+    }
+
+    private static synchronized CourseCode intern(String department, String number) {
+        String key = internKey(department, number);
+        CourseCode existing = INTERNED.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        CourseCode code = new CourseCode(department, number, internedCount);
+        CourseCode[] table = ordinalTable;
+        if (internedCount == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        table[internedCount++] = code;
+        ordinalTable = table;
+        INTERNED.put(key, code);
+        return code;
+    }
+
+    private static String internKey(String department, String number) {
+        return department + '\u0000' + number;
+    }
+
+    /**
+     * Get the course code with the given ordinal.
+     */
+    public static CourseCode byOrdinal(int ordinal) {
+        CourseCode[] table = ordinalTable;
+        CourseCode code = ordinal >= 0 && ordinal < table.length ? table[ordinal] : null;
+        if (code == null) {
+            throw new IllegalArgumentException("Unknown course code ordinal: " + ordinal);
+        }
+        return code;
     }
 
     public String getDepartment() {
@@ -31,28 +96,61 @@ public final class CourseCode {
         return number;
     }
 
+    /**
+     * Dense index of this code in interning order, starting at 0.
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * Key identifying this course in a given semester, dense enough to index arrays.
+     */
+    public int sectionKey(Semester semester) {
+        return ordinal * SEMESTER_COUNT + semester.ordinal();
+    }
+
+    public static CourseCode sectionCourse(int sectionKey) {
+        return byOrdinal(sectionKey / SEMESTER_COUNT);
+    }
+
+    public static Semester sectionSemester(int sectionKey) {
+        return SEMESTERS[sectionKey % SEMESTER_COUNT];
+    }
+
     /**
      * Parse a course code from string format (e.g., "CSE101").
+     * Already canonical input such as CSV fields is resolved without allocating.
      */
     public static CourseCode parse(String courseCode) {
         if (courseCode == null || courseCode.trim().isEmpty()) {
             throw new IllegalArgumentException("Course code cannot be null or empty");
         }
-        
+
+        CourseCode parsed = PARSED.get(courseCode);
+        if (parsed != null) {
+            return parsed;
+        }
+
         String trimmed = courseCode.trim().toUpperCase();
         int i = 0;
         while (i < trimmed.length() && Character.isLetter(trimmed.charAt(i))) {
             i++;
         }
-        
+
         if (i == 0 || i >= trimmed.length()) {
             throw new IllegalArgumentException("Invalid course code format: " + courseCode);
         }
-        
+
         String department = trimmed.substring(0, i);
         String number = trimmed.substring(i);
-        
-        return new CourseCode(department, number);
+
+        CourseCode code = of(department, number);
+        // Remember the canonical spelling only, so odd inputs cannot grow the table
+        if (code.text.equals(courseCode)) {
+            PARSED.putIfAbsent(code.text, code);
+        }
+        return code;
     }
 
     @Override
@@ -60,17 +158,16 @@ public final class CourseCode {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         CourseCode that = (CourseCode) obj;
-        return Objects.equals(department, that.department) && 
-               Objects.equals(number, that.number);
+        return hash == that.hash && department.equals(that.department) && number.equals(that.number);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(department, number);
+        return hash;
     }
 
     @Override
     public String toString() {
-        return department + number;
+        return text;
     }
 }
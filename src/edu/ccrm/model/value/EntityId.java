@@ -0,0 +1,84 @@
+package src.edu.ccrm.model.value;
+
+/**
+ * Conversion between numeric surrogate keys and display IDs such as "STU0001".
+ * Services key their data by the number and only produce the text for display and CSV.
+ * Keys start at 1 and are zero padded to four digits; longer keys simply widen.
+ */
+public final class EntityId {
+    public static final String STUDENT = "STU";
+    public static final String COURSE = "CRS";
+    public static final String INSTRUCTOR = "INS";
+    public static final String ENROLLMENT = "ENR";
+
+    private static final int MIN_DIGITS = 4;
+
+    private EntityId() {
+        // Utility class
+    }
+
+    /**
+     * Format a key as a display ID, e.g. format("STU", 7) is "STU0007".
+     */
+    public static String format(String prefix, int key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+        int digits = 1;
+        for (int remaining = key / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        int width = Math.max(digits, MIN_DIGITS);
+        char[] text = new char[prefix.length() + width];
+        prefix.getChars(0, prefix.length(), text, 0);
+        int position = text.length;
+        for (int remaining = key; position > prefix.length(); remaining /= 10) {
+            text[--position] = (char) ('0' + remaining % 10);
+        }
+        return new String(text);
+    }
+
+    /**
+     * Parse the key of a display ID with the given prefix.
+     * @return the key, or -1 if the ID is not of that form
+     */
+    public static int parse(String prefix, String id) {
+        if (id == null || !id.startsWith(prefix)) {
+            return -1;
+        }
+        return parseDigits(id, prefix.length());
+    }
+
+    /**
+     * Parse the key of a display ID with any alphabetic prefix.
+     * @return the key, or -1 if the ID is not of that form
+     */
+    public static int keyOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int start = 0;
+        while (start < id.length() && Character.isLetter(id.charAt(start))) {
+            start++;
+        }
+        return parseDigits(id, start);
+    }
+
+    private static int parseDigits(String id, int start) {
+        // Only the canonical spelling is accepted, so each key has exactly one ID
+        int length = id.length();
+        int width = length - start;
+        if (width < MIN_DIGITS || width > 9 || (width > MIN_DIGITS && id.charAt(start) == '0')) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = start; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key > 0 ? key : -1;
+    }
+}
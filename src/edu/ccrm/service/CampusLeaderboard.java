@@ -0,0 +1,50 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.events.DomainEvent;
+import src.edu.ccrm.events.DomainEventBus;
+import src.edu.ccrm.model.Student;
+
+import java.util.List;
+
+/**
+ * GPA leaderboard of all active students, built from the student events on the bus's
+ * thread so a GPA change costs the writer a publish instead of an O(log n) re-rank.
+ * Students are ranked by the GPA carried in their latest event. Events and queries
+ * take the same lock.
+ */
+final class CampusLeaderboard implements DomainEventBus.Subscriber {
+    private final GpaLeaderboard leaderboard;
+
+    CampusLeaderboard() {
+        this.leaderboard = new GpaLeaderboard();
+    }
+
+    @Override
+    public synchronized void onStudentAdded(DomainEvent.StudentAdded event) {
+        leaderboard.add(event.getStudent(), event.getGpa());
+    }
+
+    @Override
+    public synchronized void onStudentDeactivated(DomainEvent.StudentDeactivated event) {
+        leaderboard.remove(event.getStudent());
+    }
+
+    @Override
+    public synchronized void onStudentActivated(DomainEvent.StudentActivated event) {
+        leaderboard.add(event.getStudent(), event.getGpa());
+    }
+
+    @Override
+    public synchronized void onGpaChanged(DomainEvent.GpaChanged event) {
+        leaderboard.update(event.getStudent(), event.getGpa());
+    }
+
+    @Override
+    public synchronized void onStudentsCleared(DomainEvent.StudentsCleared event) {
+        leaderboard.clear();
+    }
+
+    synchronized List<Student> top(int limit) {
+        return leaderboard.top(limit);
+    }
+}
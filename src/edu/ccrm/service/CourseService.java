@@ -1,14 +1,28 @@
 package src.edu.ccrm.service;
 
+import src.edu.ccrm.events.DomainEvent;
+import src.edu.ccrm.events.DomainEventBus;
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.metrics.Span;
+import src.edu.ccrm.metrics.Tracer;
 import src.edu.ccrm.model.Course;
 import src.edu.ccrm.model.Instructor;
 import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.interfaces.Searchable;
 import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
+import src.edu.ccrm.util.persistent.PersistentVector;
+import src.edu.ccrm.util.primitive.SortedIntSet;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -18,153 +32,374 @@ import java.util.stream.Collectors;
  */
 
 public class CourseService implements Searchable<Course>  {
+    // Spans for enrollment traces; a no-op outside a sampled trace
+    private static final Tracer TRACER = Tracer.getDefault();
+    private static final LatencyHistogram ADD_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.addCourse");
+    private static final LatencyHistogram GET_COURSE_BY_ID_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getCourseById");
+    private static final LatencyHistogram GET_COURSE_BY_KEY_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getCourseByKey");
+    private static final LatencyHistogram GET_COURSE_BY_CODE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getCourseByCode");
+    private static final LatencyHistogram GET_ALL_COURSES_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getAllCourses");
+    private static final LatencyHistogram GET_ACTIVE_COURSES_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getActiveCourses");
+    private static final LatencyHistogram UPDATE_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.updateCourse");
+    private static final LatencyHistogram ASSIGN_INSTRUCTOR_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.assignInstructor");
+    private static final LatencyHistogram DEACTIVATE_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.deactivateCourse");
+    private static final LatencyHistogram ACTIVATE_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.activateCourse");
+    private static final LatencyHistogram SEARCH_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.search");
+    private static final LatencyHistogram SEARCH_BY_INSTRUCTOR_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.searchByInstructor");
+    private static final LatencyHistogram SEARCH_BY_DEPARTMENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.searchByDepartment");
+    private static final LatencyHistogram SEARCH_BY_SEMESTER_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.searchBySemester");
+    private static final LatencyHistogram SEARCH_BY_TITLE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.searchByTitle");
+    private static final LatencyHistogram GET_COURSES_SORTED_BY_CODE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getCoursesSortedByCode");
+    private static final LatencyHistogram GET_COURSES_SORTED_BY_TITLE_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getCoursesSortedByTitle");
+    private static final LatencyHistogram GET_COURSES_SORTED_BY_CREDITS_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getCoursesSortedByCredits");
+    private static final LatencyHistogram SEARCH_BY_MULTIPLE_CRITERIA_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.searchByMultipleCriteria");
+    private static final LatencyHistogram GET_ACTIVE_COURSE_COUNT_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getActiveCourseCount");
+    private static final LatencyHistogram GET_AVERAGE_CREDITS_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.getAverageCredits");
+    private static final LatencyHistogram CLEAR_ALL_COURSES_LATENCY =
+            MetricsRegistry.getDefault().histogram("CourseService.clearAllCourses");
 
+    /**
+     * Callback for services that keep state derived from course details.
+     * Listeners run on the writer's thread before the write returns, so the state they keep
+     * is current for the next read; use them where that matters, as the instructor side of
+     * assignments does. Views that may trail the writes belong on the {@link DomainEventBus}.
+     */
+    public interface UpdateListener {
+        void onCourseUpdated(Course course, String previousTitle, int previousCredits);
+
+        /**
+         * Fired when a course gets an instructor, including at creation.
+         * @param previousInstructorId the instructor replaced, or null
+         */
+        default void onInstructorAssigned(Course course, String previousInstructorId) {
+        }
+
+        default void onCoursesCleared() {
+        }
+    }
+
+    // Indexed by key - 1: keys are minted densely and courses are never removed
     private final List<Course> courses;
+    private final List<UpdateListener> updateListeners;
+    // First course added for each code, indexed by CourseCode.ordinal()
+    private Course[] coursesByCode;
+    // Keys of the courses taught by each instructor, in ascending key order
+    private final Map<String, SortedIntSet> coursesByInstructor;
+    // Detached copies of every course in key order, republished after each change for lock-free reports
+    private volatile PersistentVector<Course> snapshot;
+    private final DomainEventBus events;
     private int nextId;
 
-    public CourseService() {
+    /**
+     * @param events the bus course updates and instructor assignments are published on;
+     *               the caller owns it and closes it
+     */
+    public CourseService(DomainEventBus events) {
+        this.events = events;
         this.courses = new ArrayList<>();
+        this.updateListeners = new ArrayList<>();
+        this.coursesByCode = new Course[64];
+        this.coursesByInstructor = new HashMap<>();
+        this.snapshot = PersistentVector.empty();
         this.nextId = 1;
     }
 
+    public void addUpdateListener(UpdateListener listener) {
+        updateListeners.add(listener);
+    }
+
     // CRUD operations
     public Course addCourse(CourseCode courseCode, String title, String department, 
                            String description, int credits, String instructorId, Semester semester) {
-        String id = "CRS" + String.format("%04d", nextId++);
-        Course course = new Course.Builder(id, courseCode, title, department)
-                .description(description)
-                .credits(credits)
-                .instructorId(instructorId)
-                .semester(semester)
-                .build();
-        courses.add(course);
-        return course;
+        return addCourse(courseCode, title, department, description, credits, instructorId, 
+                semester, Course.DEFAULT_CAPACITY);
+    }
+
+    public Course addCourse(CourseCode courseCode, String title, String department, 
+                           String description, int credits, String instructorId, Semester semester,
+                           int capacity) {
+        return ADD_COURSE_LATENCY.time(() -> {
+            String id = EntityId.format(EntityId.COURSE, nextId++);
+            Course course = new Course.Builder(id, courseCode, title, department)
+                    .description(description)
+                    .credits(credits)
+                    .capacity(capacity)
+                    .instructorId(instructorId)
+                    .semester(semester)
+                    .build();
+            courses.add(course);
+            snapshot = snapshot.append(course.copy());
+            int ordinal = courseCode.ordinal();
+            if (ordinal >= coursesByCode.length) {
+                coursesByCode = Arrays.copyOf(coursesByCode, Math.max(ordinal + 1, coursesByCode.length * 2));
+            }
+            if (coursesByCode[ordinal] == null) {
+                coursesByCode[ordinal] = course;
+            }
+            if (instructorId != null) {
+                indexInstructor(course, instructorId);
+                fireInstructorAssigned(course, null);
+            }
+            return course;
+        });
     }
 
     public Course getCourseById(String id) {
-        return courses.stream()
-                .filter(c -> c.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return GET_COURSE_BY_ID_LATENCY.time(() -> courseById(id));
+    }
+
+    /**
+     * Get a course by numeric key in O(1).
+     */
+    public Course getCourseByKey(int key) {
+        return GET_COURSE_BY_KEY_LATENCY.time(() -> courseAt(key));
+    }
+
+    // Untimed lookups for use inside the service, so a timed call is recorded once
+    private Course courseAt(int key) {
+        return key > 0 && key <= courses.size() ? courses.get(key - 1) : null;
+    }
+
+    private Course courseById(String id) {
+        return courseAt(EntityId.parse(EntityId.COURSE, id));
     }
 
+    /**
+     * Get the first course added with the given code, in O(1).
+     */
     public Course getCourseByCode(CourseCode courseCode) {
-        return courses.stream()
-                .filter(c -> c.getCourseCode().equals(courseCode))
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        Span span = TRACER.startSpan("CourseService.getCourseByCode");
+        try {
+            if (courseCode == null) {
+                return null;
+            }
+            int ordinal = courseCode.ordinal();
+            return ordinal < coursesByCode.length ? coursesByCode[ordinal] : null;
+        } finally {
+            span.end();
+            GET_COURSE_BY_CODE_LATENCY.recordSince(start);
+        }
     }
 
     public List<Course> getAllCourses() {
-        return new ArrayList<>(courses);
+        return GET_ALL_COURSES_LATENCY.time(() -> new ArrayList<>(courses));
     }
 
     public List<Course> getActiveCourses() {
-        return courses.stream()
+        return GET_ACTIVE_COURSES_LATENCY.time(() -> courses.stream()
                 .filter(Course::isActive)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public boolean updateCourse(String id, String title, String description, int credits) {
-        Course course = getCourseById(id);
-        if (course != null) {
-            course.setTitle(title);
-            course.setDescription(description);
-            course.setCredits(credits);
-            return true;
-        }
-        return false;
+        return UPDATE_COURSE_LATENCY.time(() -> {
+            Course course = courseById(id);
+            if (course != null) {
+                String previousTitle = course.getTitle();
+                int previousCredits = course.getCredits();
+                course.setTitle(title);
+                course.setDescription(description);
+                course.setCredits(credits);
+                publish(course);
+                for (UpdateListener listener : updateListeners) {
+                    listener.onCourseUpdated(course, previousTitle, previousCredits);
+                }
+                events.publish(new DomainEvent.CourseUpdated(course.getId(), course.getCourseCode(),
+                        title, credits, previousTitle, previousCredits));
+                return true;
+            }
+            return false;
+        });
     }
 
+    /**
+     * Assign an instructor to a course, keeping the instructor index and listeners in step.
+     * Assignments should go through here rather than {@link Course#setInstructorId}.
+     */
     public boolean assignInstructor(String courseId, String instructorId) {
-        Course course = getCourseById(courseId);
-        if (course != null) {
-            course.setInstructorId(instructorId);
-            return true;
+        return ASSIGN_INSTRUCTOR_LATENCY.time(() -> {
+            Course course = courseById(courseId);
+            if (course != null) {
+                String previousInstructorId = course.getInstructorId();
+                if (Objects.equals(previousInstructorId, instructorId)) {
+                    return true;
+                }
+                if (previousInstructorId != null) {
+                    SortedIntSet taught = coursesByInstructor.get(previousInstructorId);
+                    taught.remove(course.getKey());
+                    if (taught.isEmpty()) {
+                        coursesByInstructor.remove(previousInstructorId);
+                    }
+                }
+                course.setInstructorId(instructorId);
+                publish(course);
+                if (instructorId != null) {
+                    indexInstructor(course, instructorId);
+                }
+                fireInstructorAssigned(course, previousInstructorId);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void indexInstructor(Course course, String instructorId) {
+        coursesByInstructor.computeIfAbsent(instructorId, id -> new SortedIntSet()).add(course.getKey());
+    }
+
+    private void fireInstructorAssigned(Course course, String previousInstructorId) {
+        for (UpdateListener listener : updateListeners) {
+            listener.onInstructorAssigned(course, previousInstructorId);
         }
-        return false;
+        events.publish(new DomainEvent.InstructorAssigned(course.getId(), course.getCourseCode(),
+                course.getInstructorId(), previousInstructorId));
+    }
+
+    /**
+     * Get the latest published copies of all courses, indexed by key - 1.
+     * The vector is immutable, so it can be read without locking while courses change.
+     */
+    public PersistentVector<Course> getSnapshot() {
+        return snapshot;
+    }
+
+    private void publish(Course course) {
+        snapshot = snapshot.set(course.getKey() - 1, course.copy());
     }
 
     public boolean deactivateCourse(String id) {
-        Course course = getCourseById(id);
-        if (course != null) {
-            course.setActive(false);
-            return true;
-        }
-        return false;
+        return DEACTIVATE_COURSE_LATENCY.time(() -> {
+            Course course = courseById(id);
+            if (course != null) {
+                course.setActive(false);
+                publish(course);
+                return true;
+            }
+            return false;
+        });
     }
 
     public boolean activateCourse(String id) {
-        Course course = getCourseById(id);
-        if (course != null) {
-            course.setActive(true);
-            return true;
-        }
-        return false;
+        return ACTIVATE_COURSE_LATENCY.time(() -> {
+            Course course = courseById(id);
+            if (course != null) {
+                course.setActive(true);
+                publish(course);
+                return true;
+            }
+            return false;
+        });
     }
 
     // Search operations
     @Override
     public Course[] search(Predicate<Course> predicate) {
-        return courses.stream()
+        return SEARCH_LATENCY.time(() -> courses.stream()
                 .filter(predicate)
-                .toArray(Course[]::new);
+                .toArray(Course[]::new));
     }
 
+    /**
+     * Get the courses of an instructor from the instructor index, in the order they were added.
+     */
     public List<Course> searchByInstructor(String instructorId) {
-        return courses.stream()
-                .filter(c -> instructorId.equals(c.getInstructorId()))
-                .collect(Collectors.toList());
+        return SEARCH_BY_INSTRUCTOR_LATENCY.time(() -> coursesOf(instructorId));
+    }
+
+    private List<Course> coursesOf(String instructorId) {
+        SortedIntSet taught = coursesByInstructor.get(instructorId);
+        List<Course> result = new ArrayList<>(taught != null ? taught.size() : 0);
+        if (taught != null) {
+            taught.forEach(key -> result.add(courseAt(key)));
+        }
+        return result;
+    }
+
+    /**
+     * Get the IDs of all instructors that teach at least one course.
+     */
+    public Set<String> getInstructorIds() {
+        return new HashSet<>(coursesByInstructor.keySet());
     }
 
     public List<Course> searchByDepartment(String department) {
-        return courses.stream()
+        return SEARCH_BY_DEPARTMENT_LATENCY.time(() -> courses.stream()
                 .filter(c -> c.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public List<Course> searchBySemester(Semester semester) {
-        return courses.stream()
+        return SEARCH_BY_SEMESTER_LATENCY.time(() -> courses.stream()
                 .filter(c -> c.getSemester().equals(semester))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public List<Course> searchByTitle(String title) {
-        return courses.stream()
+        return SEARCH_BY_TITLE_LATENCY.time(() -> courses.stream()
                 .filter(c -> c.getTitle().toLowerCase().contains(title.toLowerCase()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     // Sorting operations using Arrays utilities
     public Course[] getCoursesSortedByCode() {
-        Course[] courseArray = courses.toArray(new Course[0]);
-        Arrays.sort(courseArray, (c1, c2) -> 
-            c1.getCourseCode().toString().compareTo(c2.getCourseCode().toString()));
-        return courseArray;
+        return GET_COURSES_SORTED_BY_CODE_LATENCY.time(() -> {
+            Course[] courseArray = courses.toArray(new Course[0]);
+            Arrays.sort(courseArray, (c1, c2) -> 
+                c1.getCourseCode().toString().compareTo(c2.getCourseCode().toString()));
+            return courseArray;
+        });
     }
 
     public Course[] getCoursesSortedByTitle() {
-        Course[] courseArray = courses.toArray(new Course[0]);
-        Arrays.sort(courseArray, (c1, c2) -> 
-            c1.getTitle().compareTo(c2.getTitle()));
-        return courseArray;
+        return GET_COURSES_SORTED_BY_TITLE_LATENCY.time(() -> {
+            Course[] courseArray = courses.toArray(new Course[0]);
+            Arrays.sort(courseArray, (c1, c2) -> 
+                c1.getTitle().compareTo(c2.getTitle()));
+            return courseArray;
+        });
     }
 
     public Course[] getCoursesSortedByCredits() {
-        Course[] courseArray = courses.toArray(new Course[0]);
-        Arrays.sort(courseArray, (c1, c2) -> Integer.compare(c1.getCredits(), c2.getCredits()));
-        return courseArray;
+        return GET_COURSES_SORTED_BY_CREDITS_LATENCY.time(() -> {
+            Course[] courseArray = courses.toArray(new Course[0]);
+            Arrays.sort(courseArray, (c1, c2) -> Integer.compare(c1.getCredits(), c2.getCredits()));
+            return courseArray;
+        });
     }
 
     // Advanced search with multiple criteria
     public List<Course> searchByMultipleCriteria(String instructorId, String department, 
                                                 Semester semester, int minCredits) {
-        return courses.stream()
-                .filter(c -> instructorId == null || instructorId.equals(c.getInstructorId()))
-                .filter(c -> department == null || c.getDepartment().equalsIgnoreCase(department))
-                .filter(c -> semester == null || c.getSemester().equals(semester))
-                .filter(c -> c.getCredits() >= minCredits)
-                .collect(Collectors.toList());
+        return SEARCH_BY_MULTIPLE_CRITERIA_LATENCY.time(() -> {
+            List<Course> candidates = instructorId != null ? coursesOf(instructorId) : courses;
+            return candidates.stream()
+                    .filter(c -> department == null || c.getDepartment().equalsIgnoreCase(department))
+                    .filter(c -> semester == null || c.getSemester().equals(semester))
+                    .filter(c -> c.getCredits() >= minCredits)
+                    .collect(Collectors.toList());
+        });
     }
 
     // Statistics
@@ -173,20 +408,28 @@ public class CourseService implements Searchable<Course>  {
     }
 
     public int getActiveCourseCount() {
-        return (int) courses.stream().filter(Course::isActive).count();
+        return GET_ACTIVE_COURSE_COUNT_LATENCY.time(() -> (int) courses.stream().filter(Course::isActive).count());
     }
 
     public double getAverageCredits() {
-        return courses.stream()
+        return GET_AVERAGE_CREDITS_LATENCY.time(() -> courses.stream()
                 .mapToInt(Course::getCredits)
                 .average()
-                .orElse(0.0);
+                .orElse(0.0));
     }
 
     // Data management
     public void clearAllCourses() {
-        courses.clear();
-        nextId = 1;
+        CLEAR_ALL_COURSES_LATENCY.time(() -> {
+            courses.clear();
+            coursesByCode = new Course[64];
+            coursesByInstructor.clear();
+            snapshot = PersistentVector.empty();
+            nextId = 1;
+            for (UpdateListener listener : updateListeners) {
+                listener.onCoursesCleared();
+            }
+        });
     }
    
 }
@@ -0,0 +1,522 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
+import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.Instructor;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic campus for load and scale testing.
+ * The same options always produce the same data. Records are streamed to a {@link Sink}
+ * as they are made and only the course catalog, which has a size cap, is kept in memory,
+ * so the number of students and enrollments is bounded by disk space rather than heap.
+ */
+public class DatasetGenerator {
+
+    /**
+     * Receives generated records in dependency order: every course, then every instructor,
+     * then each student directly followed by its enrollments.
+     */
+    public interface Sink {
+        void onCourse(Course course);
+
+        void onInstructor(Instructor instructor);
+
+        void onStudent(Student student);
+
+        void onEnrollment(Enrollment enrollment);
+    }
+
+    /**
+     * Generation options, built with {@link Options.Builder}.
+     */
+    public static class Options {
+        private final int students;
+        private final long seed;
+        private final Semester[] semesters;
+        private final int maxSemestersPerStudent;
+        private final int minCourseLoad;
+        private final int maxCourseLoad;
+        private final int sectionSize;
+        private final int maxCourses;
+        private final double withdrawalRate;
+
+        private Options(Builder builder) {
+            this.students = builder.students;
+            this.seed = builder.seed;
+            this.semesters = builder.semesters;
+            this.maxSemestersPerStudent = builder.maxSemestersPerStudent;
+            this.minCourseLoad = builder.minCourseLoad;
+            this.maxCourseLoad = builder.maxCourseLoad;
+            this.sectionSize = builder.sectionSize;
+            this.maxCourses = builder.maxCourses;
+            this.withdrawalRate = builder.withdrawalRate;
+        }
+
+        public int getStudents() { return students; }
+        public long getSeed() { return seed; }
+        public Semester[] getSemesters() { return semesters.clone(); }
+        public int getMaxSemestersPerStudent() { return maxSemestersPerStudent; }
+        public int getMinCourseLoad() { return minCourseLoad; }
+        public int getMaxCourseLoad() { return maxCourseLoad; }
+        public int getSectionSize() { return sectionSize; }
+        public int getMaxCourses() { return maxCourses; }
+        public double getWithdrawalRate() { return withdrawalRate; }
+
+        public static class Builder {
+            private final int students;
+            private long seed = 42L;
+            private Semester[] semesters = Semester.values();
+            private int maxSemestersPerStudent = 4;
+            private int minCourseLoad = 3;
+            private int maxCourseLoad = 6;
+            private int sectionSize = 40;
+            private int maxCourses = 24_000;
+            private double withdrawalRate = 0.02;
+
+            public Builder(int students) {
+                if (students <= 0) {
+                    throw new IllegalArgumentException("Number of students must be positive: " + students);
+                }
+                this.students = students;
+            }
+
+            public Builder seed(long seed) {
+                this.seed = seed;
+                return this;
+            }
+
+            /**
+             * Semesters to offer courses in, in order. Enrollments in the last one are left ungraded.
+             */
+            public Builder semesters(Semester... semesters) {
+                if (semesters == null || semesters.length == 0) {
+                    throw new IllegalArgumentException("At least one semester is required");
+                }
+                this.semesters = semesters.clone();
+                return this;
+            }
+
+            public Builder maxSemestersPerStudent(int maxSemestersPerStudent) {
+                if (maxSemestersPerStudent <= 0) {
+                    throw new IllegalArgumentException("Semesters per student must be positive: "
+                            + maxSemestersPerStudent);
+                }
+                this.maxSemestersPerStudent = maxSemestersPerStudent;
+                return this;
+            }
+
+            /**
+             * Number of courses a student takes in each semester attended, before the credit limit.
+             */
+            public Builder courseLoad(int min, int max) {
+                if (min <= 0 || max < min) {
+                    throw new IllegalArgumentException("Invalid course load range: " + min + "-" + max);
+                }
+                this.minCourseLoad = min;
+                this.maxCourseLoad = max;
+                return this;
+            }
+
+            /**
+             * Average number of students per course, which sets the size of the catalog.
+             */
+            public Builder sectionSize(int sectionSize) {
+                if (sectionSize <= 0) {
+                    throw new IllegalArgumentException("Section size must be positive: " + sectionSize);
+                }
+                this.sectionSize = sectionSize;
+                return this;
+            }
+
+            /**
+             * Upper bound on the catalog. Once reached, sections grow past the section size instead.
+             */
+            public Builder maxCourses(int maxCourses) {
+                if (maxCourses <= 0) {
+                    throw new IllegalArgumentException("Maximum number of courses must be positive: " + maxCourses);
+                }
+                this.maxCourses = maxCourses;
+                return this;
+            }
+
+            public Builder withdrawalRate(double withdrawalRate) {
+                if (withdrawalRate < 0.0 || withdrawalRate > 1.0) {
+                    throw new IllegalArgumentException("Withdrawal rate must be between 0 and 1: " + withdrawalRate);
+                }
+                this.withdrawalRate = withdrawalRate;
+                return this;
+            }
+
+            public Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    /**
+     * Counts of the records produced by one run.
+     */
+    public static class Statistics {
+        private int courses;
+        private int instructors;
+        private int students;
+        private int enrollments;
+        private int graded;
+        private int withdrawn;
+
+        public int getCourses() { return courses; }
+        public int getInstructors() { return instructors; }
+        public int getStudents() { return students; }
+        public int getEnrollments() { return enrollments; }
+        public int getGraded() { return graded; }
+        public int getWithdrawn() { return withdrawn; }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{courses=%d, instructors=%d, students=%d, enrollments=%d, graded=%d, withdrawn=%d}",
+                               courses, instructors, students, enrollments, graded, withdrawn);
+        }
+    }
+
+    // Department code, name and course subjects
+    private static final String[][] DEPARTMENTS = {
+            {"CSE", "Computer Science", "Programming", "Algorithms", "Databases", "Operating Systems", "Networks", "Machine Learning"},
+            {"MAT", "Mathematics", "Calculus", "Linear Algebra", "Probability", "Number Theory", "Topology", "Statistics"},
+            {"PHY", "Physics", "Mechanics", "Electromagnetism", "Optics", "Thermodynamics", "Quantum Physics", "Astrophysics"},
+            {"CHE", "Chemistry", "General Chemistry", "Organic Chemistry", "Biochemistry", "Physical Chemistry", "Spectroscopy", "Polymers"},
+            {"BIO", "Biology", "Cell Biology", "Genetics", "Ecology", "Microbiology", "Neuroscience", "Evolution"},
+            {"ENG", "English", "Composition", "Poetry", "The Novel", "Shakespeare", "Rhetoric", "World Literature"},
+            {"HIS", "History", "Ancient History", "Medieval Europe", "Modern Asia", "The Americas", "Economic History", "Historiography"},
+            {"ECO", "Economics", "Microeconomics", "Macroeconomics", "Econometrics", "Game Theory", "Public Finance", "Development"}
+    };
+    private static final String[] LEVELS = {"Introduction to", "Foundations of", "Topics in", "Advanced"};
+    private static final String[] LEVEL_DESCRIPTIONS = {"Introductory", "Intermediate", "Upper-level", "Advanced"};
+    private static final String[] INSTRUCTOR_TITLES = {"Professor", "Associate Professor", "Assistant Professor", "Lecturer"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Liam", "Sofia", "Noah", "Mei", "Omar", "Elena",
+            "Kofi", "Hana", "Lucas", "Anika", "Mateo", "Zara", "Ivan", "Leila", "Diego", "Amara", "Yusuf", "Chloe",
+            "Ravi", "Ingrid", "Tariq", "Nadia"};
+    private static final String[] LAST_NAMES = {"Sharma", "Smith", "Garcia", "Chen", "Okafor", "Ivanova", "Patel",
+            "Kim", "Rossi", "Nakamura", "Haddad", "Silva", "Novak", "Mensah", "Larsen", "Das", "Walker", "Moreau",
+            "Singh", "Tanaka", "Kowalski", "Ahmed", "Jensen", "Lopez"};
+    private static final int COURSES_PER_INSTRUCTOR = 3;
+
+    private final Options options;
+    private final Semester[] semesters;
+    // Catalog, indexed by course position: department, semester and block follow from the position
+    private CourseCode[] courseCodes;
+    private byte[] courseCredits;
+
+    public DatasetGenerator(Options options) {
+        this.options = options;
+        this.semesters = options.semesters;
+    }
+
+    public Options getOptions() {
+        return options;
+    }
+
+    /**
+     * Generate the whole data set into a sink.
+     */
+    public Statistics generate(Sink sink) {
+        Random random = new Random(options.seed);
+        Statistics statistics = new Statistics();
+        generateCatalog(random, sink, statistics);
+        for (int i = 0; i < options.students; i++) {
+            generateStudent(i, random, sink, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Generate the data set as students.csv, instructors.csv, courses.csv and enrollments.csv
+     * in a directory under the data directory of the file service.
+     */
+    public Statistics writeCsv(FileService fileService, String directory) throws IOException {
+        try (FileService.CsvWriter students = fileService.openCsvWriter(
+                     directory + "/students.csv", FileService.STUDENT_CSV_HEADER);
+             FileService.CsvWriter instructors = fileService.openCsvWriter(
+                     directory + "/instructors.csv", FileService.INSTRUCTOR_CSV_HEADER);
+             FileService.CsvWriter courses = fileService.openCsvWriter(
+                     directory + "/courses.csv", FileService.COURSE_CSV_HEADER);
+             FileService.CsvWriter enrollments = fileService.openCsvWriter(
+                     directory + "/enrollments.csv", FileService.ENROLLMENT_CSV_HEADER)) {
+            return generate(new CsvSink(students, instructors, courses, enrollments));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Get a sink that loads records into the services through their public operations,
+     * so every index and counter is maintained. Students get IDs from the student service,
+     * and their enrollments follow those IDs. The instructor service may be null.
+     */
+    public static Sink serviceLoader(StudentService studentService, CourseService courseService,
+                                     InstructorService instructorService, EnrollmentService enrollmentService) {
+        return new Sink() {
+            private String studentId;
+
+            @Override
+            public void onCourse(Course course) {
+                courseService.addCourse(course.getCourseCode(), course.getTitle(), course.getDepartment(),
+                        course.getDescription(), course.getCredits(), course.getInstructorId(),
+                        course.getSemester(), course.getCapacity());
+            }
+
+            @Override
+            public void onInstructor(Instructor instructor) {
+                if (instructorService != null && instructorService.getInstructorById(instructor.getId()) == null) {
+                    instructorService.registerInstructor(instructor);
+                }
+            }
+
+            @Override
+            public void onStudent(Student student) {
+                studentId = studentService.addStudent(student.getRegNo(), student.getFullName(),
+                        student.getEmail()).getId();
+            }
+
+            @Override
+            public void onEnrollment(Enrollment enrollment) {
+                try {
+                    enrollmentService.enrollStudent(studentId, enrollment.getCourseCode(), enrollment.getSemester());
+                } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException e) {
+                    throw new IllegalStateException("Generated enrollment was rejected: " + e.getMessage(), e);
+                }
+                if (enrollment.getGrade() != null) {
+                    enrollmentService.recordGrade(studentId, enrollment.getCourseCode(),
+                            enrollment.getSemester(), enrollment.getPercentageScore());
+                }
+                if (!enrollment.isActive()) {
+                    enrollmentService.unenrollStudent(studentId, enrollment.getCourseCode(), enrollment.getSemester());
+                }
+            }
+        };
+    }
+
+    // Catalog: courses round-robin over departments, blocks of departments round-robin over semesters
+    private void generateCatalog(Random random, Sink sink, Statistics statistics) {
+        int departments = DEPARTMENTS.length;
+        double semestersPerStudent = (1 + Math.min(options.maxSemestersPerStudent, semesters.length)) / 2.0;
+        double coursesPerSemester = (options.minCourseLoad + options.maxCourseLoad) / 2.0;
+        long wanted = Math.round(options.students * semestersPerStudent * coursesPerSemester / options.sectionSize);
+        int count = (int) Math.max((long) departments * semesters.length, Math.min(options.maxCourses, wanted));
+        // Whole blocks keep every semester's offering spread over all departments
+        count = (count + departments - 1) / departments * departments;
+
+        courseCodes = new CourseCode[count];
+        courseCredits = new byte[count];
+        int[] sequences = new int[departments];
+        Instructor[] instructors = new Instructor[departments];
+        int instructorCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            int d = i % departments;
+            String[] department = DEPARTMENTS[d];
+            int level = sequences[d] % LEVELS.length;
+            int number = ++sequences[d];
+            CourseCode code = CourseCode.of(department[0], (level + 1) + String.format("%02d", number));
+            int credits = pickCredits(random);
+            courseCodes[i] = code;
+            courseCredits[i] = (byte) credits;
+
+            if (instructors[d] == null) {
+                String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String id = EntityId.format(EntityId.INSTRUCTOR, ++instructorCount);
+                instructors[d] = new Instructor(id, "Dr. " + name, emailOf(name, id), department[1],
+                        INSTRUCTOR_TITLES[random.nextInt(INSTRUCTOR_TITLES.length)]);
+            }
+
+            String subject = department[2 + random.nextInt(department.length - 2)];
+            Course course = new Course.Builder(EntityId.format(EntityId.COURSE, i + 1), code,
+                    LEVELS[level] + " " + subject, department[1])
+                    .description(LEVEL_DESCRIPTIONS[level] + " course in " + department[1])
+                    .credits(credits)
+                    .instructorId(instructors[d].getId())
+                    .semester(semesters[(i / departments) % semesters.length])
+                    .capacity(Course.DEFAULT_CAPACITY)
+                    .build();
+            sink.onCourse(course);
+            statistics.courses++;
+
+            instructors[d].assignCourse(code.toString());
+            if (instructors[d].getAssignedCourseCount() == COURSES_PER_INSTRUCTOR) {
+                sink.onInstructor(instructors[d]);
+                statistics.instructors++;
+                instructors[d] = null;
+            }
+        }
+        for (Instructor instructor : instructors) {
+            if (instructor != null) {
+                sink.onInstructor(instructor);
+                statistics.instructors++;
+            }
+        }
+    }
+
+    private void generateStudent(int index, Random random, Sink sink, Statistics statistics) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String id = EntityId.format(EntityId.STUDENT, index + 1);
+        int entry = random.nextInt(semesters.length);
+        int attended = Math.min(1 + random.nextInt(options.maxSemestersPerStudent), semesters.length - entry);
+        // Ability shifts all of a student's scores, so GPAs spread the way grades do
+        double ability = random.nextGaussian() * 8.0;
+
+        Student student = new Student(id, String.format("REG%d-%07d", semesters[entry].getYear(), index + 1),
+                name, emailOf(name, id));
+        student.setCreatedAt(semesterStart(semesters[entry]).minusDays(30 + random.nextInt(90)));
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        int[] picked = new int[options.maxCourseLoad];
+        for (int s = entry; s < entry + attended; s++) {
+            Semester semester = semesters[s];
+            int load = options.minCourseLoad + random.nextInt(options.maxCourseLoad - options.minCourseLoad + 1);
+            int taken = 0;
+            int credits = 0;
+            for (int attempt = 0; attempt < load * 4 && taken < load; attempt++) {
+                int course = pickCourse(s, random);
+                if (contains(picked, taken, course)
+                        || credits + courseCredits[course] > EnrollmentService.MAX_CREDITS_PER_SEMESTER) {
+                    continue;
+                }
+                picked[taken++] = course;
+                credits += courseCredits[course];
+                enrollments.add(enrollment(student, courseCodes[course], semester, s, ability, random, statistics));
+            }
+        }
+
+        for (Enrollment enrollment : enrollments) {
+            if (enrollment.isActive()) {
+                student.enrollInCourse(enrollment.getCourseCode());
+            }
+        }
+        sink.onStudent(student);
+        statistics.students++;
+        for (Enrollment enrollment : enrollments) {
+            sink.onEnrollment(enrollment);
+        }
+    }
+
+    private Enrollment enrollment(Student student, CourseCode courseCode, Semester semester, int semesterIndex,
+                                  double ability, Random random, Statistics statistics) {
+        LocalDateTime enrolledAt = semesterStart(semester)
+                .plusDays(random.nextInt(14))
+                .plusSeconds(random.nextInt(86_400));
+        boolean withdrawn = random.nextDouble() < options.withdrawalRate;
+        // The last semester is still in progress
+        boolean graded = !withdrawn && semesterIndex < semesters.length - 1;
+        double score = 0.0;
+        Grade grade = null;
+        if (graded) {
+            score = Math.round(Math.max(0.0, Math.min(100.0, 76.0 + ability + random.nextGaussian() * 10.0)) * 100) / 100.0;
+            grade = Grade.fromPercentage(score);
+            statistics.graded++;
+        }
+        if (withdrawn) {
+            statistics.withdrawn++;
+        }
+        statistics.enrollments++;
+        return new Enrollment(EntityId.format(EntityId.ENROLLMENT, statistics.enrollments), student.getId(),
+                courseCode, semester, enrolledAt, grade, score, !withdrawn);
+    }
+
+    // Courses offered in a semester are the blocks whose index maps to it
+    private int pickCourse(int semesterIndex, Random random) {
+        int departments = DEPARTMENTS.length;
+        int blocks = courseCodes.length / departments;
+        int semesterBlocks = (blocks - semesterIndex + semesters.length - 1) / semesters.length;
+        int block = semesterIndex + random.nextInt(semesterBlocks) * semesters.length;
+        return block * departments + random.nextInt(departments);
+    }
+
+    private static int pickCredits(Random random) {
+        int roll = random.nextInt(10);
+        return roll == 0 ? 2 : roll < 7 ? 3 : 4;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String emailOf(String name, String id) {
+        return name.toLowerCase().replace(' ', '.') + "." + id.toLowerCase() + "@campus.edu";
+    }
+
+    private static LocalDateTime semesterStart(Semester semester) {
+        switch (semester.getSeason()) {
+            case "Spring":
+                return LocalDateTime.of(semester.getYear(), Month.JANUARY, 10, 9, 0);
+            case "Summer":
+                return LocalDateTime.of(semester.getYear(), Month.MAY, 15, 9, 0);
+            default:
+                return LocalDateTime.of(semester.getYear(), Month.AUGUST, 20, 9, 0);
+        }
+    }
+
+    // Writes each record to its file, stopping generation at the first write failure
+    private static final class CsvSink implements Sink {
+        private final FileService.CsvWriter students;
+        private final FileService.CsvWriter instructors;
+        private final FileService.CsvWriter courses;
+        private final FileService.CsvWriter enrollments;
+
+        private CsvSink(FileService.CsvWriter students, FileService.CsvWriter instructors,
+                        FileService.CsvWriter courses, FileService.CsvWriter enrollments) {
+            this.students = students;
+            this.instructors = instructors;
+            this.courses = courses;
+            this.enrollments = enrollments;
+        }
+
+        @Override
+        public void onCourse(Course course) {
+            write(courses, course.toCSV());
+        }
+
+        @Override
+        public void onInstructor(Instructor instructor) {
+            write(instructors, instructor.toCSV());
+        }
+
+        @Override
+        public void onStudent(Student student) {
+            write(students, student.toCSV());
+        }
+
+        @Override
+        public void onEnrollment(Enrollment enrollment) {
+            write(enrollments, enrollment.toCSV());
+        }
+
+        private static void write(FileService.CsvWriter writer, String line) {
+            try {
+                writer.writeLine(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
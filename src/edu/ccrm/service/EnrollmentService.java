@@ -1,177 +1,568 @@
 package src.edu.ccrm.service;
 
+import src.edu.ccrm.events.DomainEvent;
+import src.edu.ccrm.events.DomainEventBus;
 import src.edu.ccrm.exceptions.DuplicateEnrollmentException;
 import src.edu.ccrm.exceptions.MaxCreditLimitExceededException;
+import src.edu.ccrm.metrics.Counter;
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.metrics.Span;
+import src.edu.ccrm.metrics.Tracer;
+import src.edu.ccrm.metrics.jfr.EnrollmentEvent;
+import src.edu.ccrm.metrics.jfr.GradePostedEvent;
 import src.edu.ccrm.model.Course;
 import src.edu.ccrm.model.Enrollment;
 import src.edu.ccrm.model.Student;
 import src.edu.ccrm.model.enums.Grade;
 import src.edu.ccrm.model.enums.Semester;
 import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
+import src.edu.ccrm.service.snapshot.EnrollmentSnapshot;
+import src.edu.ccrm.service.store.EnrollmentCursor;
+import src.edu.ccrm.service.store.EnrollmentStore;
+import src.edu.ccrm.service.store.ObjectEnrollmentStore;
+import src.edu.ccrm.util.primitive.IntIntMap;
+import src.edu.ccrm.util.primitive.LongObjectMap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service class for enrollment and grading operations.
  * Demonstrates business rules, exception handling, and complex operations.
+ * Rows are kept in a pluggable {@link EnrollmentStore}; enrollments returned by
+ * queries may be detached copies, so all changes go through this service.
  */
 
 public class EnrollmentService {
+    // Enrollments are traced through the lookups and checks they make
+    private static final Tracer TRACER = Tracer.getDefault();
+    // Enrollment requests refused for a missing student or course, a duplicate or the credit limit
+    private static final Counter REJECTED_ENROLLMENTS =
+            MetricsRegistry.getDefault().counter("EnrollmentService.rejectedEnrollments");
+    private static final LatencyHistogram ENROLL_STUDENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.enrollStudent");
+    private static final LatencyHistogram UNENROLL_STUDENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.unenrollStudent");
+    private static final LatencyHistogram RECORD_GRADE_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.recordGrade");
+    private static final LatencyHistogram IS_ENROLLED_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.isEnrolled");
+    private static final LatencyHistogram FIND_ENROLLMENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.findEnrollment");
+    private static final LatencyHistogram GET_ALL_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getAllEnrollments");
+    private static final LatencyHistogram GET_STUDENT_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getStudentEnrollments");
+    private static final LatencyHistogram GET_COURSE_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getCourseEnrollments");
+    private static final LatencyHistogram GET_SEMESTER_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getSemesterEnrollments");
+    private static final LatencyHistogram GET_SECTION_ENROLLMENT_COUNT_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getSectionEnrollmentCount");
+    private static final LatencyHistogram GET_SEMESTER_STATISTICS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getSemesterStatistics");
+    private static final LatencyHistogram GET_CURRENT_SEMESTER_CREDITS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getCurrentSemesterCredits");
+    private static final LatencyHistogram CALCULATE_STUDENT_GPA_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.calculateStudentGPA");
+    private static final LatencyHistogram GET_TOP_STUDENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getTopStudents");
+    private static final LatencyHistogram GET_TOP_STUDENTS_IN_SEMESTER_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getTopStudentsInSemester");
+    private static final LatencyHistogram GET_TOP_STUDENTS_IN_DEPARTMENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getTopStudentsInDepartment");
+    private static final LatencyHistogram GET_GRADED_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getGradedEnrollments");
+    private static final LatencyHistogram GET_UNGRADED_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.getUngradedEnrollments");
+    private static final LatencyHistogram CLEAR_ALL_ENROLLMENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("EnrollmentService.clearAllEnrollments");
 
-     private final List<Enrollment> enrollments;
+    /**
+     * Callback for services that keep state derived from enrollments,
+     * fired after an enrollment is created, withdrawn or graded.
+     * Listeners run on the writer's thread before the write returns, so the state they keep
+     * is current for the next read; use them where that matters, as the transcript cache does.
+     * Views that may trail the writes, like the leaderboards, belong on the
+     * {@link DomainEventBus} instead, where they cost the writer nothing.
+     */
+    public interface ChangeListener {
+        void onEnrollmentChanged(Enrollment enrollment);
+
+        default void onEnrollmentsCleared() {
+        }
+    }
+
+    private final EnrollmentStore store;
     private final StudentService studentService;
     private final CourseService courseService;
-    private int nextId;
-    private static final int MAX_CREDITS_PER_SEMESTER = 18;
+    private final DomainEventBus events;
+    // Semester and department rankings, kept up to date from the events on the bus's thread
+    private final ScopedLeaderboards scopedLeaderboards;
+    private final DomainEventBus.Subscription scopedLeaderboardsSubscription;
+    // Active enrollments per CourseCode.sectionKey
+    private final IntIntMap sectionEnrollmentCounts;
+    // Rows of each student in each semester, keyed by packed student key and semester ordinal
+    private final LongObjectMap<RowList> rowsByStudentSemester;
+    private final Map<Semester, SemesterCounters> semesterCounters;
+    private final List<ChangeListener> changeListeners;
+    // Immutable copy of the rows and section counts, republished after each write for lock-free reports
+    private volatile EnrollmentSnapshot snapshot;
+    public static final int MAX_CREDITS_PER_SEMESTER = 18;
+
+    // Running totals per semester, adjusted by every enrollment write
+    private static final class SemesterCounters {
+        private int active;
+        private int graded;
+        private int withdrawn;
+        private long credits;
+    }
+
+    // Growable list of row indexes in insertion order
+    private static final class RowList {
+        private int[] rows = new int[4];
+        private int size;
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+
+    public EnrollmentService(StudentService studentService, CourseService courseService,
+                             DomainEventBus events) {
+        this(studentService, courseService, new ObjectEnrollmentStore(), events);
+    }
 
-    public EnrollmentService(StudentService studentService, CourseService courseService) {
-        this.enrollments = new ArrayList<>();
+    /**
+     * @param events the bus enrollment events are published on, usually shared with the
+     *               student and course services so subscribers see one ordered stream.
+     *               The scoped leaderboards subscribe to it; the caller owns the bus and
+     *               closing it stops them.
+     */
+    public EnrollmentService(StudentService studentService, CourseService courseService,
+                             EnrollmentStore store, DomainEventBus events) {
+        this.store = store;
         this.studentService = studentService;
         this.courseService = courseService;
-        this.nextId = 1;
+        this.events = events;
+        this.scopedLeaderboards = new ScopedLeaderboards();
+        this.scopedLeaderboardsSubscription = events.subscribe("leaderboards", scopedLeaderboards);
+        this.sectionEnrollmentCounts = new IntIntMap();
+        this.rowsByStudentSemester = new LongObjectMap<>();
+        this.semesterCounters = new EnumMap<>(Semester.class);
+        for (Semester semester : Semester.values()) {
+            semesterCounters.put(semester, new SemesterCounters());
+        }
+        this.changeListeners = new ArrayList<>();
+        this.snapshot = EnrollmentSnapshot.EMPTY;
+        courseService.addUpdateListener(this::onCourseUpdated);
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged(Enrollment enrollment) {
+        for (ChangeListener listener : changeListeners) {
+            listener.onEnrollmentChanged(enrollment);
+        }
     }
 
     // Enrollment operations
     public Enrollment enrollStudent(String studentId, CourseCode courseCode, Semester semester) 
             throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
-        
-        // Check if student exists and is active
-        Student student = studentService.getStudentById(studentId);
-        if (student == null || !student.isActive()) {
-            throw new IllegalArgumentException("Student not found or inactive");
-        }
+        long start = System.nanoTime();
+        Span trace = TRACER.startTrace(ENROLL_STUDENT_LATENCY.getName(), start);
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.begin();
+        try {
+            // Check if student exists and is active
+            Student student = studentService.getStudentById(studentId);
+            if (student == null || !student.isActive()) {
+                event.outcome = EnrollmentEvent.STUDENT_NOT_FOUND;
+                REJECTED_ENROLLMENTS.increment();
+                throw new IllegalArgumentException("Student not found or inactive");
+            }
 
-        // Check if course exists and is active
-        Course course = courseService.getCourseByCode(courseCode);
-        if (course == null || !course.isActive()) {
-            throw new IllegalArgumentException("Course not found or inactive");
-        }
+            // Check if course exists and is active
+            Course course = courseService.getCourseByCode(courseCode);
+            if (course == null || !course.isActive()) {
+                event.outcome = EnrollmentEvent.COURSE_NOT_FOUND;
+                REJECTED_ENROLLMENTS.increment();
+                throw new IllegalArgumentException("Course not found or inactive");
+            }
+            event.credits = course.getCredits();
 
-        // Check for duplicate enrollment
-        if (isEnrolled(studentId, courseCode, semester)) {
-            throw new DuplicateEnrollmentException(studentId, courseCode.toString());
-        }
+            // Check for duplicate enrollment
+            if (isEnrolled(studentId, courseCode, semester)) {
+                event.outcome = EnrollmentEvent.DUPLICATE;
+                REJECTED_ENROLLMENTS.increment();
+                throw new DuplicateEnrollmentException(studentId, courseCode.toString());
+            }
 
-        // Check credit limit
-        int currentCredits = getCurrentSemesterCredits(studentId, semester);
-        if (currentCredits + course.getCredits() > MAX_CREDITS_PER_SEMESTER) {
-            throw new MaxCreditLimitExceededException(studentId, currentCredits, 
-                    MAX_CREDITS_PER_SEMESTER, course.getCredits());
-        }
+            // Check credit limit
+            int currentCredits = getCurrentSemesterCredits(studentId, semester);
+            event.semesterCredits = currentCredits;
+            if (currentCredits + course.getCredits() > MAX_CREDITS_PER_SEMESTER) {
+                event.outcome = EnrollmentEvent.CREDIT_LIMIT;
+                REJECTED_ENROLLMENTS.increment();
+                throw new MaxCreditLimitExceededException(studentId, currentCredits, 
+                        MAX_CREDITS_PER_SEMESTER, course.getCredits());
+            }
 
-        // Create enrollment
-        String id = "ENR" + String.format("%04d", nextId++);
-        Enrollment enrollment = new Enrollment(id, studentId, courseCode, semester);
-        enrollments.add(enrollment);
+            // Create enrollment
+            Span record = TRACER.startSpan("EnrollmentService.recordEnrollment");
+            int row = store.append(studentId, courseCode, semester);
+            Enrollment enrollment = store.get(row);
+            snapshot = snapshot.withAppended(student.getKey(), courseCode, semester);
+            rowsByStudentSemester.computeIfAbsent(LongObjectMap.pack(student.getKey(), semester.ordinal()),
+                    key -> new RowList()).add(row);
+            sectionEnrollmentCounts.addTo(courseCode.sectionKey(semester), 1);
+            SemesterCounters counters = semesterCounters.get(semester);
+            counters.active++;
+            counters.credits += course.getCredits();
+            record.end();
 
-        // Update student's enrolled courses
-        student.enrollInCourse(courseCode);
+            // Update student's enrolled courses
+            studentService.enrollStudentInCourse(studentId, courseCode);
 
-        return enrollment;
+            // Subscribers, e.g. the semester and department leaderboards, catch up on their own threads
+            Span publish = TRACER.startSpan("EnrollmentService.publishEnrolled");
+            events.publish(new DomainEvent.Enrolled(student, courseCode, semester,
+                    course.getDepartment(), course.getCredits()));
+            publish.end();
+
+            fireChanged(enrollment);
+            event.outcome = EnrollmentEvent.ENROLLED;
+            return enrollment;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            ENROLL_STUDENT_LATENCY.record(elapsed);
+            TRACER.endTrace(trace, ENROLL_STUDENT_LATENCY.getName(), elapsed);
+            event.end();
+            if (event.shouldCommit()) {
+                event.studentId = studentId;
+                event.courseCode = String.valueOf(courseCode);
+                event.semester = String.valueOf(semester);
+                event.commit();
+            }
+        }
     }
 
     public boolean unenrollStudent(String studentId, CourseCode courseCode, Semester semester) {
-        Enrollment enrollment = findEnrollment(studentId, courseCode, semester);
-        if (enrollment != null) {
-            enrollment.setActive(false);
+        return UNENROLL_STUDENT_LATENCY.time(() -> {
+            int row = findRow(studentKey(studentId), courseCode, semester);
+            if (row >= 0) {
+                store.setActive(row, false);
+                snapshot = snapshot.withActive(row, false);
+                sectionEnrollmentCounts.addTo(courseCode.sectionKey(semester), -1);
+                SemesterCounters counters = semesterCounters.get(semester);
+                counters.active--;
+                counters.withdrawn++;
+                if (store.getGrade(row) != null) {
+                    counters.graded--;
+                }
+                Course enrolledCourse = courseService.getCourseByCode(courseCode);
+                if (enrolledCourse != null) {
+                    counters.credits -= enrolledCourse.getCredits();
+                }
             
-            // Update student's enrolled courses
-            Student student = studentService.getStudentById(studentId);
-            if (student != null) {
-                student.unenrollFromCourse(courseCode);
-            }
+                // Update student's enrolled courses
+                Student student = studentService.getStudentById(studentId);
+                if (student != null) {
+                    studentService.unenrollStudentFromCourse(studentId, courseCode);
+                    events.publish(new DomainEvent.Unenrolled(student, courseCode, semester,
+                            enrolledCourse != null ? enrolledCourse.getDepartment() : null));
+                }
             
-            return true;
-        }
-        return false;
+                fireChanged(store.get(row));
+                return true;
+            }
+            return false;
+        });
     }
 
     // Grading operations
     public boolean recordGrade(String studentId, CourseCode courseCode, Semester semester, 
                              double percentageScore) {
-        Enrollment enrollment = findEnrollment(studentId, courseCode, semester);
-        if (enrollment != null && enrollment.isActive()) {
-            enrollment.recordGrade(percentageScore);
-            updateStudentGPA(studentId);
-            return true;
+        long start = System.nanoTime();
+        GradePostedEvent event = new GradePostedEvent();
+        event.begin();
+        try {
+            int row = findRow(studentKey(studentId), courseCode, semester);
+            if (row >= 0) {
+                Grade previous = store.getGrade(row);
+                store.recordGrade(row, percentageScore);
+                snapshot = snapshot.withGrade(row, store.getGrade(row));
+                countGraded(semester, previous != null);
+                updateStudentGPA(studentId, courseCode, semester, store.getGrade(row), previous);
+                fireChanged(store.get(row));
+                commitGradePosted(event, row, previous);
+                return true;
+            }
+            return false;
+        } finally {
+            RECORD_GRADE_LATENCY.recordSince(start);
         }
-        return false;
     }
 
     public boolean recordGrade(String studentId, CourseCode courseCode, Semester semester, 
                              Grade grade) {
-        Enrollment enrollment = findEnrollment(studentId, courseCode, semester);
-        if (enrollment != null && enrollment.isActive()) {
-            enrollment.recordGrade(grade);
-            updateStudentGPA(studentId);
-            return true;
+        long start = System.nanoTime();
+        GradePostedEvent event = new GradePostedEvent();
+        event.begin();
+        try {
+            int row = findRow(studentKey(studentId), courseCode, semester);
+            if (row >= 0) {
+                Grade previous = store.getGrade(row);
+                store.recordGrade(row, grade);
+                snapshot = snapshot.withGrade(row, grade);
+                countGraded(semester, previous != null);
+                updateStudentGPA(studentId, courseCode, semester, grade, previous);
+                fireChanged(store.get(row));
+                commitGradePosted(event, row, previous);
+                return true;
+            }
+            return false;
+        } finally {
+            RECORD_GRADE_LATENCY.recordSince(start);
+        }
+    }
+
+    private void commitGradePosted(GradePostedEvent event, int row, Grade previous) {
+        event.end();
+        if (event.shouldCommit()) {
+            Grade grade = store.getGrade(row);
+            event.studentId = store.getStudentId(row);
+            event.courseCode = store.getCourseCode(row).toString();
+            event.semester = store.getSemester(row).toString();
+            event.grade = grade.getLetter();
+            event.previousGrade = previous != null ? previous.getLetter() : null;
+            event.gradePoints = grade.getGradePoints();
+            event.commit();
+        }
+    }
+
+    // Called after the grade is stored, so a rejected score leaves the counters alone
+    private void countGraded(Semester semester, boolean wasGraded) {
+        if (!wasGraded) {
+            semesterCounters.get(semester).graded++;
+        }
+    }
+
+    // Keep credit totals in step when a course's credits are edited
+    private void onCourseUpdated(Course course, String previousTitle, int previousCredits) {
+        int delta = course.getCredits() - previousCredits;
+        if (delta == 0 || courseService.getCourseByCode(course.getCourseCode()) != course) {
+            return;
+        }
+        for (Semester semester : Semester.values()) {
+            int sectionCount = getSectionEnrollmentCount(course.getCourseCode(), semester);
+            semesterCounters.get(semester).credits += (long) delta * sectionCount;
         }
-        return false;
     }
 
     // Query operations
     public boolean isEnrolled(String studentId, CourseCode courseCode, Semester semester) {
-        return findEnrollment(studentId, courseCode, semester) != null;
+        long start = System.nanoTime();
+        Span span = TRACER.startSpan("EnrollmentService.isEnrolled");
+        try {
+            return findRow(studentKey(studentId), courseCode, semester) >= 0;
+        } finally {
+            span.end();
+            IS_ENROLLED_LATENCY.recordSince(start);
+        }
     }
 
     public Enrollment findEnrollment(String studentId, CourseCode courseCode, Semester semester) {
-        return enrollments.stream()
-                .filter(e -> e.getStudentId().equals(studentId))
-                .filter(e -> e.getCourseCode().equals(courseCode))
-                .filter(e -> e.getSemester().equals(semester))
-                .filter(Enrollment::isActive)
-                .findFirst()
-                .orElse(null);
+        return FIND_ENROLLMENT_LATENCY.time(() -> {
+            int row = findRow(studentKey(studentId), courseCode, semester);
+            return row >= 0 ? store.get(row) : null;
+        });
+    }
+
+    // Row of the active enrollment for a student in a course section, or -1
+    private int findRow(int studentKey, CourseCode courseCode, Semester semester) {
+        RowList rows = studentKey > 0
+                ? rowsByStudentSemester.get(LongObjectMap.pack(studentKey, semester.ordinal())) : null;
+        if (rows == null) {
+            return -1;
+        }
+        for (int i = 0; i < rows.size; i++) {
+            int row = rows.rows[i];
+            if (store.getCourseCode(row) == courseCode && store.isActive(row)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // All rows of a student in insertion order
+    private int[] studentRows(int studentKey) {
+        if (studentKey <= 0) {
+            return new int[0];
+        }
+        Semester[] semesters = Semester.values();
+        RowList[] lists = new RowList[semesters.length];
+        int count = 0;
+        for (Semester semester : semesters) {
+            RowList rows = rowsByStudentSemester.get(LongObjectMap.pack(studentKey, semester.ordinal()));
+            if (rows != null) {
+                lists[semester.ordinal()] = rows;
+                count += rows.size;
+            }
+        }
+        int[] result = new int[count];
+        count = 0;
+        for (RowList rows : lists) {
+            if (rows != null) {
+                System.arraycopy(rows.rows, 0, result, count, rows.size);
+                count += rows.size;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Display IDs are converted once at the API boundary; scans compare numeric keys
+    private static int studentKey(String studentId) {
+        return EntityId.parse(EntityId.STUDENT, studentId);
+    }
+
+    /**
+     * Get the latest published version of the enrollment rows and section counts.
+     * It is immutable, so reports can read it without locking while enrollments change.
+     */
+    public EnrollmentSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get a flyweight cursor over all enrollment rows, including withdrawn ones.
+     * Scans through a cursor create no objects per row.
+     */
+    public EnrollmentCursor cursor() {
+        return store.cursor();
+    }
+
+    public List<Enrollment> getAllEnrollments() {
+        return GET_ALL_ENROLLMENTS_LATENCY.time(() -> {
+            List<Enrollment> all = new ArrayList<>(store.size());
+            for (int row = 0; row < store.size(); row++) {
+                all.add(store.get(row));
+            }
+            return all;
+        });
     }
 
     public List<Enrollment> getStudentEnrollments(String studentId) {
-        return enrollments.stream()
-                .filter(e -> e.getStudentId().equals(studentId))
-                .filter(Enrollment::isActive)
-                .collect(Collectors.toList());
+        return GET_STUDENT_ENROLLMENTS_LATENCY.time(() -> {
+            List<Enrollment> result = new ArrayList<>();
+            for (int row : studentRows(studentKey(studentId))) {
+                if (store.isActive(row)) {
+                    result.add(store.get(row));
+                }
+            }
+            return result;
+        });
     }
 
     public List<Enrollment> getCourseEnrollments(CourseCode courseCode, Semester semester) {
-        return enrollments.stream()
-                .filter(e -> e.getCourseCode().equals(courseCode))
-                .filter(e -> e.getSemester().equals(semester))
-                .filter(Enrollment::isActive)
-                .collect(Collectors.toList());
+        return GET_COURSE_ENROLLMENTS_LATENCY.time(() -> {
+            List<Enrollment> result = new ArrayList<>();
+            EnrollmentCursor cursor = store.cursor();
+            while (cursor.next()) {
+                if (cursor.isActive() && cursor.getSemester() == semester
+                        && cursor.getCourseCode() == courseCode) {
+                    result.add(cursor.toEnrollment());
+                }
+            }
+            return result;
+        });
     }
 
     public List<Enrollment> getSemesterEnrollments(Semester semester) {
-        return enrollments.stream()
-                .filter(e -> e.getSemester().equals(semester))
-                .filter(Enrollment::isActive)
-                .collect(Collectors.toList());
+        return GET_SEMESTER_ENROLLMENTS_LATENCY.time(() -> {
+            List<Enrollment> result = new ArrayList<>();
+            EnrollmentCursor cursor = store.cursor();
+            while (cursor.next()) {
+                if (cursor.isActive() && cursor.getSemester() == semester) {
+                    result.add(cursor.toEnrollment());
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Get the number of active enrollments in a course section from the maintained counters.
+     */
+    public int getSectionEnrollmentCount(CourseCode courseCode, Semester semester) {
+        return GET_SECTION_ENROLLMENT_COUNT_LATENCY.time(
+                () -> sectionEnrollmentCounts.get(courseCode.sectionKey(semester)));
+    }
+
+    /**
+     * Get enrollment statistics for a semester from the maintained counters.
+     * Active, graded and credit figures cover active enrollments; withdrawn counts unenrollments.
+     */
+    public Enrollment.Statistics getSemesterStatistics(Semester semester) {
+        return GET_SEMESTER_STATISTICS_LATENCY.time(() -> {
+            SemesterCounters counters = semesterCounters.get(semester);
+            return new Enrollment.Statistics(semester, counters.active, counters.graded, 
+                    counters.withdrawn, counters.credits);
+        });
     }
 
     // Statistics and calculations
     public int getCurrentSemesterCredits(String studentId, Semester semester) {
-        return enrollments.stream()
-                .filter(e -> e.getStudentId().equals(studentId))
-                .filter(e -> e.getSemester().equals(semester))
-                .filter(Enrollment::isActive)
-                .mapToInt(e -> {
-                    Course course = courseService.getCourseByCode(e.getCourseCode());
-                    return course != null ? course.getCredits() : 0;
-                })
-                .sum();
+        long start = System.nanoTime();
+        Span span = TRACER.startSpan("EnrollmentService.getCurrentSemesterCredits");
+        try {
+            int credits = 0;
+            int studentKey = studentKey(studentId);
+            RowList rows = studentKey > 0
+                    ? rowsByStudentSemester.get(LongObjectMap.pack(studentKey, semester.ordinal())) : null;
+            if (rows == null) {
+                return credits;
+            }
+            for (int i = 0; i < rows.size; i++) {
+                int row = rows.rows[i];
+                if (store.isActive(row)) {
+                    Course course = courseService.getCourseByCode(store.getCourseCode(row));
+                    credits += course != null ? course.getCredits() : 0;
+                }
+            }
+            return credits;
+        } finally {
+            span.end();
+            GET_CURRENT_SEMESTER_CREDITS_LATENCY.recordSince(start);
+        }
     }
 
     public double calculateStudentGPA(String studentId) {
-        List<Enrollment> studentEnrollments = getStudentEnrollments(studentId);
-        
+        return CALCULATE_STUDENT_GPA_LATENCY.time(() -> studentGpa(studentId));
+    }
+
+    private double studentGpa(String studentId) {
         double totalGradePoints = 0.0;
         int totalCredits = 0;
 
-        for (Enrollment enrollment : studentEnrollments) {
-            if (enrollment.isGraded()) {
-                Course course = courseService.getCourseByCode(enrollment.getCourseCode());
+        for (int row : studentRows(studentKey(studentId))) {
+            Grade grade = store.getGrade(row);
+            if (grade != null && store.isActive(row)) {
+                Course course = courseService.getCourseByCode(store.getCourseCode(row));
                 if (course != null) {
-                    double gradePoints = enrollment.getGradePoints() * course.getCredits();
+                    double gradePoints = grade.getGradePoints() * course.getCredits();
                     totalGradePoints += gradePoints;
                     totalCredits += course.getCredits();
                 }
@@ -181,42 +572,99 @@ public class EnrollmentService {
         return totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
     }
 
-    private void updateStudentGPA(String studentId) {
+    // The student's own GPA is read back at once, so it is set inline; the rankings follow from the events
+    private void updateStudentGPA(String studentId, CourseCode courseCode, Semester semester,
+                                  Grade grade, Grade previous) {
         Student student = studentService.getStudentById(studentId);
         if (student != null) {
             double gpa = calculateStudentGPA(studentId);
-            student.setGpa(gpa);
+            studentService.updateGpa(student, gpa);
+            events.publish(new DomainEvent.GradeRecorded(student, courseCode, semester, grade, previous));
         }
     }
 
     // Reports
+    /**
+     * Get the top active students of the campus. Like the scoped rankings below, this may
+     * not show the latest writes yet; call {@link #awaitLeaderboards} first to read your own.
+     */
     public List<Student> getTopStudents(int limit) {
-        return studentService.getAllStudents().stream()
-                .filter(Student::isActive)
-                .sorted((s1, s2) -> Double.compare(s2.getGpa(), s1.getGpa()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return GET_TOP_STUDENTS_LATENCY.time(() -> studentService.getTopStudents(limit));
+    }
+
+    /**
+     * Get the top students among those actively enrolled in the given semester.
+     * The ranking is built from the domain events on the bus's thread and is returned as it
+     * stands, so it may not show the latest writes yet; call {@link #awaitLeaderboards} first
+     * to read your own writes.
+     */
+    public List<Student> getTopStudents(Semester semester, int limit) {
+        return GET_TOP_STUDENTS_IN_SEMESTER_LATENCY.time(() -> scopedLeaderboards.top(semester, limit));
+    }
+
+    /**
+     * Get the top students among those actively enrolled in a course of the given department.
+     * May trail the latest writes like {@link #getTopStudents(Semester, int)}.
+     */
+    public List<Student> getTopStudentsInDepartment(String department, int limit) {
+        return GET_TOP_STUDENTS_IN_DEPARTMENT_LATENCY.time(() -> scopedLeaderboards.topInDepartment(department, limit));
+    }
+
+    /**
+     * Wait until the campus, semester and department rankings include every write made so far.
+     * @return false if that took longer than the timeout or the bus was closed first
+     */
+    public boolean awaitLeaderboards(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return studentService.awaitLeaderboard(timeout, unit)
+                && scopedLeaderboardsSubscription.awaitConsumed(events.getPublishedSequence(),
+                        deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
     }
 
     public List<Enrollment> getGradedEnrollments() {
-        return enrollments.stream()
-                .filter(Enrollment::isGraded)
-                .collect(Collectors.toList());
+        return GET_GRADED_ENROLLMENTS_LATENCY.time(() -> {
+            List<Enrollment> result = new ArrayList<>();
+            EnrollmentCursor cursor = store.cursor();
+            while (cursor.next()) {
+                if (cursor.isGraded()) {
+                    result.add(cursor.toEnrollment());
+                }
+            }
+            return result;
+        });
     }
 
     public List<Enrollment> getUngradedEnrollments() {
-        return enrollments.stream()
-                .filter(e -> !e.isGraded() && e.isActive())
-                .collect(Collectors.toList());
+        return GET_UNGRADED_ENROLLMENTS_LATENCY.time(() -> {
+            List<Enrollment> result = new ArrayList<>();
+            EnrollmentCursor cursor = store.cursor();
+            while (cursor.next()) {
+                if (cursor.isActive() && !cursor.isGraded()) {
+                    result.add(cursor.toEnrollment());
+                }
+            }
+            return result;
+        });
     }
 
     // Data management
     public void clearAllEnrollments() {
-        enrollments.clear();
-        nextId = 1;
+        CLEAR_ALL_ENROLLMENTS_LATENCY.time(() -> {
+            store.clear();
+            snapshot = EnrollmentSnapshot.EMPTY;
+            events.publish(new DomainEvent.EnrollmentsCleared());
+            sectionEnrollmentCounts.clear();
+            rowsByStudentSemester.clear();
+            for (Semester semester : Semester.values()) {
+                semesterCounters.put(semester, new SemesterCounters());
+            }
+            for (ChangeListener listener : changeListeners) {
+                listener.onEnrollmentsCleared();
+            }
+        });
     }
 
     public int getEnrollmentCount() {
-        return enrollments.size();
+        return store.size();
     }
 }
@@ -1,16 +1,25 @@
 package src.edu.ccrm.service;
 
+import src.edu.ccrm.metrics.Counter;
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.metrics.jfr.BackupFileCopiedEvent;
+import src.edu.ccrm.metrics.jfr.ImportChunkParsedEvent;
 import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Enrollment;
 import src.edu.ccrm.model.Instructor;
 import src.edu.ccrm.model.Student;
 import src.edu.ccrm.model.interfaces.Persistable;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -21,6 +30,75 @@ import java.util.stream.Stream;
 */
 
 public class FileService {
+    public static final String STUDENT_CSV_HEADER = "id,regNo,fullName,email,status,enrolledCourseCodes,createdAt";
+    public static final String COURSE_CSV_HEADER =
+            "id,courseCode,title,description,credits,department,instructorId,semester,status,capacity";
+    public static final String INSTRUCTOR_CSV_HEADER = "id,fullName,email,department,title,status,assignedCourses";
+    public static final String ENROLLMENT_CSV_HEADER =
+            "id,studentId,courseCode,semester,enrolledAt,percentageScore,grade,status";
+
+    /**
+     * Buffered line writer for one CSV file. The header is written on opening and is not counted.
+     */
+    public static final class CsvWriter implements Closeable {
+        private final BufferedWriter writer;
+        private long rowCount;
+
+        private CsvWriter(BufferedWriter writer) {
+            this.writer = writer;
+            this.rowCount = -1;
+        }
+
+        public void write(Persistable record) throws IOException {
+            writeLine(record.toCSV());
+        }
+
+        public void writeLine(String line) throws IOException {
+            writer.write(line);
+            writer.newLine();
+            rowCount++;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    // Lines per Flight Recorder event during an import
+    private static final int IMPORT_CHUNK_LINES = 1000;
+    // Rows read by the imports and rows that could not be parsed
+    private static final Counter IMPORTED_ROWS = MetricsRegistry.getDefault().counter("FileService.importedRows");
+    private static final Counter PARSE_ERRORS = MetricsRegistry.getDefault().counter("FileService.parseErrors");
+    private static final LatencyHistogram IMPORT_STUDENTS_FROM_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.importStudentsFromCSV");
+    private static final LatencyHistogram IMPORT_COURSES_FROM_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.importCoursesFromCSV");
+    private static final LatencyHistogram IMPORT_INSTRUCTORS_FROM_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.importInstructorsFromCSV");
+    private static final LatencyHistogram IMPORT_ENROLLMENTS_FROM_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.importEnrollmentsFromCSV");
+    private static final LatencyHistogram EXPORT_STUDENTS_TO_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.exportStudentsToCSV");
+    private static final LatencyHistogram EXPORT_COURSES_TO_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.exportCoursesToCSV");
+    private static final LatencyHistogram EXPORT_INSTRUCTORS_TO_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.exportInstructorsToCSV");
+    private static final LatencyHistogram EXPORT_ENROLLMENTS_TO_CSV_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.exportEnrollmentsToCSV");
+    private static final LatencyHistogram CREATE_BACKUP_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.createBackup");
+    private static final LatencyHistogram CALCULATE_BACKUP_SIZE_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.calculateBackupSize");
+    private static final LatencyHistogram CALCULATE_TOTAL_BACKUP_SIZE_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.calculateTotalBackupSize");
+    private static final LatencyHistogram LIST_BACKUPS_LATENCY =
+            MetricsRegistry.getDefault().histogram("FileService.listBackups");
+
     private final Path dataDirectory;
     private final Path backupDirectory;
 
@@ -41,153 +119,158 @@ public class FileService {
 
     // Import operations
     public List<Student> importStudentsFromCSV(String filename) throws IOException {
-        Path filePath = dataDirectory.resolve(filename);
-        if (!Files.exists(filePath)) {
-            throw new IOException("File not found: " + filename);
-        }
-
-        List<Student> students = new ArrayList<>();
-        List<String> lines = Files.readAllLines(filePath);
-        
-        // Skip header line
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (!line.isEmpty()) {
-                try {
-                    Student student = Student.fromCSV(line);
-                    students.add(student);
-                } catch (Exception e) {
-                    System.err.println("Error parsing student data: " + line + " - " + e.getMessage());
-                }
-            }
-        }
-        
-        return students;
+        return IMPORT_STUDENTS_FROM_CSV_LATENCY.time(() -> importFromCSV(filename, "student", Student::fromCSV));
     }
 
     public List<Course> importCoursesFromCSV(String filename) throws IOException {
-        Path filePath = dataDirectory.resolve(filename);
-        if (!Files.exists(filePath)) {
-            throw new IOException("File not found: " + filename);
-        }
-
-        List<Course> courses = new ArrayList<>();
-        List<String> lines = Files.readAllLines(filePath);
-        
-        // Skip header line
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (!line.isEmpty()) {
-                try {
-                    Course course = Course.fromCSV(line);
-                    courses.add(course);
-                } catch (Exception e) {
-                    System.err.println("Error parsing course data: " + line + " - " + e.getMessage());
-                }
-            }
-        }
-        
-        return courses;
+        return IMPORT_COURSES_FROM_CSV_LATENCY.time(() -> importFromCSV(filename, "course", Course::fromCSV));
     }
 
     public List<Instructor> importInstructorsFromCSV(String filename) throws IOException {
+        return IMPORT_INSTRUCTORS_FROM_CSV_LATENCY.time(
+                () -> importFromCSV(filename, "instructor", Instructor::fromCSV));
+    }
+
+    public List<Enrollment> importEnrollmentsFromCSV(String filename) throws IOException {
+        return IMPORT_ENROLLMENTS_FROM_CSV_LATENCY.time(
+                () -> importFromCSV(filename, "enrollment", Enrollment::fromCSV));
+    }
+
+    private <T> List<T> importFromCSV(String filename, String recordType, Function<String, T> parser)
+            throws IOException {
         Path filePath = dataDirectory.resolve(filename);
         if (!Files.exists(filePath)) {
             throw new IOException("File not found: " + filename);
         }
 
-        List<Instructor> instructors = new ArrayList<>();
+        List<T> records = new ArrayList<>();
         List<String> lines = Files.readAllLines(filePath);
-        
-        // Skip header line
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (!line.isEmpty()) {
-                try {
-                    Instructor instructor = Instructor.fromCSV(line);
-                    instructors.add(instructor);
-                } catch (Exception e) {
-                    System.err.println("Error parsing instructor data: " + line + " - " + e.getMessage());
+
+        // Skip header line; each chunk of lines is reported to Flight Recorder
+        for (int chunkStart = 1; chunkStart < lines.size(); chunkStart += IMPORT_CHUNK_LINES) {
+            int chunkEnd = Math.min(lines.size(), chunkStart + IMPORT_CHUNK_LINES);
+            ImportChunkParsedEvent event = new ImportChunkParsedEvent();
+            event.begin();
+            int recordsBefore = records.size();
+            int errors = 0;
+            for (int i = chunkStart; i < chunkEnd; i++) {
+                String line = lines.get(i).trim();
+                if (!line.isEmpty()) {
+                    try {
+                        records.add(parser.apply(line));
+                    } catch (Exception e) {
+                        errors++;
+                        PARSE_ERRORS.increment();
+                        System.err.println("Error parsing " + recordType + " data: " + line + " - " + e.getMessage());
+                    }
+                }
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = filename;
+                event.recordType = recordType;
+                event.firstLine = chunkStart + 1;
+                event.lines = chunkEnd - chunkStart;
+                event.records = records.size() - recordsBefore;
+                event.parseErrors = errors;
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    event.characters += lines.get(i).length() + 1;
                 }
+                event.commit();
             }
         }
-        
-        return instructors;
+        IMPORTED_ROWS.add(records.size());
+
+        return records;
     }
 
     // Export operations
     public void exportStudentsToCSV(List<Student> students, String filename) throws IOException {
-        Path filePath = dataDirectory.resolve(filename);
-        List<String> lines = new ArrayList<>();
-        
-        // Add header
-        lines.add("id,regNo,fullName,email,status,enrolledCourseCodes,createdAt");
-        
-        // Add data
-        for (Student student : students) {
-            lines.add(student.toCSV());
-        }
-        
-        Files.write(filePath, lines);
+        EXPORT_STUDENTS_TO_CSV_LATENCY.time(() -> exportToCSV(students, filename, STUDENT_CSV_HEADER));
     }
 
     public void exportCoursesToCSV(List<Course> courses, String filename) throws IOException {
-        Path filePath = dataDirectory.resolve(filename);
-        List<String> lines = new ArrayList<>();
-        
-        // Add header
-        lines.add("id,courseCode,title,description,credits,department,instructorId,semester,status");
-        
-        // Add data
-        for (Course course : courses) {
-            lines.add(course.toCSV());
-        }
-        
-        Files.write(filePath, lines);
+        EXPORT_COURSES_TO_CSV_LATENCY.time(() -> exportToCSV(courses, filename, COURSE_CSV_HEADER));
     }
 
     public void exportInstructorsToCSV(List<Instructor> instructors, String filename) throws IOException {
+        EXPORT_INSTRUCTORS_TO_CSV_LATENCY.time(() -> exportToCSV(instructors, filename, INSTRUCTOR_CSV_HEADER));
+    }
+
+    public void exportEnrollmentsToCSV(List<Enrollment> enrollments, String filename) throws IOException {
+        EXPORT_ENROLLMENTS_TO_CSV_LATENCY.time(() -> exportToCSV(enrollments, filename, ENROLLMENT_CSV_HEADER));
+    }
+
+    private void exportToCSV(List<? extends Persistable> records, String filename, String header)
+            throws IOException {
+        try (CsvWriter writer = openCsvWriter(filename, header)) {
+            for (Persistable record : records) {
+                writer.write(record);
+            }
+        }
+    }
+
+    /**
+     * Open a CSV file for writing one record at a time, so data sets larger than memory
+     * can be exported. Missing parent directories are created.
+     */
+    public CsvWriter openCsvWriter(String filename, String header) throws IOException {
         Path filePath = dataDirectory.resolve(filename);
-        List<String> lines = new ArrayList<>();
-        
-        // Add header
-        lines.add("id,fullName,email,department,title,status,assignedCourses");
-        
-        // Add data
-        for (Instructor instructor : instructors) {
-            lines.add(instructor.toCSV());
+        Path parent = filePath.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
         }
-        
-        Files.write(filePath, lines);
+        CsvWriter writer = new CsvWriter(Files.newBufferedWriter(filePath));
+        writer.writeLine(header);
+        return writer;
     }
 
     // Backup operations
     public Path createBackup() throws IOException {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        Path backupPath = backupDirectory.resolve("backup_" + timestamp);
-        Files.createDirectories(backupPath);
+        return CREATE_BACKUP_LATENCY.time(() -> {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            Path backupPath = backupDirectory.resolve("backup_" + timestamp);
+            Files.createDirectories(backupPath);
         
-        // Copy all CSV files to backup
-        try (Stream<Path> files = Files.list(dataDirectory)) {
-            files.filter(path -> path.toString().endsWith(".csv"))
-                 .forEach(csvFile -> {
-                     try {
-                         Files.copy(csvFile, backupPath.resolve(csvFile.getFileName()));
-                     } catch (IOException e) {
-                         System.err.println("Error copying file: " + csvFile + " - " + e.getMessage());
-                     }
-                 });
-        }
+            // Copy all CSV files to backup
+            try (Stream<Path> files = Files.list(dataDirectory)) {
+                files.filter(path -> path.toString().endsWith(".csv"))
+                     .forEach(csvFile -> copyToBackup(csvFile, backupPath));
+            }
         
-        return backupPath;
+            return backupPath;
+        });
+    }
+
+    private void copyToBackup(Path csvFile, Path backupPath) {
+        Path target = backupPath.resolve(csvFile.getFileName());
+        BackupFileCopiedEvent event = new BackupFileCopiedEvent();
+        event.begin();
+        try {
+            Files.copy(csvFile, target);
+            event.succeeded = true;
+        } catch (IOException e) {
+            System.err.println("Error copying file: " + csvFile + " - " + e.getMessage());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = csvFile.toString();
+            event.target = target.toString();
+            try {
+                event.bytes = event.succeeded ? Files.size(target) : 0;
+            } catch (IOException e) {
+                // The copy is reported without its size
+            }
+            event.commit();
+        }
     }
 
     public long calculateBackupSize(Path backupPath) throws IOException {
-        return calculateDirectorySize(backupPath);
+        return CALCULATE_BACKUP_SIZE_LATENCY.time(() -> calculateDirectorySize(backupPath));
     }
 
     public long calculateTotalBackupSize() throws IOException {
-        return calculateDirectorySize(backupDirectory);
+        return CALCULATE_TOTAL_BACKUP_SIZE_LATENCY.time(() -> calculateDirectorySize(backupDirectory));
     }
 
     // Recursive utility method
@@ -214,14 +297,16 @@ public class FileService {
 
     // List backup directories
     public List<Path> listBackups() throws IOException {
-        List<Path> backups = new ArrayList<>();
-        try (Stream<Path> paths = Files.list(backupDirectory)) {
-            paths.filter(Files::isDirectory)
-                 .filter(path -> path.getFileName().toString().startsWith("backup_"))
-                 .sorted((p1, p2) -> p2.getFileName().compareTo(p1.getFileName())) // Most recent first
-                 .forEach(backups::add);
-        }
-        return backups;
+        return LIST_BACKUPS_LATENCY.time(() -> {
+            List<Path> backups = new ArrayList<>();
+            try (Stream<Path> paths = Files.list(backupDirectory)) {
+                paths.filter(Files::isDirectory)
+                     .filter(path -> path.getFileName().toString().startsWith("backup_"))
+                     .sorted((p1, p2) -> p2.getFileName().compareTo(p1.getFileName())) // Most recent first
+                     .forEach(backups::add);
+            }
+            return backups;
+        });
     }
 
     // Format file size for display
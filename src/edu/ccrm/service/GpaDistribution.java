@@ -0,0 +1,160 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.model.Student;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of GPAs on a 0.01 grade point grid with running totals for mean and
+ * standard deviation. It can be filled in a single pass or kept up to date as
+ * GPAs change, and every query costs O(buckets) regardless of the student count.
+ */
+public class GpaDistribution {
+    private static final int BINS_PER_POINT = 100;
+    private static final int BIN_COUNT = 4 * BINS_PER_POINT + 1;
+    private static final double BIN_EPSILON = 1e-9;
+    // Sums are kept in exact thousandths of a grade point so removals never drift
+    private static final double SUM_SCALE = 1000.0;
+
+    private final long[] bins;
+    private long count;
+    private long sum;
+    private long sumOfSquares;
+
+    public GpaDistribution() {
+        this.bins = new long[BIN_COUNT];
+    }
+
+    private GpaDistribution(GpaDistribution other) {
+        this.bins = other.bins.clone();
+        this.count = other.count;
+        this.sum = other.sum;
+        this.sumOfSquares = other.sumOfSquares;
+    }
+
+    /**
+     * Build a distribution of the active students in one pass.
+     */
+    public static GpaDistribution of(Iterable<Student> students) {
+        GpaDistribution distribution = new GpaDistribution();
+        for (Student student : students) {
+            if (student.isActive()) {
+                distribution.add(student.getGpa());
+            }
+        }
+        return distribution;
+    }
+
+    // Updates
+    public void add(double gpa) {
+        bins[binOf(gpa)]++;
+        long scaled = scaled(gpa);
+        count++;
+        sum += scaled;
+        sumOfSquares += scaled * scaled;
+    }
+
+    public void remove(double gpa) {
+        int bin = binOf(gpa);
+        if (bins[bin] == 0) {
+            throw new IllegalStateException("GPA " + gpa + " is not part of the distribution");
+        }
+        bins[bin]--;
+        long scaled = scaled(gpa);
+        count--;
+        sum -= scaled;
+        sumOfSquares -= scaled * scaled;
+    }
+
+    public void change(double oldGpa, double newGpa) {
+        remove(oldGpa);
+        add(newGpa);
+    }
+
+    public void clear() {
+        Arrays.fill(bins, 0);
+        count = 0;
+        sum = 0;
+        sumOfSquares = 0;
+    }
+
+    public GpaDistribution copy() {
+        return new GpaDistribution(this);
+    }
+
+    // Queries
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count > 0 ? sum / SUM_SCALE / count : 0.0;
+    }
+
+    public double getStandardDeviation() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double mean = (double) sum / count;
+        double variance = (double) sumOfSquares / count - mean * mean;
+        return Math.sqrt(Math.max(variance, 0.0)) / SUM_SCALE;
+    }
+
+    /**
+     * Get the nearest-rank percentile, accurate to 0.01 grade points.
+     * @param percentile a value between 0 and 100
+     */
+    public double getPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            seen += bins[bin];
+            if (seen >= rank) {
+                return (double) bin / BINS_PER_POINT;
+            }
+        }
+        return 4.0;
+    }
+
+    /**
+     * Count students per band. Thresholds must be ascending and are the inclusive
+     * lower bounds of each band above the first, so thresholds {2.0, 3.0} yield
+     * counts for [0, 2.0), [2.0, 3.0) and [3.0, 4.0].
+     */
+    public long[] countBands(double... thresholds) {
+        int[] boundaries = new int[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            boundaries[i] = binOf(thresholds[i]);
+            if (i > 0 && boundaries[i] < boundaries[i - 1]) {
+                throw new IllegalArgumentException("Thresholds must be in ascending order");
+            }
+        }
+
+        long[] counts = new long[thresholds.length + 1];
+        int band = 0;
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            while (band < boundaries.length && bin >= boundaries[band]) {
+                band++;
+            }
+            counts[band] += bins[bin];
+        }
+        return counts;
+    }
+
+    private static int binOf(double gpa) {
+        if (gpa < 0.0 || gpa > 4.0) {
+            throw new IllegalArgumentException("GPA must be between 0.0 and 4.0");
+        }
+        return (int) Math.floor(gpa * BINS_PER_POINT + BIN_EPSILON);
+    }
+
+    private static long scaled(double gpa) {
+        return Math.round(gpa * SUM_SCALE);
+    }
+}
@@ -0,0 +1,202 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.util.primitive.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Ranked view of students ordered by GPA, highest first.
+ * A sorted set keeps the ranking, so a GPA change costs O(log n) and the
+ * top K students are read straight off the head of the set in O(K).
+ * Entries are found by the student's numeric key. A board holding more than an eighth
+ * of the keys up to its highest indexes an array; a sparser one, such as a small
+ * department's, keeps a hash map, so its memory follows the students it ranks rather
+ * than the highest key.
+ */
+public class GpaLeaderboard {
+    private static final Comparator<Entry> RANKING = (e1, e2) -> {
+        int byGpa = Double.compare(e2.gpa, e1.gpa);
+        return byGpa != 0 ? byGpa : Long.compare(e1.sequence, e2.sequence);
+    };
+
+    private final NavigableSet<Entry> ranking;
+    // Exactly one of these is set: the map while the board is sparse, the array once it is dense
+    private Entry[] entriesByKey;
+    private LongObjectMap<Entry> sparseEntries;
+    // Highest key held while sparse
+    private int maxSparseKey;
+    private int size;
+    private long nextSequence;
+
+    // A ranked student; the GPA is copied so the set order never changes under us
+    private static final class Entry {
+        private final Student student;
+        private final long sequence;
+        private double gpa;
+
+        private Entry(Student student, long sequence, double gpa) {
+            this.student = student;
+            this.sequence = sequence;
+            this.gpa = gpa;
+        }
+    }
+
+    public GpaLeaderboard() {
+        this.ranking = new TreeSet<>(RANKING);
+        this.sparseEntries = new LongObjectMap<>();
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Add a student to the leaderboard. A student already on the board is left as it is.
+     */
+    public void add(Student student) {
+        add(student, student.getGpa());
+    }
+
+    /**
+     * Add a student ranked by the given GPA rather than the one it holds now,
+     * for boards kept off the thread that updates students.
+     */
+    public void add(Student student, double gpa) {
+        int key = keyOf(student);
+        if (entry(student) == null) {
+            Entry entry = new Entry(student, nextSequence++, gpa);
+            size++;
+            if (entriesByKey != null && key >= entriesByKey.length && !isDense(size, key)) {
+                toSparse();
+            }
+            if (entriesByKey != null) {
+                if (key >= entriesByKey.length) {
+                    entriesByKey = Arrays.copyOf(entriesByKey, Math.max(key + 1, entriesByKey.length * 2));
+                }
+                entriesByKey[key] = entry;
+            } else {
+                sparseEntries.put(key, entry);
+                maxSparseKey = Math.max(maxSparseKey, key);
+                if (isDense(size, maxSparseKey)) {
+                    toDense();
+                }
+            }
+            ranking.add(entry);
+        }
+    }
+
+    private static boolean isDense(int size, int maxKey) {
+        return (long) size * 8 > maxKey;
+    }
+
+    private void toDense() {
+        Entry[] entries = new Entry[maxSparseKey + 1];
+        sparseEntries.forEach((key, entry) -> entries[(int) key] = entry);
+        entriesByKey = entries;
+        sparseEntries = null;
+    }
+
+    private void toSparse() {
+        sparseEntries = new LongObjectMap<>(size);
+        maxSparseKey = 0;
+        for (int key = 1; key < entriesByKey.length; key++) {
+            if (entriesByKey[key] != null) {
+                sparseEntries.put(key, entriesByKey[key]);
+                maxSparseKey = key;
+            }
+        }
+        entriesByKey = null;
+    }
+
+    /**
+     * Take a student off the leaderboard. Students not on this board are ignored.
+     */
+    public void remove(Student student) {
+        Entry entry = entry(student);
+        if (entry != null) {
+            ranking.remove(entry);
+            if (sparseEntries != null) {
+                sparseEntries.remove(student.getKey());
+            } else {
+                entriesByKey[student.getKey()] = null;
+            }
+            size--;
+        }
+    }
+
+    /**
+     * Re-rank a student after its GPA changed. Students not on this board are ignored.
+     */
+    public void update(Student student) {
+        update(student, student.getGpa());
+    }
+
+    /**
+     * Re-rank a student by the given GPA. Students not on this board are ignored.
+     */
+    public void update(Student student, double gpa) {
+        Entry entry = entry(student);
+        if (entry != null && entry.gpa != gpa) {
+            ranking.remove(entry);
+            entry.gpa = gpa;
+            ranking.add(entry);
+        }
+    }
+
+    public boolean contains(Student student) {
+        return entry(student) != null;
+    }
+
+    private Entry entry(Student student) {
+        int key = student.getKey();
+        if (key <= 0) {
+            return null;
+        }
+        if (sparseEntries != null) {
+            return sparseEntries.get(key);
+        }
+        return key < entriesByKey.length ? entriesByKey[key] : null;
+    }
+
+    private static int keyOf(Student student) {
+        int key = student.getKey();
+        if (key <= 0) {
+            throw new IllegalArgumentException("Student ID has no numeric key: " + student.getId());
+        }
+        return key;
+    }
+
+    /**
+     * Get the highest ranked students. Owners remove students that should not be
+     * listed, e.g. on deactivation, so this reads exactly {@code limit} entries.
+     */
+    public List<Student> top(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        List<Student> result = new ArrayList<>(Math.min(limit, size));
+        for (Entry entry : ranking) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(entry.student);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        ranking.clear();
+        entriesByKey = null;
+        sparseEntries = new LongObjectMap<>();
+        maxSparseKey = 0;
+        size = 0;
+        nextSequence = 0;
+    }
+}
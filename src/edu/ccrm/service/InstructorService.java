@@ -0,0 +1,211 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Instructor;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.interfaces.Searchable;
+import src.edu.ccrm.model.value.EntityId;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Service class for instructor management and teaching load reports.
+ * The course side of every assignment lives in {@link CourseService}; this service
+ * listens to it so each registered instructor's assigned courses stay in step.
+ */
+public class InstructorService implements Searchable<Instructor> {
+    private final Map<String, Instructor> instructors;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private int nextId;
+
+    public InstructorService(CourseService courseService, EnrollmentService enrollmentService) {
+        this.instructors = new LinkedHashMap<>();
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.nextId = 1;
+        courseService.addUpdateListener(new CourseService.UpdateListener() {
+            @Override
+            public void onCourseUpdated(Course course, String previousTitle, int previousCredits) {
+                // Loads are read from the courses, so detail edits need no bookkeeping
+            }
+
+            @Override
+            public void onInstructorAssigned(Course course, String previousInstructorId) {
+                syncAssignment(course, previousInstructorId);
+            }
+
+            @Override
+            public void onCoursesCleared() {
+                for (Instructor instructor : instructors.values()) {
+                    for (String courseCode : instructor.getAssignedCourses()) {
+                        instructor.unassignCourse(courseCode);
+                    }
+                }
+            }
+        });
+    }
+
+    // CRUD operations
+    public Instructor addInstructor(String fullName, String email, String department, String title) {
+        Instructor instructor = new Instructor(EntityId.format(EntityId.INSTRUCTOR, nextId++),
+                fullName, email, department, title);
+        instructors.put(instructor.getId(), instructor);
+        return instructor;
+    }
+
+    /**
+     * Register an existing instructor, e.g. one read from CSV. Its assigned courses
+     * are replaced by the courses that name it as instructor. Later calls to
+     * {@link #addInstructor} number new instructors after it.
+     */
+    public Instructor registerInstructor(Instructor instructor) {
+        if (instructors.containsKey(instructor.getId())) {
+            throw new IllegalArgumentException("Instructor already registered: " + instructor.getId());
+        }
+        for (String courseCode : instructor.getAssignedCourses()) {
+            instructor.unassignCourse(courseCode);
+        }
+        for (Course course : courseService.searchByInstructor(instructor.getId())) {
+            instructor.assignCourse(course.getCourseCode().toString());
+        }
+        instructors.put(instructor.getId(), instructor);
+        // Keep generated IDs clear of the registered one
+        int key = EntityId.parse(EntityId.INSTRUCTOR, instructor.getId());
+        if (key >= nextId) {
+            nextId = key + 1;
+        }
+        return instructor;
+    }
+
+    public Instructor getInstructorById(String id) {
+        return instructors.get(id);
+    }
+
+    public List<Instructor> getAllInstructors() {
+        return new ArrayList<>(instructors.values());
+    }
+
+    /**
+     * Get the courses taught by an instructor from the course service's instructor index.
+     */
+    public List<Course> getCourses(String instructorId) {
+        return courseService.searchByInstructor(instructorId);
+    }
+
+    @Override
+    public Instructor[] search(Predicate<Instructor> predicate) {
+        return instructors.values().stream()
+                .filter(predicate)
+                .toArray(Instructor[]::new);
+    }
+
+    // Keep the instructor side of an assignment consistent with the course side
+    private void syncAssignment(Course course, String previousInstructorId) {
+        String courseCode = course.getCourseCode().toString();
+        Instructor previous = previousInstructorId != null ? instructors.get(previousInstructorId) : null;
+        if (previous != null && !teachesCode(previousInstructorId, course)) {
+            previous.unassignCourse(courseCode);
+        }
+        Instructor current = course.getInstructorId() != null ? instructors.get(course.getInstructorId()) : null;
+        if (current != null) {
+            current.assignCourse(courseCode);
+        }
+    }
+
+    // Another course with the same code may still be taught by the instructor
+    private boolean teachesCode(String instructorId, Course course) {
+        for (Course taught : courseService.searchByInstructor(instructorId)) {
+            if (taught.getCourseCode() == course.getCourseCode()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Reports
+    /**
+     * Get the teaching load of every instructor named on a course, per semester.
+     * A course counts toward a semester when it is offered then or has active
+     * enrollments then; student numbers come from the maintained section counters,
+     * so the cost is proportional to the number of assignments.
+     */
+    public List<Instructor.TeachingLoad> getTeachingLoads() {
+        Semester[] semesters = Semester.values();
+        List<String> instructorIds = new ArrayList<>(courseService.getInstructorIds());
+        instructorIds.sort(null);
+
+        List<Instructor.TeachingLoad> loads = new ArrayList<>();
+        for (String instructorId : instructorIds) {
+            int[] courses = new int[semesters.length];
+            int[] credits = new int[semesters.length];
+            int[] students = new int[semesters.length];
+            for (Course course : courseService.searchByInstructor(instructorId)) {
+                for (Semester semester : semesters) {
+                    int enrolled = enrollmentService.getSectionEnrollmentCount(course.getCourseCode(), semester);
+                    if (enrolled > 0 || course.getSemester() == semester) {
+                        courses[semester.ordinal()]++;
+                        credits[semester.ordinal()] += course.getCredits();
+                        students[semester.ordinal()] += enrolled;
+                    }
+                }
+            }
+
+            Instructor instructor = instructors.get(instructorId);
+            String name = instructor != null ? instructor.getFullName() : instructorId;
+            for (Semester semester : semesters) {
+                int i = semester.ordinal();
+                if (courses[i] > 0) {
+                    loads.add(new Instructor.TeachingLoad(instructorId, name, semester,
+                            courses[i], credits[i], students[i]));
+                }
+            }
+        }
+        return loads;
+    }
+
+    public String getTeachingLoadReport() {
+        List<Instructor.TeachingLoad> loads = getTeachingLoads();
+        StringBuilder report = new StringBuilder("Teaching Load Report:\n");
+        if (loads.isEmpty()) {
+            report.append("No instructors assigned to courses\n");
+            return report.toString();
+        }
+
+        long totalCredits = 0;
+        long totalStudents = 0;
+        for (Instructor.TeachingLoad load : loads) {
+            totalCredits += load.getCredits();
+            totalStudents += load.getEnrolledStudents();
+        }
+        double averageCredits = (double) totalCredits / loads.size();
+        double averageStudents = (double) totalStudents / loads.size();
+
+        for (Instructor.TeachingLoad load : loads) {
+            report.append(String.format("%s (%s) %s: %d courses, %d credits, %d students",
+                    load.getInstructorId(), load.getInstructorName(), load.getSemester(),
+                    load.getCourses(), load.getCredits(), load.getEnrolledStudents()));
+            if (load.getCredits() > averageCredits * 1.25 || load.getEnrolledStudents() > averageStudents * 1.25) {
+                report.append(" [above average]");
+            }
+            report.append('\n');
+        }
+        report.append(String.format("Average per instructor and semester: %.1f credits, %.1f students%n",
+                averageCredits, averageStudents));
+        return report.toString();
+    }
+
+    // Data management
+    public void clearAllInstructors() {
+        instructors.clear();
+        nextId = 1;
+    }
+
+    public int getInstructorCount() {
+        return instructors.size();
+    }
+}
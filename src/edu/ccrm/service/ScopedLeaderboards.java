@@ -0,0 +1,182 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.events.DomainEvent;
+import src.edu.ccrm.events.DomainEventBus;
+import src.edu.ccrm.model.Student;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.util.primitive.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GPA leaderboards per semester and per department, built from the domain events
+ * on the bus's thread instead of inside every enrollment and grade write.
+ * An active student is ranked on a board while it has an active enrollment in its scope,
+ * by the GPA carried in the latest event. Each student's boards are tracked, so a GPA
+ * change re-ranks only the boards the student is on. Events and queries take the same lock.
+ */
+final class ScopedLeaderboards implements DomainEventBus.Subscriber {
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    // Semester boards at their ordinals, then department boards in order of first enrollment
+    private final List<GpaLeaderboard> boards;
+    private final Map<String, Integer> departmentBoards;
+    // Students with active enrollments, by student key
+    private final LongObjectMap<Member> members;
+
+    // A student's boards, as pairs of board index and active enrollments in the board's scope
+    private static final class Member {
+        private final Student student;
+        private int[] boardEnrollments = new int[12];
+        private int size;
+        private int enrollments;
+        private boolean active = true;
+
+        private Member(Student student) {
+            this.student = student;
+        }
+
+        // Add delta to the board's enrollments and return the new count, or -1 if it had none
+        private int adjust(int board, int delta) {
+            for (int i = 0; i < size; i += 2) {
+                if (boardEnrollments[i] == board) {
+                    int count = boardEnrollments[i + 1] + delta;
+                    if (count == 0) {
+                        size -= 2;
+                        boardEnrollments[i] = boardEnrollments[size];
+                        boardEnrollments[i + 1] = boardEnrollments[size + 1];
+                    } else {
+                        boardEnrollments[i + 1] = count;
+                    }
+                    return count;
+                }
+            }
+            if (delta < 0) {
+                return -1;
+            }
+            if (size == boardEnrollments.length) {
+                boardEnrollments = Arrays.copyOf(boardEnrollments, size * 2);
+            }
+            boardEnrollments[size++] = board;
+            boardEnrollments[size++] = delta;
+            return delta;
+        }
+    }
+
+    ScopedLeaderboards() {
+        this.boards = new ArrayList<>();
+        this.departmentBoards = new HashMap<>();
+        this.members = new LongObjectMap<>();
+        addSemesterBoards();
+    }
+
+    private void addSemesterBoards() {
+        for (int i = 0; i < SEMESTERS.length; i++) {
+            boards.add(new GpaLeaderboard());
+        }
+    }
+
+    @Override
+    public synchronized void onEnrolled(DomainEvent.Enrolled event) {
+        Student student = event.getStudent();
+        Member member = members.computeIfAbsent(student.getKey(), key -> new Member(student));
+        member.enrollments++;
+        enroll(member, event.getSemester().ordinal(), event.getGpa());
+        enroll(member, departmentBoard(event.getDepartment()), event.getGpa());
+    }
+
+    private void enroll(Member member, int board, double gpa) {
+        if (member.adjust(board, 1) == 1 && member.active) {
+            boards.get(board).add(member.student, gpa);
+        }
+    }
+
+    @Override
+    public synchronized void onUnenrolled(DomainEvent.Unenrolled event) {
+        Member member = members.get(event.getStudent().getKey());
+        if (member == null) {
+            return;
+        }
+        unenroll(member, event.getSemester().ordinal());
+        // Without the course's department, its board keeps the student until the last unenrollment
+        Integer department = event.getDepartment() != null
+                ? departmentBoards.get(event.getDepartment().toLowerCase()) : null;
+        if (department != null) {
+            unenroll(member, department);
+        }
+        if (--member.enrollments == 0) {
+            if (member.active) {
+                for (int i = 0; i < member.size; i += 2) {
+                    boards.get(member.boardEnrollments[i]).remove(member.student);
+                }
+            }
+            members.remove(member.student.getKey());
+        }
+    }
+
+    private void unenroll(Member member, int board) {
+        if (member.adjust(board, -1) == 0 && member.active) {
+            boards.get(board).remove(member.student);
+        }
+    }
+
+    @Override
+    public synchronized void onGpaChanged(DomainEvent.GpaChanged event) {
+        Member member = members.get(event.getStudent().getKey());
+        if (member != null && member.active) {
+            for (int i = 0; i < member.size; i += 2) {
+                boards.get(member.boardEnrollments[i]).update(member.student, event.getGpa());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onStudentDeactivated(DomainEvent.StudentDeactivated event) {
+        Member member = members.get(event.getStudent().getKey());
+        if (member != null && member.active) {
+            member.active = false;
+            for (int i = 0; i < member.size; i += 2) {
+                boards.get(member.boardEnrollments[i]).remove(member.student);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onStudentActivated(DomainEvent.StudentActivated event) {
+        Member member = members.get(event.getStudent().getKey());
+        if (member != null && !member.active) {
+            member.active = true;
+            for (int i = 0; i < member.size; i += 2) {
+                boards.get(member.boardEnrollments[i]).add(member.student, event.getGpa());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onEnrollmentsCleared(DomainEvent.EnrollmentsCleared event) {
+        boards.clear();
+        departmentBoards.clear();
+        members.clear();
+        addSemesterBoards();
+    }
+
+    synchronized List<Student> top(Semester semester, int limit) {
+        return boards.get(semester.ordinal()).top(limit);
+    }
+
+    synchronized List<Student> topInDepartment(String department, int limit) {
+        Integer board = departmentBoards.get(department.toLowerCase());
+        return board != null ? boards.get(board).top(limit) : new ArrayList<>();
+    }
+
+    private int departmentBoard(String department) {
+        return departmentBoards.computeIfAbsent(department.toLowerCase(), d -> {
+            boards.add(new GpaLeaderboard());
+            return boards.size() - 1;
+        });
+    }
+}
@@ -1,11 +1,23 @@
 package src.edu.ccrm.service;
 
+import src.edu.ccrm.events.DomainEvent;
+import src.edu.ccrm.events.DomainEventBus;
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.metrics.Span;
+import src.edu.ccrm.metrics.Tracer;
 import src.edu.ccrm.model.Student;
 import src.edu.ccrm.model.interfaces.Searchable;
 import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
+import src.edu.ccrm.service.snapshot.StudentRecord;
+import src.edu.ccrm.util.persistent.PersistentVector;
+import src.edu.ccrm.util.primitive.SortedIntSet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -16,136 +28,339 @@ import java.util.stream.Collectors;
 }
 */
 public class StudentService implements Searchable<Student> {
+    // Spans for enrollment traces; a no-op outside a sampled trace
+    private static final Tracer TRACER = Tracer.getDefault();
+    private static final LatencyHistogram ADD_STUDENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.addStudent");
+    private static final LatencyHistogram GET_STUDENT_BY_ID_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getStudentById");
+    private static final LatencyHistogram GET_STUDENT_BY_KEY_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getStudentByKey");
+    private static final LatencyHistogram GET_STUDENT_BY_REG_NO_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getStudentByRegNo");
+    private static final LatencyHistogram GET_ALL_STUDENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getAllStudents");
+    private static final LatencyHistogram GET_ACTIVE_STUDENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getActiveStudents");
+    private static final LatencyHistogram UPDATE_STUDENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.updateStudent");
+    private static final LatencyHistogram DEACTIVATE_STUDENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.deactivateStudent");
+    private static final LatencyHistogram ACTIVATE_STUDENT_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.activateStudent");
+    private static final LatencyHistogram UPDATE_GPA_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.updateGpa");
+    private static final LatencyHistogram SEARCH_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.search");
+    private static final LatencyHistogram SEARCH_BY_NAME_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.searchByName");
+    private static final LatencyHistogram SEARCH_BY_EMAIL_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.searchByEmail");
+    private static final LatencyHistogram SEARCH_BY_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.searchByCourse");
+    private static final LatencyHistogram GET_STATISTICS_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getStatistics");
+    private static final LatencyHistogram GET_TOP_STUDENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getTopStudents");
+    private static final LatencyHistogram GET_GPA_DISTRIBUTION_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.getGpaDistribution");
+    private static final LatencyHistogram ENROLL_STUDENT_IN_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.enrollStudentInCourse");
+    private static final LatencyHistogram UNENROLL_STUDENT_FROM_COURSE_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.unenrollStudentFromCourse");
+    private static final LatencyHistogram CLEAR_ALL_STUDENTS_LATENCY =
+            MetricsRegistry.getDefault().histogram("StudentService.clearAllStudents");
+
+    // Indexed by key - 1: keys are minted densely and students are never removed
     private final List<Student> students;
+    // Ranking of the active students, kept up to date from the events on the bus's thread
+    private final CampusLeaderboard leaderboard;
+    private final DomainEventBus.Subscription leaderboardSubscription;
+    // Kept inline: a GPA change moves two bucket counts, and getStatistics reads its totals back
+    private final GpaDistribution activeGpaDistribution;
+    // Keys of the students enrolled in each course, in ascending key order, indexed by CourseCode.ordinal()
+    private SortedIntSet[] studentsByCourse;
+    // Records of every student in key order, republished after each change for lock-free reports
+    private volatile PersistentVector<StudentRecord> snapshot;
+    private final DomainEventBus events;
     private int nextId;
 
-    public StudentService() {
+    /**
+     * @param events the bus student changes are announced on. The campus leaderboard
+     *               subscribes to it; the caller owns the bus and closing it stops them.
+     */
+    public StudentService(DomainEventBus events) {
+        this.events = events;
         this.students = new ArrayList<>();
+        this.snapshot = PersistentVector.empty();
+        this.leaderboard = new CampusLeaderboard();
+        this.leaderboardSubscription = events.subscribe("campus-leaderboard", leaderboard);
+        this.activeGpaDistribution = new GpaDistribution();
+        this.studentsByCourse = new SortedIntSet[64];
         this.nextId = 1;
     }
 
     // CRUD operations
     public Student addStudent(String regNo, String fullName, String email) {
-        String id = "STU" + String.format("%04d", nextId++);
-        Student student = new Student(id, regNo, fullName, email);
-        students.add(student);
-        return student;
+        return ADD_STUDENT_LATENCY.time(() -> {
+            Student student = new Student(EntityId.format(EntityId.STUDENT, nextId++), regNo, fullName, email);
+            students.add(student);
+            activeGpaDistribution.add(student.getGpa());
+            snapshot = snapshot.append(StudentRecord.of(student));
+            events.publish(new DomainEvent.StudentAdded(student));
+            return student;
+        });
     }
 
     public Student getStudentById(String id) {
-        return students.stream()
-                .filter(s -> s.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        Span span = TRACER.startSpan("StudentService.getStudentById");
+        try {
+            return studentById(id);
+        } finally {
+            span.end();
+            GET_STUDENT_BY_ID_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Get a student by numeric key in O(1).
+     */
+    public Student getStudentByKey(int key) {
+        return GET_STUDENT_BY_KEY_LATENCY.time(() -> studentAt(key));
+    }
+
+    // Untimed lookups for use inside the service, so a timed call is recorded once
+    private Student studentAt(int key) {
+        return key > 0 && key <= students.size() ? students.get(key - 1) : null;
+    }
+
+    private Student studentById(String id) {
+        return studentAt(EntityId.parse(EntityId.STUDENT, id));
     }
 
     public Student getStudentByRegNo(String regNo) {
-        return students.stream()
+        return GET_STUDENT_BY_REG_NO_LATENCY.time(() -> students.stream()
                 .filter(s -> s.getRegNo().equals(regNo))
                 .findFirst()
-                .orElse(null);
+                .orElse(null));
     }
 
     public List<Student> getAllStudents() {
-        return new ArrayList<>(students);
+        return GET_ALL_STUDENTS_LATENCY.time(() -> new ArrayList<>(students));
     }
 
     public List<Student> getActiveStudents() {
-        return students.stream()
+        return GET_ACTIVE_STUDENTS_LATENCY.time(() -> students.stream()
                 .filter(Student::isActive)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public boolean updateStudent(String id, String fullName, String email) {
-        Student student = getStudentById(id);
-        if (student != null) {
-            student.setFullName(fullName);
-            student.setEmail(email);
-            return true;
-        }
-        return false;
+        return UPDATE_STUDENT_LATENCY.time(() -> {
+            Student student = studentById(id);
+            if (student != null) {
+                student.setFullName(fullName);
+                student.setEmail(email);
+                publish(student);
+                return true;
+            }
+            return false;
+        });
     }
 
     public boolean deactivateStudent(String id) {
-        Student student = getStudentById(id);
-        if (student != null) {
-            student.setActive(false);
-            return true;
-        }
-        return false;
+        return DEACTIVATE_STUDENT_LATENCY.time(() -> {
+            Student student = studentById(id);
+            if (student != null) {
+                if (student.isActive()) {
+                    activeGpaDistribution.remove(student.getGpa());
+                    student.setActive(false);
+                    events.publish(new DomainEvent.StudentDeactivated(student));
+                }
+                publish(student);
+                return true;
+            }
+            return false;
+        });
     }
 
     public boolean activateStudent(String id) {
-        Student student = getStudentById(id);
-        if (student != null) {
-            student.setActive(true);
-            return true;
-        }
-        return false;
+        return ACTIVATE_STUDENT_LATENCY.time(() -> {
+            Student student = studentById(id);
+            if (student != null) {
+                if (!student.isActive()) {
+                    activeGpaDistribution.add(student.getGpa());
+                    student.setActive(true);
+                    events.publish(new DomainEvent.StudentActivated(student));
+                }
+                publish(student);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Set a student's GPA and announce it, so the leaderboards re-rank the student.
+     * GPA changes should go through here rather than {@link Student#setGpa}.
+     */
+    public void updateGpa(Student student, double gpa) {
+        UPDATE_GPA_LATENCY.time(() -> {
+            double previousGpa = student.getGpa();
+            student.setGpa(gpa);
+            if (student.isActive()) {
+                activeGpaDistribution.change(previousGpa, gpa);
+            }
+            publish(student);
+            events.publish(new DomainEvent.GpaChanged(student, previousGpa));
+        });
+    }
+
+    /**
+     * Get the latest published records of all students, indexed by key - 1.
+     * The vector is immutable, so it can be read without locking while students change.
+     */
+    public PersistentVector<StudentRecord> getSnapshot() {
+        return snapshot;
+    }
+
+    private void publish(Student student) {
+        snapshot = snapshot.set(student.getKey() - 1, StudentRecord.of(student));
     }
 
     // Search operations
     @Override
     public Student[] search(Predicate<Student> predicate) {
-        return students.stream()
+        return SEARCH_LATENCY.time(() -> students.stream()
                 .filter(predicate)
-                .toArray(Student[]::new);
+                .toArray(Student[]::new));
     }
 
     public List<Student> searchByName(String name) {
-        return students.stream()
+        return SEARCH_BY_NAME_LATENCY.time(() -> students.stream()
                 .filter(s -> s.getFullName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public List<Student> searchByEmail(String email) {
-        return students.stream()
+        return SEARCH_BY_EMAIL_LATENCY.time(() -> students.stream()
                 .filter(s -> s.getEmail().toLowerCase().contains(email.toLowerCase()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
+    /**
+     * Get the students enrolled in a course from the course index,
+     * in time proportional to the number of students found.
+     */
     public List<Student> searchByCourse(CourseCode courseCode) {
-        return students.stream()
-                .filter(s -> s.isEnrolledIn(courseCode))
-                .collect(Collectors.toList());
+        return SEARCH_BY_COURSE_LATENCY.time(() -> {
+            int ordinal = courseCode.ordinal();
+            SortedIntSet enrolled = ordinal < studentsByCourse.length ? studentsByCourse[ordinal] : null;
+            if (enrolled == null) {
+                return new ArrayList<>();
+            }
+            // Keys ascend in registration order, like a scan of all students would report
+            List<Student> result = new ArrayList<>(enrolled.size());
+            enrolled.forEach(key -> result.add(studentAt(key)));
+            return result;
+        });
     }
 
     // Statistics
+    /**
+     * Get student statistics in O(1). The active count and GPA sum are the running
+     * totals of the active GPA distribution, which every write keeps current.
+     */
     public Student.Statistics getStatistics() {
-        int totalStudents = students.size();
-        int activeStudents = (int) students.stream().filter(Student::isActive).count();
-        double averageGPA = students.stream()
-                .filter(Student::isActive)
-                .mapToDouble(Student::getGpa)
-                .average()
-                .orElse(0.0);
+        return GET_STATISTICS_LATENCY.time(() -> {
+            int totalStudents = students.size();
+            int activeStudents = (int) activeGpaDistribution.getCount();
+            double averageGPA = activeGpaDistribution.getMean();
         
-        return new Student.Statistics(totalStudents, averageGPA, activeStudents);
+            return new Student.Statistics(totalStudents, averageGPA, activeStudents);
+        });
+    }
+
+    /**
+     * Get the highest ranked active students. The ranking is built from the domain events
+     * on the bus's thread, so it may not show the latest writes yet; call
+     * {@link #awaitLeaderboard} first to read your own writes.
+     */
+    public List<Student> getTopStudents(int limit) {
+        return GET_TOP_STUDENTS_LATENCY.time(() -> leaderboard.top(limit));
+    }
+
+    /**
+     * Wait until the campus ranking includes every write made so far.
+     * @return false if that took longer than the timeout or the bus was closed first
+     */
+    public boolean awaitLeaderboard(long timeout, TimeUnit unit) {
+        return leaderboardSubscription.awaitConsumed(events.getPublishedSequence(), timeout, unit);
+    }
+
+    /**
+     * Get a snapshot of the GPA distribution of active students.
+     * The distribution is maintained on every write, so this costs O(buckets).
+     */
+    public GpaDistribution getGpaDistribution() {
+        return GET_GPA_DISTRIBUTION_LATENCY.time(() -> activeGpaDistribution.copy());
     }
 
     // Course enrollment
     public boolean enrollStudentInCourse(String studentId, CourseCode courseCode) {
-        Student student = getStudentById(studentId);
-        if (student != null && student.isActive()) {
-            student.enrollInCourse(courseCode);
-            return true;
+        long start = System.nanoTime();
+        Span span = TRACER.startSpan("StudentService.enrollStudentInCourse");
+        try {
+            Student student = studentById(studentId);
+            if (student != null && student.isActive()) {
+                if (student.enrollInCourse(courseCode)) {
+                    studentsInCourse(courseCode.ordinal()).add(student.getKey());
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            span.end();
+            ENROLL_STUDENT_IN_COURSE_LATENCY.recordSince(start);
         }
-        return false;
     }
 
     public boolean unenrollStudentFromCourse(String studentId, CourseCode courseCode) {
-        Student student = getStudentById(studentId);
-        if (student != null) {
-            student.unenrollFromCourse(courseCode);
-            return true;
+        return UNENROLL_STUDENT_FROM_COURSE_LATENCY.time(() -> {
+            Student student = studentById(studentId);
+            if (student != null) {
+                if (student.unenrollFromCourse(courseCode)) {
+                    studentsInCourse(courseCode.ordinal()).remove(student.getKey());
+                }
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private SortedIntSet studentsInCourse(int ordinal) {
+        if (ordinal >= studentsByCourse.length) {
+            studentsByCourse = Arrays.copyOf(studentsByCourse, Math.max(ordinal + 1, studentsByCourse.length * 2));
+        }
+        SortedIntSet enrolled = studentsByCourse[ordinal];
+        if (enrolled == null) {
+            enrolled = new SortedIntSet();
+            studentsByCourse[ordinal] = enrolled;
         }
-        return false;
+        return enrolled;
     }
 
     // Data management
     public void clearAllStudents() {
-        students.clear();
-        nextId = 1;
+        CLEAR_ALL_STUDENTS_LATENCY.time(() -> {
+            students.clear();
+            activeGpaDistribution.clear();
+            events.publish(new DomainEvent.StudentsCleared());
+            studentsByCourse = new SortedIntSet[64];
+            snapshot = PersistentVector.empty();
+            nextId = 1;
+        });
     }
 
     public int getStudentCount() {
@@ -0,0 +1,237 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Transcript;
+import src.edu.ccrm.model.TranscriptRenderer;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.service.snapshot.CampusSnapshot;
+import src.edu.ccrm.service.snapshot.EnrollmentSnapshot;
+import src.edu.ccrm.service.snapshot.StudentRecord;
+import src.edu.ccrm.util.primitive.LongObjectMap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Batch transcript generation for a whole semester or cohort.
+ * Each run reads one {@link CampusSnapshot}, so it takes no locks and grades posted
+ * while it runs never leave a transcript half old and half new. Enrollments are
+ * grouped by student in one pass, then transcripts are built in parallel on a
+ * fork-join pool.
+ */
+public class TranscriptBatchJob {
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final ForkJoinPool pool;
+
+    public TranscriptBatchJob(StudentService studentService, CourseService courseService,
+                              EnrollmentService enrollmentService) {
+        this(studentService, courseService, enrollmentService, ForkJoinPool.commonPool());
+    }
+
+    public TranscriptBatchJob(StudentService studentService, CourseService courseService,
+                              EnrollmentService enrollmentService, ForkJoinPool pool) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.pool = pool;
+    }
+
+    // Work item for one student, prepared before the parallel phase
+    private static final class Batch {
+        private static final int[] NO_ROWS = new int[0];
+
+        private final StudentRecord student;
+        private int[] rows;
+        private int size;
+
+        private Batch(StudentRecord student) {
+            this.student = student;
+            this.rows = NO_ROWS;
+        }
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(4, size * 2));
+            }
+            rows[size++] = row;
+        }
+    }
+
+    /**
+     * Generate semester transcripts for every student enrolled in the semester.
+     */
+    public List<Transcript> generateForSemester(Semester semester) {
+        return generate(student -> true, semester);
+    }
+
+    /**
+     * Generate full transcripts for every student in the cohort.
+     */
+    public List<Transcript> generateForCohort(Predicate<StudentRecord> cohort) {
+        return generate(cohort, null);
+    }
+
+    /**
+     * Generate transcripts in parallel.
+     * @param cohort the students to include
+     * @param semester restrict entries to this semester, or null for full transcripts
+     */
+    public List<Transcript> generate(Predicate<StudentRecord> cohort, Semester semester) {
+        CampusSnapshot campus = capture();
+        List<Batch> batches = prepare(campus, cohort, semester);
+        return runInPool(() -> batches.parallelStream()
+                .map(batch -> build(batch, campus))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Render transcripts straight to one file per student without keeping them in memory.
+     * @return the number of transcripts written
+     */
+    public int writeTo(Path outputDirectory, Predicate<StudentRecord> cohort, Semester semester)
+            throws IOException {
+        Files.createDirectories(outputDirectory);
+        CampusSnapshot campus = capture();
+        List<Batch> batches = prepare(campus, cohort, semester);
+        try {
+            runInPool(() -> {
+                batches.parallelStream().forEach(batch -> write(outputDirectory, build(batch, campus)));
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return batches.size();
+    }
+
+    /**
+     * Stream every transcript into a single CSV file, one row per entry.
+     * Transcripts are built in parallel and written as soon as they are ready,
+     * so rows are grouped by student but students appear in completion order.
+     * @return the number of transcripts written
+     */
+    public int exportCsv(Path file, Predicate<StudentRecord> cohort, Semester semester) throws IOException {
+        CampusSnapshot campus = capture();
+        List<Batch> batches = prepare(campus, cohort, semester);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            TranscriptRenderer.CSV.renderHeader(writer);
+            runInPool(() -> {
+                batches.parallelStream().forEach(batch -> {
+                    Transcript transcript = build(batch, campus);
+                    synchronized (writer) {
+                        render(TranscriptRenderer.CSV, transcript, writer, file);
+                    }
+                });
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return batches.size();
+    }
+
+    private CampusSnapshot capture() {
+        return CampusSnapshot.capture(studentService, courseService, enrollmentService);
+    }
+
+    // One cursor pass over the snapshot, collecting the active rows in scope by student
+    private static List<Batch> prepare(CampusSnapshot campus, Predicate<StudentRecord> cohort, Semester semester) {
+        LongObjectMap<Batch> batchesByStudent = new LongObjectMap<>();
+        EnrollmentSnapshot.Cursor cursor = campus.getEnrollments().cursor();
+        while (cursor.next()) {
+            if (cursor.isActive() && (semester == null || cursor.getSemester() == semester)) {
+                Batch batch = batchesByStudent.get(cursor.getStudentKey());
+                if (batch == null) {
+                    StudentRecord student = campus.getStudent(cursor.getStudentKey());
+                    if (student == null) {
+                        continue;
+                    }
+                    batch = new Batch(student);
+                    batchesByStudent.put(cursor.getStudentKey(), batch);
+                }
+                batch.add(cursor.row());
+            }
+        }
+
+        List<Batch> batches = new ArrayList<>();
+        for (StudentRecord student : campus.getStudents()) {
+            Batch batch = batchesByStudent.get(student.getKey());
+            // A semester run only covers students who took something that semester
+            if (batch == null && semester != null) {
+                continue;
+            }
+            if (cohort.test(student)) {
+                batches.add(batch != null ? batch : new Batch(student));
+            }
+        }
+        return batches;
+    }
+
+    private static Transcript build(Batch batch, CampusSnapshot campus) {
+        EnrollmentSnapshot enrollments = campus.getEnrollments();
+        Transcript.Builder transcript = new Transcript.Builder(batch.student.getId(), batch.student.getFullName());
+        for (int i = 0; i < batch.size; i++) {
+            int row = batch.rows[i];
+            CourseCode courseCode = enrollments.getCourseCode(row);
+            Course course = campus.getCourse(courseCode);
+            if (course != null) {
+                transcript.addEntry(
+                        courseCode.toString(),
+                        course.getTitle(),
+                        course.getCredits(),
+                        enrollments.getGrade(row),
+                        enrollments.getSemester(row));
+            }
+        }
+        return transcript.build();
+    }
+
+    private static void write(Path outputDirectory, Transcript transcript) {
+        Path file = outputDirectory.resolve(transcript.getStudentId() + ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            render(TranscriptRenderer.TEXT, transcript, writer, file);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transcript: " + file, e);
+        }
+    }
+
+    private static void render(TranscriptRenderer renderer, Transcript transcript, 
+                               BufferedWriter writer, Path file) {
+        try {
+            renderer.render(transcript, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transcript: " + file, e);
+        }
+    }
+
+    // Parallel streams started from inside a pool task run on that pool
+    private <T> T runInPool(Callable<T> task) {
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transcript batch interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Transcript batch failed", cause);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package src.edu.ccrm.service;
+
+import src.edu.ccrm.model.Transcript;
+import src.edu.ccrm.model.enums.Semester;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of generated transcripts keyed by student and optional semester.
+ * Entries are indexed by student and by referenced course code so that a grade,
+ * enrollment or course change drops exactly the transcripts it affects.
+ */
+public class TranscriptCache {
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Transcript> entries;
+    private final Map<String, Set<Key>> keysByStudent;
+    private final Map<String, Set<Key>> keysByCourse;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    // Static nested class for cache metrics
+    public static class Statistics {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        public Statistics(int size, long hits, long misses, long evictions, long invalidations) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public int getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups > 0 ? (double) hits / lookups : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{size=%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, invalidations=%d}",
+                               size, hits, misses, getHitRatio(), evictions, invalidations);
+        }
+    }
+
+    private static final class Key {
+        private final String studentId;
+        private final Semester semester;
+
+        private Key(String studentId, Semester semester) {
+            this.studentId = studentId;
+            this.semester = semester;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Key that = (Key) obj;
+            return studentId.equals(that.studentId) && semester == that.semester;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, semester);
+        }
+    }
+
+    public TranscriptCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.keysByStudent = new HashMap<>();
+        this.keysByCourse = new HashMap<>();
+    }
+
+    /**
+     * Look up a cached transcript.
+     * @param semester the semester of a semester transcript, or null for a full transcript
+     * @return the cached transcript or null on a miss
+     */
+    public synchronized Transcript get(String studentId, Semester semester) {
+        Transcript transcript = entries.get(new Key(studentId, semester));
+        if (transcript != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return transcript;
+    }
+
+    public synchronized void put(String studentId, Semester semester, Transcript transcript) {
+        Key key = new Key(studentId, semester);
+        if (entries.containsKey(key)) {
+            remove(key);
+        }
+        entries.put(key, transcript);
+        keysByStudent.computeIfAbsent(studentId, id -> new HashSet<>()).add(key);
+        for (Transcript.TranscriptEntry entry : transcript.getEntries()) {
+            keysByCourse.computeIfAbsent(entry.getCourseCode(), code -> new HashSet<>()).add(key);
+        }
+
+        if (entries.size() > maxEntries) {
+            Iterator<Key> eldest = entries.keySet().iterator();
+            remove(eldest.next());
+            evictions++;
+        }
+    }
+
+    /**
+     * Drop every transcript of a student.
+     */
+    public synchronized void invalidateStudent(String studentId) {
+        Set<Key> keys = keysByStudent.get(studentId);
+        if (keys != null) {
+            for (Key key : keys.toArray(new Key[0])) {
+                remove(key);
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Drop every transcript listing the given course.
+     */
+    public synchronized void invalidateCourse(String courseCode) {
+        Set<Key> keys = keysByCourse.get(courseCode);
+        if (keys != null) {
+            for (Key key : keys.toArray(new Key[0])) {
+                remove(key);
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+        keysByStudent.clear();
+        keysByCourse.clear();
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(entries.size(), hits, misses, evictions, invalidations);
+    }
+
+    private void remove(Key key) {
+        Transcript transcript = entries.remove(key);
+        if (transcript == null) {
+            return;
+        }
+        unindex(keysByStudent, key.studentId, key);
+        for (Transcript.TranscriptEntry entry : transcript.getEntries()) {
+            unindex(keysByCourse, entry.getCourseCode(), key);
+        }
+    }
+
+    private static void unindex(Map<String, Set<Key>> index, String indexKey, Key key) {
+        Set<Key> keys = index.get(indexKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(indexKey);
+            }
+        }
+    }
+}
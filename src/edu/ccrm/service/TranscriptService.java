@@ -1,12 +1,18 @@
 package src.edu.ccrm.service;
 
+import src.edu.ccrm.metrics.LatencyHistogram;
+import src.edu.ccrm.metrics.MetricsRegistry;
+import src.edu.ccrm.metrics.jfr.TranscriptGeneratedEvent;
 import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.Enrollment;
 import src.edu.ccrm.model.Student;
 import src.edu.ccrm.model.Transcript;
 import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.service.snapshot.CampusSnapshot;
+import src.edu.ccrm.service.snapshot.EnrollmentSnapshot;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service class for transcript generation and management.
@@ -14,157 +20,268 @@ import java.util.stream.Collectors;
  */
 
 public class TranscriptService {
+    private static final LatencyHistogram GENERATE_TRANSCRIPT_LATENCY =
+            MetricsRegistry.getDefault().histogram("TranscriptService.generateTranscript");
+    private static final LatencyHistogram GENERATE_SEMESTER_TRANSCRIPT_LATENCY =
+            MetricsRegistry.getDefault().histogram("TranscriptService.generateSemesterTranscript");
+    private static final LatencyHistogram GET_GPADISTRIBUTION_LATENCY =
+            MetricsRegistry.getDefault().histogram("TranscriptService.getGPADistribution");
+    private static final LatencyHistogram GET_SEMESTER_STATISTICS_LATENCY =
+            MetricsRegistry.getDefault().histogram("TranscriptService.getSemesterStatistics");
+    private static final LatencyHistogram GET_COURSE_POPULARITY_LATENCY =
+            MetricsRegistry.getDefault().histogram("TranscriptService.getCoursePopularity");
+    private static final LatencyHistogram GET_COURSE_POPULARITY_STATS_LATENCY =
+            MetricsRegistry.getDefault().histogram("TranscriptService.getCoursePopularityStats");
 
      private final StudentService studentService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
+    private final TranscriptCache transcriptCache;
+    private static final int DEFAULT_CACHE_SIZE = 1024;
 
     public TranscriptService(StudentService studentService, CourseService courseService, 
                            EnrollmentService enrollmentService) {
+        this(studentService, courseService, enrollmentService, DEFAULT_CACHE_SIZE);
+    }
+
+    public TranscriptService(StudentService studentService, CourseService courseService, 
+                           EnrollmentService enrollmentService, int cacheSize) {
         this.studentService = studentService;
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
+        this.transcriptCache = new TranscriptCache(cacheSize);
+
+        // Drop cached transcripts as soon as the data behind them changes
+        enrollmentService.addChangeListener(new EnrollmentService.ChangeListener() {
+            @Override
+            public void onEnrollmentChanged(Enrollment enrollment) {
+                transcriptCache.invalidateStudent(enrollment.getStudentId());
+            }
+
+            @Override
+            public void onEnrollmentsCleared() {
+                transcriptCache.clear();
+            }
+        });
+        courseService.addUpdateListener(new CourseService.UpdateListener() {
+            @Override
+            public void onCourseUpdated(Course course, String previousTitle, int previousCredits) {
+                if (!course.getTitle().equals(previousTitle) || course.getCredits() != previousCredits) {
+                    transcriptCache.invalidateCourse(course.getCourseCode().toString());
+                }
+            }
+
+            @Override
+            public void onCoursesCleared() {
+                transcriptCache.clear();
+            }
+        });
+    }
+
+    public TranscriptCache.Statistics getCacheStatistics() {
+        return transcriptCache.getStatistics();
+    }
+
+    // A cached transcript is only reused while the student's name still matches
+    private Transcript cachedTranscript(Student student, Semester semester) {
+        Transcript cached = transcriptCache.get(student.getId(), semester);
+        if (cached != null && !cached.getStudentName().equals(student.getFullName())) {
+            transcriptCache.invalidateStudent(student.getId());
+            return null;
+        }
+        return cached;
     }
 
     /**
      * Generate a complete transcript for a student.
+     * The result is cached and callers share the returned instance, which is immutable.
      */
     public Transcript generateTranscript(String studentId) {
-        Student student = studentService.getStudentById(studentId);
-        if (student == null) {
-            throw new IllegalArgumentException("Student not found: " + studentId);
-        }
+        long start = System.nanoTime();
+        TranscriptGeneratedEvent event = new TranscriptGeneratedEvent();
+        event.begin();
+        try {
+            Student student = studentService.getStudentById(studentId);
+            if (student == null) {
+                throw new IllegalArgumentException("Student not found: " + studentId);
+            }
 
-        Transcript transcript = new Transcript(studentId, student.getFullName());
-        
-        // Get all enrollments for the student
-        List<Transcript.TranscriptEntry> entries = enrollmentService.getStudentEnrollments(studentId)
-                .stream()
-                .map(enrollment -> {
-                    Course course = courseService.getCourseByCode(enrollment.getCourseCode());
-                    if (course != null) {
-                        return transcript.new TranscriptEntry(
-                            enrollment.getCourseCode().toString(),
-                            course.getTitle(),
-                            course.getCredits(),
-                            enrollment.getGrade(),
-                            enrollment.getSemester()
-                        );
-                    }
-                    return null;
-                })
-                .filter(entry -> entry != null)
-                .collect(Collectors.toList());
-
-        // Add entries to transcript
-        for (Transcript.TranscriptEntry entry : entries) {
-            transcript.addEntry(entry);
-        }
+            Transcript cached = cachedTranscript(student, null);
+            if (cached != null) {
+                commitTranscriptGenerated(event, cached, null, true);
+                return cached;
+            }
+
+            // Build the entries straight into an array and create the transcript in one pass
+            Transcript.TranscriptEntry[] entries = enrollmentService.getStudentEnrollments(studentId)
+                    .stream()
+                    .map(this::toTranscriptEntry)
+                    .filter(entry -> entry != null)
+                    .toArray(Transcript.TranscriptEntry[]::new);
+            Transcript transcript = new Transcript(studentId, student.getFullName(), entries);
 
-        return transcript;
+            transcriptCache.put(studentId, null, transcript);
+            commitTranscriptGenerated(event, transcript, null, false);
+            return transcript;
+        } finally {
+            GENERATE_TRANSCRIPT_LATENCY.recordSince(start);
+        }
     }
 
     /**
      * Generate a transcript for a specific semester.
+     * The result is cached and callers share the returned instance, which is immutable.
      */
     public Transcript generateSemesterTranscript(String studentId, Semester semester) {
-        Student student = studentService.getStudentById(studentId);
-        if (student == null) {
-            throw new IllegalArgumentException("Student not found: " + studentId);
+        long start = System.nanoTime();
+        TranscriptGeneratedEvent event = new TranscriptGeneratedEvent();
+        event.begin();
+        try {
+            Student student = studentService.getStudentById(studentId);
+            if (student == null) {
+                throw new IllegalArgumentException("Student not found: " + studentId);
+            }
+
+            Transcript cached = cachedTranscript(student, semester);
+            if (cached != null) {
+                commitTranscriptGenerated(event, cached, semester, true);
+                return cached;
+            }
+
+            // Get enrollments for the specific semester
+            Transcript.TranscriptEntry[] entries = enrollmentService.getStudentEnrollments(studentId)
+                    .stream()
+                    .filter(enrollment -> enrollment.getSemester().equals(semester))
+                    .map(this::toTranscriptEntry)
+                    .filter(entry -> entry != null)
+                    .toArray(Transcript.TranscriptEntry[]::new);
+            Transcript transcript = new Transcript(studentId, student.getFullName(), entries);
+
+            transcriptCache.put(studentId, semester, transcript);
+            commitTranscriptGenerated(event, transcript, semester, false);
+            return transcript;
+        } finally {
+            GENERATE_SEMESTER_TRANSCRIPT_LATENCY.recordSince(start);
         }
+    }
 
-        Transcript transcript = new Transcript(studentId, student.getFullName());
-        
-        // Get enrollments for the specific semester
-        List<Transcript.TranscriptEntry> entries = enrollmentService.getStudentEnrollments(studentId)
-                .stream()
-                .filter(enrollment -> enrollment.getSemester().equals(semester))
-                .map(enrollment -> {
-                    Course course = courseService.getCourseByCode(enrollment.getCourseCode());
-                    if (course != null) {
-                        return transcript.new TranscriptEntry(
-                            enrollment.getCourseCode().toString(),
-                            course.getTitle(),
-                            course.getCredits(),
-                            enrollment.getGrade(),
-                            enrollment.getSemester()
-                        );
-                    }
-                    return null;
-                })
-                .filter(entry -> entry != null)
-                .collect(Collectors.toList());
-
-        // Add entries to transcript
-        for (Transcript.TranscriptEntry entry : entries) {
-            transcript.addEntry(entry);
+    private static void commitTranscriptGenerated(TranscriptGeneratedEvent event, Transcript transcript,
+                                                  Semester semester, boolean cached) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.studentId = transcript.getStudentId();
+            event.semester = semester != null ? semester.toString() : null;
+            event.entries = transcript.getEntries().size();
+            event.credits = transcript.getTotalCredits();
+            event.gpa = transcript.getOverallGPA();
+            event.cached = cached;
+            event.commit();
         }
+    }
 
-        return transcript;
+    private Transcript.TranscriptEntry toTranscriptEntry(Enrollment enrollment) {
+        Course course = courseService.getCourseByCode(enrollment.getCourseCode());
+        if (course == null) {
+            return null;
+        }
+        return new Transcript.TranscriptEntry(
+            enrollment.getCourseCode().toString(),
+            course.getTitle(),
+            course.getCredits(),
+            enrollment.getGrade(),
+            enrollment.getSemester()
+        );
     }
 
     /**
      * Get GPA distribution statistics.
      */
     public String getGPADistribution() {
-        List<Student> activeStudents = studentService.getActiveStudents();
-        
-        long excellent = activeStudents.stream()
-                .filter(s -> s.getGpa() >= 3.7)
-                .count();
-        
-        long good = activeStudents.stream()
-                .filter(s -> s.getGpa() >= 3.0 && s.getGpa() < 3.7)
-                .count();
-        
-        long satisfactory = activeStudents.stream()
-                .filter(s -> s.getGpa() >= 2.0 && s.getGpa() < 3.0)
-                .count();
-        
-        long needsImprovement = activeStudents.stream()
-                .filter(s -> s.getGpa() < 2.0)
-                .count();
-
-        return String.format("GPA Distribution:\n" +
-                           "Excellent (3.7+): %d students\n" +
-                           "Good (3.0-3.7): %d students\n" +
-                           "Satisfactory (2.0-3.0): %d students\n" +
-                           "Needs Improvement (<2.0): %d students",
-                           excellent, good, satisfactory, needsImprovement);
+        return GET_GPADISTRIBUTION_LATENCY.time(() -> {
+            GpaDistribution distribution = studentService.getGpaDistribution();
+            long[] bands = distribution.countBands(2.0, 3.0, 3.7);
+
+            return String.format("GPA Distribution:\n" +
+                               "Excellent (3.7+): %d students\n" +
+                               "Good (3.0-3.7): %d students\n" +
+                               "Satisfactory (2.0-3.0): %d students\n" +
+                               "Needs Improvement (<2.0): %d students\n" +
+                               "Mean: %.2f, Std Dev: %.2f\n" +
+                               "P10: %.2f, P50: %.2f, P90: %.2f",
+                               bands[3], bands[2], bands[1], bands[0],
+                               distribution.getMean(), distribution.getStandardDeviation(),
+                               distribution.getPercentile(10), distribution.getPercentile(50),
+                               distribution.getPercentile(90));
+        });
     }
 
     /**
      * Get semester-wise enrollment statistics.
      */
     public String getSemesterStatistics() {
-        StringBuilder stats = new StringBuilder("Semester-wise Statistics:\n");
+        return GET_SEMESTER_STATISTICS_LATENCY.time(() -> {
+            StringBuilder stats = new StringBuilder("Semester-wise Statistics:\n");
         
-        for (Semester semester : Semester.values()) {
-            long enrollmentCount = enrollmentService.getSemesterEnrollments(semester).size();
-            stats.append(String.format("%s: %d enrollments\n", semester, enrollmentCount));
-        }
+            for (Semester semester : Semester.values()) {
+                Enrollment.Statistics semesterStats = enrollmentService.getSemesterStatistics(semester);
+                stats.append(String.format("%s: %d enrollments (%d graded, %d withdrawn, %d credits)\n", 
+                        semester, semesterStats.getActiveEnrollments(), semesterStats.getGradedEnrollments(),
+                        semesterStats.getWithdrawnEnrollments(), semesterStats.getTotalCredits()));
+            }
         
-        return stats.toString();
+            return stats.toString();
+        });
+    }
+
+    /**
+     * Get active courses ranked by enrollment count, most popular first.
+     * Counts come from the per-section counters of a {@link CampusSnapshot}, so this
+     * is a single pass over the courses plus a numeric sort, takes no locks and sees
+     * one consistent version while enrollments are written. The courses returned are
+     * the snapshot's detached copies.
+     */
+    public List<Course.Popularity> getCoursePopularity() {
+        return GET_COURSE_POPULARITY_LATENCY.time(() -> coursePopularity());
+    }
+
+    // Untimed body, so the stats report is recorded once
+    private List<Course.Popularity> coursePopularity() {
+        CampusSnapshot campus = CampusSnapshot.capture(studentService, courseService, enrollmentService);
+        EnrollmentSnapshot enrollments = campus.getEnrollments();
+        List<Course.Popularity> popularity = new ArrayList<>();
+        for (Course course : campus.getCourses()) {
+            if (course.isActive()) {
+                int enrolled = enrollments.getSectionCount(course.getCourseCode(), course.getSemester());
+                popularity.add(new Course.Popularity(course, course.getSemester(), 
+                        enrolled, course.getCapacity()));
+            }
+        }
+        popularity.sort((p1, p2) -> Integer.compare(p2.getEnrolledCount(), p1.getEnrolledCount()));
+        return popularity;
     }
 
     /**
      * Get course popularity statistics.
      */
     public String getCoursePopularityStats() {
-        return courseService.getAllCourses().stream()
-                .filter(Course::isActive)
-                .map(course -> {
-                    long enrollmentCount = enrollmentService.getCourseEnrollments(
-                            course.getCourseCode(), course.getSemester()).size();
-                    return String.format("%s (%s): %d students", 
-                                       course.getCourseCode(), course.getTitle(), enrollmentCount);
-                })
-                .sorted((s1, s2) -> {
-                    // Sort by enrollment count (descending)
-                    int count1 = Integer.parseInt(s1.split(": ")[1].split(" ")[0]);
-                    int count2 = Integer.parseInt(s2.split(": ")[1].split(" ")[0]);
-                    return Integer.compare(count2, count1);
-                })
-                .collect(Collectors.joining("\n", "Course Popularity:\n", ""));
+        return getCoursePopularityStats(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get popularity statistics of the {@code limit} most enrolled courses.
+     */
+    public String getCoursePopularityStats(int limit) {
+        return GET_COURSE_POPULARITY_STATS_LATENCY.time(() -> {
+            List<Course.Popularity> popularity = coursePopularity();
+            StringBuilder stats = new StringBuilder("Course Popularity:");
+            for (Course.Popularity entry : popularity.subList(0, Math.min(limit, popularity.size()))) {
+                Course course = entry.getCourse();
+                stats.append('\n')
+                     .append(course.getCourseCode()).append(" (").append(course.getTitle()).append("): ")
+                     .append(entry.getEnrolledCount()).append(" students, ")
+                     .append(Math.round(entry.getFillRatio() * 100)).append("% full");
+            }
+            return stats.toString();
+        });
     }
 }
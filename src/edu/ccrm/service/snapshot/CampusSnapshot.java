@@ -0,0 +1,88 @@
+package src.edu.ccrm.service.snapshot;
+
+import src.edu.ccrm.model.Course;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.service.CourseService;
+import src.edu.ccrm.service.EnrollmentService;
+import src.edu.ccrm.service.StudentService;
+import src.edu.ccrm.util.persistent.PersistentVector;
+
+/**
+ * Consistent, immutable view of the campus for long-running reports.
+ * Each service publishes a new version of its state after every write; a capture
+ * takes the current version of each without locking, so a report sees one point in
+ * time while writers carry on. Courses in a snapshot are detached copies.
+ * Safe to share between threads.
+ */
+public final class CampusSnapshot {
+    private final PersistentVector<StudentRecord> students;
+    private final PersistentVector<Course> courses;
+    private final EnrollmentSnapshot enrollments;
+    // First course of each code, indexed by CourseCode.ordinal(), matching CourseService.getCourseByCode
+    private final Course[] coursesByCode;
+
+    private CampusSnapshot(PersistentVector<StudentRecord> students, PersistentVector<Course> courses,
+                           EnrollmentSnapshot enrollments) {
+        this.students = students;
+        this.courses = courses;
+        this.enrollments = enrollments;
+        int maxOrdinal = -1;
+        for (Course course : courses) {
+            maxOrdinal = Math.max(maxOrdinal, course.getCourseCode().ordinal());
+        }
+        this.coursesByCode = new Course[maxOrdinal + 1];
+        for (Course course : courses) {
+            int ordinal = course.getCourseCode().ordinal();
+            if (coursesByCode[ordinal] == null) {
+                coursesByCode[ordinal] = course;
+            }
+        }
+    }
+
+    /**
+     * Capture the latest published state of the services.
+     * Enrollments are taken first: students and courses are only ever added, so every
+     * row resolves to a student and course captured after it. A capture racing with a
+     * clear may hold rows whose student is gone; lookups then return null.
+     */
+    public static CampusSnapshot capture(StudentService studentService, CourseService courseService,
+                                         EnrollmentService enrollmentService) {
+        EnrollmentSnapshot enrollments = enrollmentService.getSnapshot();
+        PersistentVector<Course> courses = courseService.getSnapshot();
+        PersistentVector<StudentRecord> students = studentService.getSnapshot();
+        return new CampusSnapshot(students, courses, enrollments);
+    }
+
+    /**
+     * Get the students in key order.
+     */
+    public PersistentVector<StudentRecord> getStudents() {
+        return students;
+    }
+
+    /**
+     * Get a student by numeric key, or null if there is none.
+     */
+    public StudentRecord getStudent(int key) {
+        return key > 0 && key <= students.size() ? students.get(key - 1) : null;
+    }
+
+    /**
+     * Get the courses in key order.
+     */
+    public PersistentVector<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Get the first course with a code, or null if there is none.
+     */
+    public Course getCourse(CourseCode courseCode) {
+        int ordinal = courseCode.ordinal();
+        return ordinal < coursesByCode.length ? coursesByCode[ordinal] : null;
+    }
+
+    public EnrollmentSnapshot getEnrollments() {
+        return enrollments;
+    }
+}
@@ -0,0 +1,252 @@
+package src.edu.ccrm.service.snapshot;
+
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.util.persistent.PersistentVector;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Immutable version of the enrollment rows and the active count of every course section.
+ * Rows are stored in columnar blocks of 32, laid out like {@code ColumnarEnrollmentStore},
+ * in a {@link PersistentVector}. A new version copies one block column and the trie path
+ * above it and shares everything else, so the enrollment service can publish a version
+ * after every write while reports keep reading the one they started with.
+ * Row indexes match the service's store.
+ */
+public final class EnrollmentSnapshot {
+    public static final EnrollmentSnapshot EMPTY =
+            new EnrollmentSnapshot(PersistentVector.empty(), 0, PersistentVector.empty());
+
+    private static final int BLOCK_BITS = 5;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final byte NO_GRADE = -1;
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    // Columns of 32 consecutive rows; a change replaces only the column it touches
+    private static final class Block {
+        private final int[] students;
+        private final int[] courses;
+        private final byte[] semesters;
+        private final byte[] grades;
+        private final int active;
+
+        private Block(int[] students, int[] courses, byte[] semesters, byte[] grades, int active) {
+            this.students = students;
+            this.courses = courses;
+            this.semesters = semesters;
+            this.grades = grades;
+            this.active = active;
+        }
+
+        private static Block first(int studentKey, CourseCode courseCode, Semester semester) {
+            byte[] grades = new byte[1];
+            grades[0] = NO_GRADE;
+            return new Block(new int[] {studentKey}, new int[] {courseCode.ordinal()},
+                    new byte[] {(byte) semester.ordinal()}, grades, 1);
+        }
+
+        // Columns grow by doubling up to 32 rows, so a small campus does not pay for full blocks
+        private Block withAppended(int offset, int studentKey, CourseCode courseCode, Semester semester) {
+            int length = students.length > offset ? students.length : Math.min(BLOCK_SIZE, offset * 2);
+            int[] newStudents = Arrays.copyOf(students, length);
+            int[] newCourses = Arrays.copyOf(courses, length);
+            byte[] newSemesters = Arrays.copyOf(semesters, length);
+            byte[] newGrades = Arrays.copyOf(grades, length);
+            newStudents[offset] = studentKey;
+            newCourses[offset] = courseCode.ordinal();
+            newSemesters[offset] = (byte) semester.ordinal();
+            newGrades[offset] = NO_GRADE;
+            return new Block(newStudents, newCourses, newSemesters, newGrades, active | 1 << offset);
+        }
+
+        private Block withGrade(int offset, Grade grade) {
+            byte[] newGrades = grades.clone();
+            newGrades[offset] = grade != null ? (byte) grade.ordinal() : NO_GRADE;
+            return new Block(students, courses, semesters, newGrades, active);
+        }
+
+        private Block withActive(int offset, boolean isActive) {
+            int bits = isActive ? active | 1 << offset : active & ~(1 << offset);
+            return new Block(students, courses, semesters, grades, bits);
+        }
+
+        private boolean isActive(int offset) {
+            return (active & 1 << offset) != 0;
+        }
+    }
+
+    private final PersistentVector<Block> blocks;
+    private final int size;
+    // Active enrollments per semester, indexed by CourseCode.ordinal()
+    private final PersistentVector<int[]> sectionCounts;
+
+    private EnrollmentSnapshot(PersistentVector<Block> blocks, int size, PersistentVector<int[]> sectionCounts) {
+        this.blocks = blocks;
+        this.size = size;
+        this.sectionCounts = sectionCounts;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Column access by row
+    public int getStudentKey(int row) {
+        return block(row).students[row & BLOCK_MASK];
+    }
+
+    public CourseCode getCourseCode(int row) {
+        return CourseCode.byOrdinal(block(row).courses[row & BLOCK_MASK]);
+    }
+
+    public Semester getSemester(int row) {
+        return SEMESTERS[block(row).semesters[row & BLOCK_MASK]];
+    }
+
+    public Grade getGrade(int row) {
+        byte grade = block(row).grades[row & BLOCK_MASK];
+        return grade != NO_GRADE ? GRADES[grade] : null;
+    }
+
+    public boolean isActive(int row) {
+        return block(row).isActive(row & BLOCK_MASK);
+    }
+
+    /**
+     * Get the number of active enrollments in a course section.
+     */
+    public int getSectionCount(CourseCode courseCode, Semester semester) {
+        int ordinal = courseCode.ordinal();
+        int[] counts = ordinal < sectionCounts.size() ? sectionCounts.get(ordinal) : null;
+        return counts != null ? counts[semester.ordinal()] : 0;
+    }
+
+    /**
+     * Get a flyweight cursor positioned before the first row.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // New versions, derived by the enrollment service as it writes
+    /**
+     * Get a version with an active, ungraded row appended.
+     */
+    public EnrollmentSnapshot withAppended(int studentKey, CourseCode courseCode, Semester semester) {
+        int offset = size & BLOCK_MASK;
+        PersistentVector<Block> newBlocks = offset == 0
+                ? blocks.append(Block.first(studentKey, courseCode, semester))
+                : blocks.set(size >>> BLOCK_BITS,
+                        blocks.get(size >>> BLOCK_BITS).withAppended(offset, studentKey, courseCode, semester));
+        return new EnrollmentSnapshot(newBlocks, size + 1,
+                adjustSection(sectionCounts, courseCode.ordinal(), semester.ordinal(), 1));
+    }
+
+    /**
+     * Get a version with the grade of a row replaced; null clears it.
+     */
+    public EnrollmentSnapshot withGrade(int row, Grade grade) {
+        checkRow(row);
+        int index = row >>> BLOCK_BITS;
+        return new EnrollmentSnapshot(blocks.set(index, blocks.get(index).withGrade(row & BLOCK_MASK, grade)),
+                size, sectionCounts);
+    }
+
+    /**
+     * Get a version with a row activated or withdrawn, adjusting its section count.
+     */
+    public EnrollmentSnapshot withActive(int row, boolean active) {
+        checkRow(row);
+        int index = row >>> BLOCK_BITS;
+        Block block = blocks.get(index);
+        int offset = row & BLOCK_MASK;
+        if (block.isActive(offset) == active) {
+            return this;
+        }
+        return new EnrollmentSnapshot(blocks.set(index, block.withActive(offset, active)), size,
+                adjustSection(sectionCounts, block.courses[offset], block.semesters[offset], active ? 1 : -1));
+    }
+
+    private static PersistentVector<int[]> adjustSection(PersistentVector<int[]> counts, int courseOrdinal,
+                                                         int semesterOrdinal, int delta) {
+        while (counts.size() <= courseOrdinal) {
+            counts = counts.append(null);
+        }
+        int[] current = counts.get(courseOrdinal);
+        int[] updated = current != null ? current.clone() : new int[SEMESTERS.length];
+        updated[semesterOrdinal] += delta;
+        return counts.set(courseOrdinal, updated);
+    }
+
+    private Block block(int row) {
+        checkRow(row);
+        return blocks.get(row >>> BLOCK_BITS);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + size + " enrollments");
+        }
+    }
+
+    /**
+     * Flyweight view over the rows of this version, one block lookup per 32 rows.
+     * Not thread-safe; give each thread its own.
+     */
+    public final class Cursor {
+        private final Iterator<Block> remaining;
+        private Block block;
+        private int row;
+
+        private Cursor() {
+            this.remaining = blocks.iterator();
+            this.row = -1;
+        }
+
+        /**
+         * Advance to the next row.
+         * @return false once every row has been visited
+         */
+        public boolean next() {
+            if (row + 1 >= size) {
+                row = size;
+                return false;
+            }
+            row++;
+            if ((row & BLOCK_MASK) == 0) {
+                block = remaining.next();
+            }
+            return true;
+        }
+
+        public int row() {
+            return row;
+        }
+
+        public int getStudentKey() {
+            return block.students[row & BLOCK_MASK];
+        }
+
+        public CourseCode getCourseCode() {
+            return CourseCode.byOrdinal(block.courses[row & BLOCK_MASK]);
+        }
+
+        public Semester getSemester() {
+            return SEMESTERS[block.semesters[row & BLOCK_MASK]];
+        }
+
+        public Grade getGrade() {
+            byte grade = block.grades[row & BLOCK_MASK];
+            return grade != NO_GRADE ? GRADES[grade] : null;
+        }
+
+        public boolean isActive() {
+            return block.isActive(row & BLOCK_MASK);
+        }
+    }
+}
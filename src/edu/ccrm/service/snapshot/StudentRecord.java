@@ -0,0 +1,44 @@
+package src.edu.ccrm.service.snapshot;
+
+import src.edu.ccrm.model.Student;
+
+/**
+ * Immutable copy of the fields of a student that reports read.
+ * The course set is left out; reports take enrollments from the snapshot instead.
+ */
+public final class StudentRecord {
+    private final int key;
+    private final String id;
+    private final String regNo;
+    private final String fullName;
+    private final String email;
+    private final boolean active;
+    private final double gpa;
+
+    private StudentRecord(Student student) {
+        this.key = student.getKey();
+        this.id = student.getId();
+        this.regNo = student.getRegNo();
+        this.fullName = student.getFullName();
+        this.email = student.getEmail();
+        this.active = student.isActive();
+        this.gpa = student.getGpa();
+    }
+
+    public static StudentRecord of(Student student) {
+        return new StudentRecord(student);
+    }
+
+    public int getKey() { return key; }
+    public String getId() { return id; }
+    public String getRegNo() { return regNo; }
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public boolean isActive() { return active; }
+    public double getGpa() { return gpa; }
+
+    @Override
+    public String toString() {
+        return String.format("StudentRecord{id=%s, name=%s, active=%s, gpa=%.2f}", id, fullName, active, gpa);
+    }
+}
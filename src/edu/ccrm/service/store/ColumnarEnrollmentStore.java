@@ -0,0 +1,243 @@
+package src.edu.ccrm.service.store;
+
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Enrollment store keeping rows in parallel primitive arrays.
+ * A row costs about 22 bytes: student key and course ordinal, semester and grade bytes,
+ * a float score, an epoch second and one bit of the active set. Students are stored
+ * by their numeric {@link EntityId} key and course codes by {@link CourseCode#ordinal()},
+ * so no per-row objects exist and column scans read contiguous memory.
+ * Enrollment objects are only created on demand by {@link #get(int)}.
+ */
+public class ColumnarEnrollmentStore implements EnrollmentStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final byte NO_GRADE = -1;
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final Grade[] GRADES = Grade.values();
+
+    // Columns
+    private int[] students;
+    private int[] courses;
+    private byte[] semesters;
+    private byte[] grades;
+    private float[] scores;
+    private long[] enrolledAt;
+    private long[] active;
+    private int size;
+
+    public ColumnarEnrollmentStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnarEnrollmentStore(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        allocate(initialCapacity);
+    }
+
+    private void allocate(int capacity) {
+        students = new int[capacity];
+        courses = new int[capacity];
+        semesters = new byte[capacity];
+        grades = new byte[capacity];
+        scores = new float[capacity];
+        enrolledAt = new long[capacity];
+        active = new long[(capacity + 63) >>> 6];
+        size = 0;
+    }
+
+    @Override
+    public int append(String studentId, CourseCode courseCode, Semester semester) {
+        Objects.requireNonNull(studentId, "Student ID cannot be null");
+        Objects.requireNonNull(courseCode, "Course code cannot be null");
+        Objects.requireNonNull(semester, "Semester cannot be null");
+
+        if (size == students.length) {
+            grow();
+        }
+        int row = size++;
+        students[row] = studentKey(studentId);
+        courses[row] = courseCode.ordinal();
+        semesters[row] = (byte) semester.ordinal();
+        grades[row] = NO_GRADE;
+        scores[row] = 0.0f;
+        enrolledAt[row] = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        active[row >>> 6] |= 1L << row;
+        return row;
+    }
+
+    private void grow() {
+        int capacity = students.length * 2;
+        students = Arrays.copyOf(students, capacity);
+        courses = Arrays.copyOf(courses, capacity);
+        semesters = Arrays.copyOf(semesters, capacity);
+        grades = Arrays.copyOf(grades, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        enrolledAt = Arrays.copyOf(enrolledAt, capacity);
+        active = Arrays.copyOf(active, (capacity + 63) >>> 6);
+    }
+
+    private static int studentKey(String studentId) {
+        int key = EntityId.parse(EntityId.STUDENT, studentId);
+        if (key <= 0) {
+            throw new IllegalArgumentException("Student ID has no numeric key: " + studentId);
+        }
+        return key;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + size + " enrollments");
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getId(int row) {
+        checkRow(row);
+        return EnrollmentStore.formatId(row);
+    }
+
+    @Override
+    public String getStudentId(int row) {
+        checkRow(row);
+        return EntityId.format(EntityId.STUDENT, students[row]);
+    }
+
+    @Override
+    public int getStudentKey(int row) {
+        checkRow(row);
+        return students[row];
+    }
+
+    @Override
+    public CourseCode getCourseCode(int row) {
+        checkRow(row);
+        return CourseCode.byOrdinal(courses[row]);
+    }
+
+    @Override
+    public Semester getSemester(int row) {
+        checkRow(row);
+        return SEMESTERS[semesters[row]];
+    }
+
+    @Override
+    public LocalDateTime getEnrolledAt(int row) {
+        checkRow(row);
+        return LocalDateTime.ofEpochSecond(enrolledAt[row], 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public Grade getGrade(int row) {
+        checkRow(row);
+        byte grade = grades[row];
+        return grade == NO_GRADE ? null : GRADES[grade];
+    }
+
+    @Override
+    public double getPercentageScore(int row) {
+        checkRow(row);
+        return scores[row];
+    }
+
+    @Override
+    public boolean isActive(int row) {
+        checkRow(row);
+        return (active[row >>> 6] & (1L << row)) != 0;
+    }
+
+    @Override
+    public void setActive(int row, boolean isActive) {
+        checkRow(row);
+        if (isActive) {
+            active[row >>> 6] |= 1L << row;
+        } else {
+            active[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    @Override
+    public void recordGrade(int row, double percentageScore) {
+        checkRow(row);
+        if (!(percentageScore >= 0.0 && percentageScore <= 100.0)) {
+            throw new IllegalArgumentException("Percentage score must be between 0.0 and 100.0");
+        }
+        scores[row] = (float) percentageScore;
+        grades[row] = (byte) Grade.fromPercentage(percentageScore).ordinal();
+    }
+
+    @Override
+    public void recordGrade(int row, Grade grade) {
+        checkRow(row);
+        Objects.requireNonNull(grade, "Grade cannot be null");
+        scores[row] = 0.0f;
+        grades[row] = (byte) grade.ordinal();
+    }
+
+    @Override
+    public Enrollment get(int row) {
+        checkRow(row);
+        return new Enrollment(getId(row), getStudentId(row), getCourseCode(row), getSemester(row),
+                getEnrolledAt(row), getGrade(row), getPercentageScore(row), isActive(row));
+    }
+
+    @Override
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    // Column scans
+
+    /**
+     * Count active rows in a semester by reading only the semester column and active set.
+     */
+    public int countActive(Semester semester) {
+        byte target = (byte) semester.ordinal();
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (semesters[row] == target && (active[row >>> 6] & (1L << row)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count graded rows per grade, indexed by {@link Grade#ordinal()}.
+     */
+    public int[] countByGrade() {
+        int[] counts = new int[GRADES.length];
+        for (int row = 0; row < size; row++) {
+            byte grade = grades[row];
+            if (grade != NO_GRADE) {
+                counts[grade]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Approximate heap used by the columns.
+     */
+    public long getColumnBytes() {
+        long capacity = students.length;
+        return capacity * (Integer.BYTES * 2 + Byte.BYTES * 2 + Float.BYTES + Long.BYTES)
+                + (long) active.length * Long.BYTES;
+    }
+}
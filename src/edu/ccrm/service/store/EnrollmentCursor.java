@@ -0,0 +1,95 @@
+package src.edu.ccrm.service.store;
+
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+
+/**
+ * Flyweight view over the rows of an {@link EnrollmentStore}.
+ * One cursor walks any number of rows without creating an object per row.
+ * Cursors are cheap and not thread-safe; give each thread its own.
+ */
+public final class EnrollmentCursor {
+    private final EnrollmentStore store;
+    private int row;
+
+    EnrollmentCursor(EnrollmentStore store) {
+        this.store = store;
+        this.row = -1;
+    }
+
+    /**
+     * Advance to the next row.
+     * @return false once every row has been visited
+     */
+    public boolean next() {
+        if (row < store.size()) {
+            row++;
+        }
+        return row < store.size();
+    }
+
+    /**
+     * Position the cursor on a specific row.
+     */
+    public EnrollmentCursor seek(int row) {
+        if (row < 0 || row >= store.size()) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + store.size() + " enrollments");
+        }
+        this.row = row;
+        return this;
+    }
+
+    public int row() {
+        return row;
+    }
+
+    public String getId() {
+        return store.getId(row);
+    }
+
+    public String getStudentId() {
+        return store.getStudentId(row);
+    }
+
+    public int getStudentKey() {
+        return store.getStudentKey(row);
+    }
+
+    public CourseCode getCourseCode() {
+        return store.getCourseCode(row);
+    }
+
+    public Semester getSemester() {
+        return store.getSemester(row);
+    }
+
+    public Grade getGrade() {
+        return store.getGrade(row);
+    }
+
+    public double getPercentageScore() {
+        return store.getPercentageScore(row);
+    }
+
+    public boolean isActive() {
+        return store.isActive(row);
+    }
+
+    public boolean isGraded() {
+        return store.getGrade(row) != null;
+    }
+
+    public double getGradePoints() {
+        Grade grade = store.getGrade(row);
+        return grade != null ? grade.getGradePoints() : 0.0;
+    }
+
+    /**
+     * Get the current row as an enrollment object.
+     */
+    public Enrollment toEnrollment() {
+        return store.get(row);
+    }
+}
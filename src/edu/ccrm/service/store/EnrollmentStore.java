@@ -0,0 +1,75 @@
+package src.edu.ccrm.service.store;
+
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+import src.edu.ccrm.model.value.EntityId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Storage engine for enrollments.
+ * Rows are addressed by a dense index in insertion order and are never removed,
+ * only deactivated, so a row index stays valid until the store is cleared.
+ */
+public interface EnrollmentStore {
+    /**
+     * Append a new active, ungraded enrollment.
+     * @return the row index of the new enrollment
+     */
+    int append(String studentId, CourseCode courseCode, Semester semester);
+
+    int size();
+
+    // Column access by row
+    String getId(int row);
+
+    String getStudentId(int row);
+
+    /**
+     * Numeric key of the student, see {@link EntityId}.
+     */
+    int getStudentKey(int row);
+
+    CourseCode getCourseCode(int row);
+
+    Semester getSemester(int row);
+
+    LocalDateTime getEnrolledAt(int row);
+
+    Grade getGrade(int row);
+
+    double getPercentageScore(int row);
+
+    boolean isActive(int row);
+
+    // Row updates
+    void setActive(int row, boolean active);
+
+    void recordGrade(int row, double percentageScore);
+
+    void recordGrade(int row, Grade grade);
+
+    /**
+     * Get the enrollment at a row as an object. Depending on the engine this is
+     * either the stored instance or a detached copy, so updates must go through the store.
+     */
+    Enrollment get(int row);
+
+    void clear();
+
+    /**
+     * Get a flyweight cursor positioned before the first row.
+     */
+    default EnrollmentCursor cursor() {
+        return new EnrollmentCursor(this);
+    }
+
+    /**
+     * Format the display ID of a row; IDs are numbered from 1 in insertion order.
+     */
+    static String formatId(int row) {
+        return EntityId.format(EntityId.ENROLLMENT, row + 1);
+    }
+}
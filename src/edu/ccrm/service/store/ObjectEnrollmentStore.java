@@ -0,0 +1,103 @@
+package src.edu.ccrm.service.store;
+
+import src.edu.ccrm.model.Enrollment;
+import src.edu.ccrm.model.enums.Grade;
+import src.edu.ccrm.model.enums.Semester;
+import src.edu.ccrm.model.value.CourseCode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default enrollment store keeping one {@link Enrollment} object per row.
+ */
+public class ObjectEnrollmentStore implements EnrollmentStore {
+    private final List<Enrollment> enrollments;
+
+    public ObjectEnrollmentStore() {
+        this.enrollments = new ArrayList<>();
+    }
+
+    @Override
+    public int append(String studentId, CourseCode courseCode, Semester semester) {
+        int row = enrollments.size();
+        enrollments.add(new Enrollment(EnrollmentStore.formatId(row), studentId, courseCode, semester));
+        return row;
+    }
+
+    @Override
+    public int size() {
+        return enrollments.size();
+    }
+
+    @Override
+    public String getId(int row) {
+        return enrollments.get(row).getId();
+    }
+
+    @Override
+    public String getStudentId(int row) {
+        return enrollments.get(row).getStudentId();
+    }
+
+    @Override
+    public int getStudentKey(int row) {
+        return enrollments.get(row).getStudentKey();
+    }
+
+    @Override
+    public CourseCode getCourseCode(int row) {
+        return enrollments.get(row).getCourseCode();
+    }
+
+    @Override
+    public Semester getSemester(int row) {
+        return enrollments.get(row).getSemester();
+    }
+
+    @Override
+    public LocalDateTime getEnrolledAt(int row) {
+        return enrollments.get(row).getEnrolledAt();
+    }
+
+    @Override
+    public Grade getGrade(int row) {
+        return enrollments.get(row).getGrade();
+    }
+
+    @Override
+    public double getPercentageScore(int row) {
+        return enrollments.get(row).getPercentageScore();
+    }
+
+    @Override
+    public boolean isActive(int row) {
+        return enrollments.get(row).isActive();
+    }
+
+    @Override
+    public void setActive(int row, boolean active) {
+        enrollments.get(row).setActive(active);
+    }
+
+    @Override
+    public void recordGrade(int row, double percentageScore) {
+        enrollments.get(row).recordGrade(percentageScore);
+    }
+
+    @Override
+    public void recordGrade(int row, Grade grade) {
+        enrollments.get(row).recordGrade(grade);
+    }
+
+    @Override
+    public Enrollment get(int row) {
+        return enrollments.get(row);
+    }
+
+    @Override
+    public void clear() {
+        enrollments.clear();
+    }
+}
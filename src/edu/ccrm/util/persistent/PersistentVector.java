@@ -0,0 +1,136 @@
+package src.edu.ccrm.util.persistent;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable indexed sequence with structural sharing.
+ * Elements sit in the leaves of a 32-way trie; {@link #set} and {@link #append} copy
+ * only the nodes on the path to one leaf, at most four 32-slot arrays below a
+ * million elements, and share the rest with the original. A vector can be handed to
+ * any number of threads once it has been safely published, e.g. through a volatile field.
+ */
+public final class PersistentVector<T> implements Iterable<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, 0, new Object[WIDTH]);
+
+    private final int size;
+    // Bits of the index consumed above the leaves; 0 while the root is itself a leaf
+    private final int shift;
+    private final Object[] root;
+
+    private PersistentVector(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Get a vector with the element at an index replaced.
+     */
+    public PersistentVector<T> set(int index, T value) {
+        checkIndex(index);
+        return new PersistentVector<>(size, shift, setIn(root, shift, index, value));
+    }
+
+    /**
+     * Get a vector with an element added at the end.
+     */
+    public PersistentVector<T> append(T value) {
+        if (size == 1 << (shift + BITS)) {
+            // The trie is full: the old root becomes the first child of a new one
+            Object[] grown = new Object[WIDTH];
+            grown[0] = root;
+            grown[1] = appendIn(null, shift, size, value);
+            return new PersistentVector<>(size + 1, shift + BITS, grown);
+        }
+        return new PersistentVector<>(size + 1, shift, appendIn(root, shift, size, value));
+    }
+
+    /**
+     * Iterate in index order, one leaf lookup per 32 elements.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 || leaf == null) {
+                    leaf = leafFor(index);
+                }
+                return (T) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    private Object[] leafFor(int index) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static Object[] setIn(Object[] node, int level, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = setIn((Object[]) node[slot], level - BITS, index, value);
+        }
+        return copy;
+    }
+
+    // Missing nodes on the path are created; the index is always the current size
+    private static Object[] appendIn(Object[] node, int level, int index, Object value) {
+        Object[] copy = node != null ? node.clone() : new Object[WIDTH];
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = appendIn((Object[]) copy[slot], level - BITS, index, value);
+        }
+        return copy;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for " + size + " elements");
+        }
+    }
+}
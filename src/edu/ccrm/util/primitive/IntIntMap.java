@@ -0,0 +1,238 @@
+package src.edu.ccrm.util.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int keys to int values.
+ * Keys and values live in two flat arrays probed linearly, so there are no
+ * boxed keys and no per-entry nodes. Absent keys read as 0, which suits counters.
+ * Not thread-safe.
+ */
+public final class IntIntMap {
+
+    /**
+     * Callback for {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int key, int value);
+    }
+
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    // Key 0 marks free slots, so its entry is kept aside
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    public IntIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        allocate(PrimitiveHashing.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = PrimitiveHashing.resizeThreshold(capacity);
+    }
+
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = PrimitiveHashing.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Associate a value with a key.
+     * @return the previous value, or 0 if the key was absent
+     */
+    public int put(int key, int value) {
+        if (key == FREE) {
+            int previous = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = PrimitiveHashing.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return 0;
+    }
+
+    /**
+     * Add a delta to the value of a key, treating an absent key as 0.
+     * @return the new value
+     */
+    public int addTo(int key, int delta) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int slot = PrimitiveHashing.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return delta;
+    }
+
+    /**
+     * Remove a key.
+     * @return the removed value, or 0 if the key was absent
+     */
+    public int remove(int key) {
+        if (key == FREE) {
+            int previous = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = 0;
+                size--;
+            }
+            return previous;
+        }
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return 0;
+        }
+        int previous = values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    /**
+     * Visit every entry in no particular order. The map must not be changed meanwhile.
+     */
+    public void forEach(Visitor visitor) {
+        if (hasZeroKey) {
+            visitor.visit(FREE, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                visitor.visit(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int indexOf(int key) {
+        int slot = PrimitiveHashing.mix(key) & mask;
+        int existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == FREE) {
+                break;
+            }
+            int home = PrimitiveHashing.mix(key) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = FREE;
+        values[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE) {
+                int slot = PrimitiveHashing.mix(key) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
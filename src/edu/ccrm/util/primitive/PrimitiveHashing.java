@@ -0,0 +1,46 @@
+package src.edu.ccrm.util.primitive;
+
+/**
+ * Hashing and sizing shared by the open-addressing maps in this package.
+ */
+final class PrimitiveHashing {
+    private static final int MAX_CAPACITY = 1 << 30;
+    // Tables are kept at most 75% full so probe chains stay short
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private PrimitiveHashing() {
+        // Utility class
+    }
+
+    /**
+     * Spread the bits of a key; CCRM keys are small dense ints that would
+     * otherwise cluster in neighbouring slots.
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Smallest power-of-two table that holds the expected entries under the load factor.
+     */
+    static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int resizeThreshold(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) (capacity * LOAD_FACTOR);
+    }
+}